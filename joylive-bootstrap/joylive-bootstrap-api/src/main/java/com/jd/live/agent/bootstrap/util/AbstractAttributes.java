@@ -78,6 +78,15 @@ public abstract class AbstractAttributes implements Attributes {
         return key != null && attributes.containsKey(key);
     }
 
+    /**
+     * Checks if there is any attribute.
+     *
+     * @return {@code true} if there is any attribute, {@code false} otherwise.
+     */
+    public boolean hasAttributes() {
+        return attributes != null && !attributes.isEmpty();
+    }
+
     @Override
     public void attributes(BiConsumer<String, Object> consumer) {
         if (attributes != null && consumer != null) {
@@ -44,4 +44,9 @@ public class TimerConfig {
      * The maximum number of tasks that can be handled.
      */
     private long maxTasks = 0;
+
+    /**
+     * The number of sharded time wheels, each of them has its own tick thread.
+     */
+    private int buckets = 2;
 }
@@ -15,11 +15,12 @@
  */
 package com.jd.live.agent.core.parser;
 
+import com.jd.live.agent.core.exception.ParseException;
 import com.jd.live.agent.core.extension.annotation.Extensible;
 
-import java.io.Reader;
-import java.io.Writer;
+import java.io.*;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Defines the contract for parsers that can serialize and deserialize objects to and from different formats
@@ -46,6 +47,16 @@ public interface ObjectParser {
      */
     String JSON = "json";
 
+    /**
+     * Represents the identifier for Smile format, the binary form of JSON.
+     */
+    String SMILE = "smile";
+
+    /**
+     * Represents the identifier for the format of the local policy snapshot, which ignores the transient fields.
+     */
+    String SNAPSHOT = "snapshot";
+
     /**
      * Reads and deserializes data from the provided {@link Reader} into an object of the specified class.
      *
@@ -77,6 +88,50 @@ public interface ObjectParser {
      */
     <T> T read(Reader reader, Type type);
 
+    /**
+     * Reads and deserializes the UTF-8 encoded data from the provided {@link InputStream} into an object of the
+     * specified class.
+     * <p>
+     * The default implementation decodes the stream with a reader. Implementations should bind the stream
+     * directly, without decoding or buffering the whole content.
+     *
+     * @param <T>    The type of the object to be returned.
+     * @param stream The input stream from which the data is read.
+     * @param clazz  The class of the object to be deserialized into.
+     * @return The deserialized object of type {@code T}.
+     */
+    default <T> T read(InputStream stream, Class<T> clazz) {
+        return read(new InputStreamReader(stream, StandardCharsets.UTF_8), clazz);
+    }
+
+    /**
+     * Reads and deserializes the UTF-8 encoded data from the provided {@link InputStream} into an object of the
+     * specified type, using a {@link TypeReference} to specify generic type information.
+     *
+     * @param <T>       The type of the object to be returned.
+     * @param stream    The input stream from which the data is read.
+     * @param reference A {@link TypeReference} specifying the type of the object to be deserialized into.
+     * @return The deserialized object of type {@code T}.
+     * @see #read(InputStream, Class)
+     */
+    default <T> T read(InputStream stream, TypeReference<T> reference) {
+        return read(new InputStreamReader(stream, StandardCharsets.UTF_8), reference);
+    }
+
+    /**
+     * Reads and deserializes the UTF-8 encoded data from the provided {@link InputStream} into an object of the
+     * specified type.
+     *
+     * @param <T>    the type of the desired object
+     * @param stream the input stream from which the data is read
+     * @param type   the {@link Type} of the desired object
+     * @return an object of type {@code T} deserialized from the data
+     * @see #read(InputStream, Class)
+     */
+    default <T> T read(InputStream stream, Type type) {
+        return read(new InputStreamReader(stream, StandardCharsets.UTF_8), type);
+    }
+
     /**
      * Serializes the provided object into a specified format and writes it using the given {@link Writer}.
      *
@@ -84,4 +139,21 @@ public interface ObjectParser {
      * @param obj    The object to be serialized.
      */
     void write(Writer writer, Object obj);
+
+    /**
+     * Serializes the given object to the provided output stream.
+     * The text formats write UTF-8 by default, the binary formats override it.
+     *
+     * @param stream the output stream to which the object will be serialized.
+     * @param obj    the object to serialize.
+     */
+    default void write(OutputStream stream, Object obj) {
+        Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+        write(writer, obj);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new ParseException("write error. caused by " + e.getMessage(), e);
+        }
+    }
 }
@@ -24,6 +24,17 @@ import java.util.Set;
  */
 public interface PluginSupervisor {
 
+    /**
+     * Loads the plugins of the specified installation mode without enhancing any class, so that the following
+     * {@link #install(boolean)} only has to enhance them.
+     *
+     * @param dynamic Specifies whether the dynamic plugins should be loaded.
+     * @return {@code true} if all plugins were successfully loaded; {@code false} otherwise.
+     */
+    default boolean load(boolean dynamic) {
+        return true;
+    }
+
     /**
      * Installs plugins based on the specified installation mode.
      *
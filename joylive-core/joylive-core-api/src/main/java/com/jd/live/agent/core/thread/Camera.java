@@ -29,7 +29,7 @@ public interface Camera {
     /**
      * Takes a snapshot of the current state of the camera.
      *
-     * @return an object representing the snapshot of the camera's state.
+     * @return an object representing the snapshot of the camera's state, or {@code null} if there is nothing to capture.
      */
     Object snapshot();
 
@@ -45,6 +45,35 @@ public class Snapshot {
         this.photo = photo;
     }
 
+    /**
+     * Takes snapshots from the given cameras.
+     * The snapshots are only created when at least one camera has something to capture.
+     *
+     * @param cameras the cameras to take snapshots from
+     * @return the snapshots, or {@code null} if there is nothing to capture
+     */
+    public static Snapshot[] of(Camera[] cameras) {
+        Object[] photos = null;
+        Object photo;
+        for (int i = 0; i < cameras.length; i++) {
+            photo = cameras[i].snapshot();
+            if (photo != null) {
+                if (photos == null) {
+                    photos = new Object[cameras.length];
+                }
+                photos[i] = photo;
+            }
+        }
+        if (photos == null) {
+            return null;
+        }
+        Snapshot[] snapshots = new Snapshot[cameras.length];
+        for (int i = 0; i < cameras.length; i++) {
+            snapshots[i] = new Snapshot(cameras[i], photos[i]);
+        }
+        return snapshots;
+    }
+
     /**
      * Restores the camera to the state captured in this snapshot.
      */
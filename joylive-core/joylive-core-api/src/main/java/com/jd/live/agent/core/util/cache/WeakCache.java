@@ -0,0 +1,181 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.core.util.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache whose keys are weakly referenced and compared by identity.
+ * <p>
+ * It's used to attach derived data to framework objects such as connections, statements or invokers without keeping
+ * them alive. An entry is removed once its key is garbage collected, and the stale entries are purged on writes.
+ *
+ * @param <K> the type of keys maintained by this cache
+ * @param <T> the type of mapped values
+ */
+public class WeakCache<K, T> implements Cache<K, T> {
+
+    private final Map<Object, T> cache = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    @Override
+    public T get(K key) {
+        return key == null ? null : cache.get(new LookupKey(key));
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key   the key
+     * @param value the value, or {@code null} to remove the key
+     */
+    public void put(K key, T value) {
+        if (key != null) {
+            purge();
+            if (value == null) {
+                cache.remove(new LookupKey(key));
+            } else {
+                cache.put(new WeakKey<>(key, queue), value);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the key, computing and caching it if it's absent.
+     *
+     * @param key      the key
+     * @param function the function to compute the value
+     * @return the value, or {@code null} if the key is null or the function returns null
+     */
+    public T computeIfAbsent(K key, Function<? super K, ? extends T> function) {
+        if (key == null) {
+            return null;
+        }
+        T result = cache.get(new LookupKey(key));
+        if (result == null) {
+            purge();
+            result = cache.computeIfAbsent(new WeakKey<>(key, queue), k -> function.apply(key));
+        }
+        return result;
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @param key the key
+     * @return the removed value
+     */
+    public T remove(K key) {
+        return key == null ? null : cache.remove(new LookupKey(key));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        purge();
+        return cache.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        purge();
+        return cache.size();
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Removes the entries whose keys have been garbage collected.
+     */
+    private void purge() {
+        Reference<? extends K> ref;
+        while ((ref = queue.poll()) != null) {
+            cache.remove(ref);
+        }
+    }
+
+    /**
+     * A weak reference to a key, which is compared by the identity of the referent.
+     */
+    private static class WeakKey<K> extends WeakReference<K> {
+
+        private final int hash;
+
+        WeakKey(K referent, ReferenceQueue<? super K> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj instanceof WeakKey) {
+                Object referent = get();
+                return referent != null && referent == ((WeakKey<?>) obj).get();
+            } else if (obj instanceof LookupKey) {
+                Object referent = get();
+                return referent != null && referent == ((LookupKey) obj).key;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A strong key used only to look up the cache, so that no reference is created.
+     */
+    private static class LookupKey {
+
+        private final Object key;
+
+        private final int hash;
+
+        LookupKey(Object key) {
+            this.key = key;
+            this.hash = System.identityHashCode(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj instanceof WeakKey) {
+                return key == ((WeakKey<?>) obj).get();
+            } else if (obj instanceof LookupKey) {
+                return key == ((LookupKey) obj).key;
+            }
+            return false;
+        }
+    }
+}
@@ -17,7 +17,9 @@ package com.jd.live.agent.core.util.http;
 
 import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessor;
 import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessorFactory;
+import com.jd.live.agent.core.parser.ObjectParser;
 import com.jd.live.agent.core.parser.ObjectReader;
+import com.jd.live.agent.core.parser.TypeReference;
 import com.jd.live.agent.core.util.cache.LazyObject;
 import com.jd.live.agent.core.util.map.CaseInsensitiveLinkedMap;
 import com.jd.live.agent.core.util.map.MultiLinkedMap;
@@ -41,7 +43,7 @@ import java.util.zip.InflaterInputStream;
 
 /**
  * Utility class for handling HTTP requests with support for gzip and deflate compression.
- * This class provides a static method to perform GET requests and process the response.
+ * This class provides static methods to perform GET and POST requests and process the response.
  *
  * @author The author
  */
@@ -79,31 +81,136 @@ public abstract class HttpUtils {
      *                     reading the response, or if the URL is not valid.
      */
     public static <T> HttpResponse<T> get(String uri, Consumer<HttpURLConnection> configure, ObjectReader<Reader, T> reader) throws IOException {
+        return request(HttpMethod.GET, uri, configure, null, (stream, contentType) -> read(stream, reader));
+    }
+
+    /**
+     * Performs an HTTP GET request to the specified URI, and binds the response body to the specified type
+     * directly from the response stream.
+     *
+     * @param uri       The URI to send the GET request to.
+     * @param configure A Consumer that accepts an HttpURLConnection which can be used to set up headers,
+     *                  timeouts, or other connection configurations.
+     * @param parser    The parser to bind the response body.
+     * @param reference The type of the response body.
+     * @param <T>       The type of the body expected in the HttpResponse.
+     * @return An HttpResponse object containing the status code and the body read from the response.
+     * @throws IOException If an I/O error occurs while sending the request or reading the response.
+     */
+    public static <T> HttpResponse<T> get(String uri, Consumer<HttpURLConnection> configure, ObjectParser parser, TypeReference<T> reference) throws IOException {
+        return request(HttpMethod.GET, uri, configure, null, (stream, contentType) -> parser.read(stream, reference));
+    }
+
+    /**
+     * Performs an HTTP GET request to the specified URI, and binds the response body to the specified type
+     * with the parser selected by the content type of the response.
+     *
+     * @param uri       The URI to send the GET request to.
+     * @param configure A Consumer that accepts an HttpURLConnection which can be used to set up headers,
+     *                  timeouts, or other connection configurations.
+     * @param parsers   The function to select the parser by the content type of the response.
+     * @param reference The type of the response body.
+     * @param <T>       The type of the body expected in the HttpResponse.
+     * @return An HttpResponse object containing the status code and the body read from the response.
+     * @throws IOException If an I/O error occurs while sending the request or reading the response.
+     */
+    public static <T> HttpResponse<T> get(String uri, Consumer<HttpURLConnection> configure, Function<String, ObjectParser> parsers, TypeReference<T> reference) throws IOException {
+        return request(HttpMethod.GET, uri, configure, null, (stream, contentType) -> parsers.apply(contentType).read(stream, reference));
+    }
+
+    /**
+     * Performs an HTTP POST request with the given body to the specified URI, configures the connection,
+     * reads the response using a provided reader, and returns an HttpResponse object.
+     *
+     * @param uri       The URI to send the POST request to.
+     * @param configure A Consumer that accepts an HttpURLConnection which can be used to set up headers,
+     *                  timeouts, or other connection configurations.
+     * @param body      The request body.
+     * @param reader    An HttpReader functional interface that defines how to read the response body
+     *                  from a Reader and convert it into the expected type T.
+     * @param <T>       The type of the body expected in the HttpResponse.
+     * @return An HttpResponse object containing the status code and the body read from the response.
+     * @throws IOException If an I/O error occurs while sending the request or reading the response.
+     */
+    public static <T> HttpResponse<T> post(String uri, Consumer<HttpURLConnection> configure, byte[] body, ObjectReader<Reader, T> reader) throws IOException {
+        return request(HttpMethod.POST, uri, configure, body, (stream, contentType) -> read(stream, reader));
+    }
+
+    /**
+     * Performs an HTTP POST request with the given body to the specified URI, and binds the response body to the
+     * specified type directly from the response stream.
+     *
+     * @param uri       The URI to send the POST request to.
+     * @param configure A Consumer that accepts an HttpURLConnection which can be used to set up headers,
+     *                  timeouts, or other connection configurations.
+     * @param body      The request body.
+     * @param parser    The parser to bind the response body.
+     * @param reference The type of the response body.
+     * @param <T>       The type of the body expected in the HttpResponse.
+     * @return An HttpResponse object containing the status code and the body read from the response.
+     * @throws IOException If an I/O error occurs while sending the request or reading the response.
+     */
+    public static <T> HttpResponse<T> post(String uri, Consumer<HttpURLConnection> configure, byte[] body, ObjectParser parser, TypeReference<T> reference) throws IOException {
+        return request(HttpMethod.POST, uri, configure, body, (stream, contentType) -> parser.read(stream, reference));
+    }
+
+    /**
+     * Performs an HTTP POST request with the given body to the specified URI, and binds the response body to the
+     * specified type with the parser selected by the content type of the response.
+     *
+     * @param uri       The URI to send the POST request to.
+     * @param configure A Consumer that accepts an HttpURLConnection which can be used to set up headers,
+     *                  timeouts, or other connection configurations.
+     * @param body      The request body.
+     * @param parsers   The function to select the parser by the content type of the response.
+     * @param reference The type of the response body.
+     * @param <T>       The type of the body expected in the HttpResponse.
+     * @return An HttpResponse object containing the status code and the body read from the response.
+     * @throws IOException If an I/O error occurs while sending the request or reading the response.
+     */
+    public static <T> HttpResponse<T> post(String uri, Consumer<HttpURLConnection> configure, byte[] body, Function<String, ObjectParser> parsers, TypeReference<T> reference) throws IOException {
+        return request(HttpMethod.POST, uri, configure, body, (stream, contentType) -> parsers.apply(contentType).read(stream, reference));
+    }
+
+    private static <T> HttpResponse<T> request(HttpMethod method,
+                                               String uri,
+                                               Consumer<HttpURLConnection> configure,
+                                               byte[] body,
+                                               StreamReader<T> reader) throws IOException {
         if (!uri.contains("://")) {
             uri = "http://" + uri;
         }
         URL url = new URL(uri);
         HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        boolean reusable = false;
         try {
             // Set up the connection properties
             connection.setRequestProperty(HttpHeader.CONNECTION, CONNECTION_KEEP_ALIVE);
             connection.setRequestProperty(HttpHeader.ACCEPT_ENCODING, ACCEPT_ENCODING_GZIP_DEFLATE);
             connection.setRequestProperty(HttpHeader.ACCEPT_CHARSET, StandardCharsets.UTF_8.name());
-            connection.setRequestMethod(HttpMethod.GET.name());
-            connection.setDoOutput(false);
+            connection.setRequestMethod(method.name());
+            connection.setDoOutput(body != null);
             connection.setDoInput(true);
             connection.setInstanceFollowRedirects(true);
             // Apply additional configuration
             configure.accept(connection);
             // Establish the connection
             connection.connect();
+            if (body != null) {
+                try (OutputStream os = connection.getOutputStream()) {
+                    os.write(body);
+                }
+            }
             // Get the response code
             HttpStatus status = HttpStatus.resolve(connection.getResponseCode());
             // Return the appropriate HttpResponse based on the status code
             if (status != null) {
                 switch (status) {
                     case OK:
-                        return new HttpResponse<>(status, getResponse(connection, reader));
+                        T data = getResponse(connection, reader);
+                        // the body is consumed and closed, the connection can be kept alive for the next request.
+                        reusable = true;
+                        return new HttpResponse<>(status, data);
                     case NOT_MODIFIED:
                     case NOT_FOUND:
                         return new HttpResponse<>(status, null);
@@ -114,8 +221,10 @@ public abstract class HttpUtils {
             return new HttpResponse<>(status, getErrorMessage(connection));
 
         } finally {
-            // Disconnect the connection
-            connection.disconnect();
+            if (!reusable) {
+                // Disconnect the connection
+                connection.disconnect();
+            }
         }
     }
 
@@ -123,13 +232,19 @@ public abstract class HttpUtils {
      * Reads the response from the given HttpURLConnection and processes it using the provided reader.
      *
      * @param connection The HttpURLConnection from which to read the response.
-     * @param reader     The reader that defines how to process the response body.
+     * @param reader     The reader that defines how to process the decompressed response stream.
      * @param <T>        The type of the processed response body.
      * @return The processed response body.
      * @throws IOException If an I/O error occurs while reading the response.
      */
-    private static <T> T getResponse(HttpURLConnection connection, ObjectReader<Reader, T> reader) throws IOException {
-        return read(connection.getInputStream(), connection.getContentEncoding(), reader::read);
+    private static <T> T getResponse(HttpURLConnection connection, StreamReader<T> reader) throws IOException {
+        InputStream stream = decompress(connection.getInputStream(), connection.getContentEncoding());
+        if (stream == null) {
+            return null;
+        }
+        try (InputStream is = stream) {
+            return reader.read(is, connection.getContentType());
+        }
     }
 
     /**
@@ -162,18 +277,42 @@ public abstract class HttpUtils {
      * @throws IOException If an I/O error occurs while reading from the InputStream.
      */
     private static <T> T read(InputStream stream, String encoding, ObjectReader<BufferedReader, T> reader) throws IOException {
+        InputStream is = decompress(stream, encoding);
+        return is == null ? null : read(is, reader);
+    }
+
+    /**
+     * Reads the UTF-8 encoded text from the given InputStream with the provided reader, and closes the stream.
+     *
+     * @param stream The InputStream to read from.
+     * @param reader The reader that defines how to process the text.
+     * @param <T>    The type of the processed data.
+     * @return The processed data.
+     * @throws IOException If an I/O error occurs while reading from the InputStream.
+     */
+    private static <T> T read(InputStream stream, ObjectReader<? super BufferedReader, T> reader) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.read(br);
+        }
+    }
+
+    /**
+     * Wraps the given InputStream to decompress it according to the content encoding.
+     *
+     * @param stream   The InputStream to wrap.
+     * @param encoding The content encoding of the stream.
+     * @return The decompressed stream, or null if the stream is null.
+     * @throws IOException If an I/O error occurs while reading the compression header.
+     */
+    private static InputStream decompress(InputStream stream, String encoding) throws IOException {
         if (stream == null) {
             return null;
-        }
-        InputStream is = stream;
-        if (encoding != null && encoding.contains(ENCODING_GZIP)) {
-            is = new GZIPInputStream(is);
+        } else if (encoding != null && encoding.contains(ENCODING_GZIP)) {
+            return new GZIPInputStream(stream);
         } else if (encoding != null && encoding.contains(ENCODING_DEFLATE)) {
-            is = new InflaterInputStream(is, new Inflater(true));
-        }
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-            return reader.read(br);
+            return new InflaterInputStream(stream, new Inflater(true));
         }
+        return stream;
     }
 
     /**
@@ -595,6 +734,17 @@ public abstract class HttpUtils {
         }
     }
 
+    /**
+     * Reads the object from the decompressed response stream.
+     *
+     * @param <T> The type of the object.
+     */
+    @FunctionalInterface
+    private interface StreamReader<T> {
+
+        T read(InputStream stream, String contentType) throws IOException;
+    }
+
     private static class DecodeBuf {
 
         final int length;
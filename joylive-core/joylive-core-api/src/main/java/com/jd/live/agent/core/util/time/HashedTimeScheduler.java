@@ -0,0 +1,229 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.core.util.time;
+
+import com.jd.live.agent.core.thread.NamedThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A HashedTimeScheduler is a timer that shards its tasks over several {@link HashedTimeWheel}s. Each wheel has its
+ * own tick thread and its own lock-free submission queue, and a task is assigned to a wheel by its hash, so
+ * thousands of timers do not contend on a single queue or a single boss thread. The expired tasks of all wheels
+ * are executed by a shared pool of worker threads.
+ */
+public class HashedTimeScheduler implements AutoCloseable, Timer {
+
+    /**
+     * The prefix used for naming threads created by this timer.
+     */
+    private final String prefix;
+
+    /**
+     * The time in milliseconds that each tick represents.
+     */
+    private final long tickTime;
+
+    /**
+     * The number of worker threads that execute expired tasks.
+     */
+    private final int workerThreads;
+
+    /**
+     * The maximum number of tasks that can be queued for execution at any given time.
+     */
+    private final long maxTasks;
+
+    /**
+     * A consumer that is called after a task has been executed.
+     */
+    private final Consumer<TimeWork> afterRun;
+
+    /**
+     * The sharded time wheels.
+     */
+    private final HashedTimeWheel[] wheels;
+
+    /**
+     * The consumers that are called after a task of the corresponding wheel has been cancelled.
+     */
+    private final Consumer<TimeWork>[] afterCancels;
+
+    /**
+     * The pool of worker threads that execute expired tasks.
+     */
+    private volatile ExecutorService workerPool;
+
+    /**
+     * A count of the tasks that are currently pending execution.
+     */
+    private final AtomicLong tasks = new AtomicLong(0);
+
+    /**
+     * A flag indicating whether the timer has been started.
+     */
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    /**
+     * Constructs a new HashedTimeScheduler with the specified name, tick time, number of ticks, number of worker threads,
+     * maximum number of pending tasks and number of buckets.
+     *
+     * @param name          The name prefix for threads created by this timer.
+     * @param tickTime      The time in milliseconds that each tick represents.
+     * @param ticks         The number of ticks in each time wheel.
+     * @param workerThreads The number of worker threads to execute tasks.
+     * @param maxTasks      The maximum number of tasks that can be pending before being rejected.
+     * @param buckets       The number of sharded time wheels.
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimeScheduler(String name, long tickTime, int ticks, int workerThreads, long maxTasks, int buckets) {
+        if (tickTime <= 0) {
+            throw new IllegalArgumentException("tickTime must be greater than 0");
+        } else if (ticks <= 0) {
+            throw new IllegalArgumentException("ticks must be greater than 0");
+        } else if (workerThreads <= 0) {
+            throw new IllegalArgumentException("workerThreads must be greater than 0");
+        } else if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be greater than 0");
+        }
+        this.prefix = name == null || name.isEmpty() ? "timer" : name;
+        this.tickTime = tickTime;
+        this.workerThreads = workerThreads;
+        this.maxTasks = maxTasks;
+        this.afterRun = o -> tasks.decrementAndGet();
+        this.wheels = new HashedTimeWheel[buckets];
+        this.afterCancels = new Consumer[buckets];
+        for (int i = 0; i < buckets; i++) {
+            HashedTimeWheel wheel = new HashedTimeWheel(tickTime, ticks, this::execute);
+            Consumer<TimeWork> cancel = wheel.getAfterCancel();
+            wheels[i] = wheel;
+            afterCancels[i] = o -> {
+                tasks.decrementAndGet();
+                cancel.accept(o);
+            };
+        }
+    }
+
+    /**
+     * Starts the timer, initializing the worker thread pool and the tick threads.
+     */
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            workerPool = Executors.newFixedThreadPool(workerThreads, new NamedThreadFactory(prefix + "-worker", true));
+            ThreadFactory factory = new NamedThreadFactory(prefix + "-tick", true);
+            for (HashedTimeWheel wheel : wheels) {
+                wheel.start(factory);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (started.compareAndSet(true, false)) {
+            for (HashedTimeWheel wheel : wheels) {
+                wheel.close();
+            }
+            workerPool.shutdownNow();
+        }
+    }
+
+    @Override
+    public Timeout add(final String name, final long time, final Runnable runnable) {
+        return runnable == null ? null : schedule(name, getLeastOneTick(time), runnable);
+    }
+
+    @Override
+    public Timeout delay(final String name, final long delay, final Runnable runnable) {
+        return runnable == null ? null : schedule(name, getLeastOneTick(delay + System.currentTimeMillis()), runnable);
+    }
+
+    @Override
+    public Timeout add(final TimeTask task) {
+        if (task == null) {
+            return null;
+        }
+        long time = getLeastOneTick(task instanceof DelayTask ? System.currentTimeMillis() + task.getTime() : task.getTime());
+        return schedule(task.getName(), time, task);
+    }
+
+    /**
+     * Adds a task to the time wheel selected by its hash.
+     *
+     * @param name     The name of the task.
+     * @param time     The absolute execution time for the task.
+     * @param runnable The task to be executed.
+     * @return A Timeout object representing the scheduled task.
+     */
+    protected Timeout schedule(final String name, final long time, final Runnable runnable) {
+        long count = tasks.incrementAndGet();
+        if (maxTasks > 0 && count > maxTasks) {
+            tasks.decrementAndGet();
+            throw new RejectedExecutionException("the maximum of pending tasks is " + maxTasks);
+        }
+        int index = select(runnable);
+        TimeWork timeWork = new TimeWork(name, time, runnable, afterRun, afterCancels[index]);
+        wheels[index].add(timeWork);
+        return timeWork;
+    }
+
+    /**
+     * Selects the time wheel of the task.
+     *
+     * @param runnable The task to be executed.
+     * @return The index of the time wheel.
+     */
+    private int select(final Runnable runnable) {
+        if (wheels.length == 1) {
+            return 0;
+        }
+        int h = System.identityHashCode(runnable);
+        h ^= h >>> 16;
+        return (h & 0x7fffffff) % wheels.length;
+    }
+
+    /**
+     * Calculates the time point at least one tick ahead of the current time.
+     *
+     * @param time The reference time.
+     * @return The time point at least one tick in the future.
+     */
+    private long getLeastOneTick(final long time) {
+        return Math.max(time, System.currentTimeMillis() + tickTime);
+    }
+
+    /**
+     * Executes an expired task in the worker pool.
+     *
+     * @param timeWork The expired task.
+     */
+    private void execute(final TimeWork timeWork) {
+        ExecutorService pool = workerPool;
+        if (pool != null && !timeWork.isCancelled()) {
+            try {
+                pool.execute(timeWork);
+            } catch (RejectedExecutionException e) {
+                // the timer is closed, and the dropped task is no longer pending.
+                tasks.decrementAndGet();
+            }
+        }
+    }
+}
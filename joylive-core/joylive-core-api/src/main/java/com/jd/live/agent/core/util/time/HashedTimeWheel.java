@@ -0,0 +1,231 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.core.util.time;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+/**
+ * A hashed time wheel is a single-level time wheel driven by its own tick thread. It does not rely on a
+ * {@link java.util.concurrent.DelayQueue}: the tick thread sleeps until the next tick
+ * deadline, which is always computed from the start time and the tick count, so ticks never drift.
+ * <p>
+ * Tasks are submitted through a lock-free multi-producer single-consumer queue and drained in batch on each tick,
+ * so adding a task is O(1) and never contends with the tick thread. Tasks beyond the wheel's duration stay in
+ * their slot and are checked again on the next round.
+ */
+public class HashedTimeWheel implements Runnable {
+
+    /**
+     * The maximum number of tasks that are drained from the submission queue on each tick.
+     */
+    private static final int MAX_SUPPLY = 100000;
+
+    /**
+     * The duration of a single tick in milliseconds.
+     */
+    protected final long tickTime;
+
+    /**
+     * The mask used to locate a time slot, the number of slots is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * An array of time slots that hold the tasks.
+     */
+    private final TimeSlot[] timeSlots;
+
+    /**
+     * A consumer that is called when a task is expired.
+     */
+    private final Consumer<TimeWork> expire;
+
+    /**
+     * A consumer that is called after a task has been cancelled.
+     */
+    private final Consumer<TimeWork> afterCancel;
+
+    /**
+     * A queue of tasks that are pending to be scheduled onto the time wheel.
+     */
+    private final Queue<TimeWork> flying = new ConcurrentLinkedQueue<>();
+
+    /**
+     * A queue of tasks that have been cancelled.
+     */
+    private final Queue<TimeWork> cancels = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The start time of the time wheel, which is a multiple of {@code tickTime}.
+     */
+    private long startTime;
+
+    /**
+     * The number of ticks that have been processed.
+     */
+    private long tick;
+
+    /**
+     * The tick thread.
+     */
+    private volatile Thread thread;
+
+    /**
+     * A flag indicating whether the time wheel has been started.
+     */
+    private volatile boolean started;
+
+    /**
+     * Constructs a new {@code HashedTimeWheel} instance.
+     *
+     * @param tickTime The duration of each tick in milliseconds.
+     * @param ticks    The number of ticks, which is rounded up to a power of two.
+     * @param expire   A consumer that executes the expired tasks.
+     */
+    public HashedTimeWheel(final long tickTime, final int ticks, final Consumer<TimeWork> expire) {
+        int size = 1;
+        while (size < ticks) {
+            size <<= 1;
+        }
+        this.tickTime = tickTime;
+        this.mask = size - 1;
+        this.timeSlots = new TimeSlot[size];
+        this.expire = expire;
+        this.afterCancel = cancels::add;
+        for (int i = 0; i < size; i++) {
+            timeSlots[i] = new TimeSlot();
+        }
+    }
+
+    /**
+     * Starts the tick thread.
+     *
+     * @param factory The thread factory used to create the tick thread.
+     */
+    public synchronized void start(final ThreadFactory factory) {
+        if (!started) {
+            long now = System.currentTimeMillis();
+            startTime = now - (now % tickTime);
+            tick = 0;
+            started = true;
+            thread = factory.newThread(this);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops the tick thread.
+     */
+    public synchronized void close() {
+        if (started) {
+            started = false;
+            Thread t = thread;
+            thread = null;
+            if (t != null) {
+                t.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Adds a task to the time wheel. The task is picked up by the tick thread on the next tick.
+     *
+     * @param timeWork The task to be scheduled.
+     */
+    public void add(final TimeWork timeWork) {
+        flying.add(timeWork);
+    }
+
+    /**
+     * Returns the consumer that should be called after a task of this time wheel has been cancelled.
+     *
+     * @return The cancel consumer.
+     */
+    public Consumer<TimeWork> getAfterCancel() {
+        return afterCancel;
+    }
+
+    @Override
+    public void run() {
+        long now;
+        while (started) {
+            now = waitForNextTick();
+            if (now < 0) {
+                break;
+            }
+            cancel();
+            supply();
+            timeSlots[(int) (tick & mask)].expire(now, expire);
+            tick++;
+        }
+    }
+
+    /**
+     * Sleeps until the deadline of the next tick.
+     *
+     * @return The current time, or -1 if the time wheel has been stopped.
+     */
+    private long waitForNextTick() {
+        long deadline = startTime + (tick + 1) * tickTime;
+        long now;
+        long sleep;
+        while (started) {
+            now = System.currentTimeMillis();
+            sleep = deadline - now;
+            if (sleep <= 0) {
+                return now;
+            }
+            try {
+                Thread.sleep(sleep);
+            } catch (InterruptedException e) {
+                // Handle interruption gracefully by exiting the loop.
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Cancels pending tasks.
+     */
+    private void cancel() {
+        TimeWork timeWork;
+        while ((timeWork = cancels.poll()) != null) {
+            timeWork.remove();
+        }
+    }
+
+    /**
+     * Drains the submission queue and puts the tasks into their time slots.
+     */
+    private void supply() {
+        TimeWork timeWork;
+        long index;
+        for (int i = 0; i < MAX_SUPPLY; i++) {
+            timeWork = flying.poll();
+            if (timeWork == null) {
+                break;
+            } else if (!timeWork.isCancelled()) {
+                // Expired tasks fall into the current slot and are executed on this tick.
+                index = Math.max((timeWork.time - startTime) / tickTime, tick);
+                timeSlots[(int) (index & mask)].add(timeWork, timeWork.time);
+            }
+        }
+    }
+}
@@ -113,6 +113,29 @@ public class TimeSlot implements Delayed {
         ts.forEach(consumer);
     }
 
+    /**
+     * Expires the tasks in this time slot whose execution time is not later than the given deadline.
+     * Tasks scheduled for later rounds of the time wheel are kept in the slot.
+     *
+     * @param deadline The deadline of the current tick.
+     * @param consumer A {@link Consumer} that takes a {@link TimeWork} task and executes it.
+     */
+    protected void expire(final long deadline, final Consumer<TimeWork> consumer) {
+        TimeWork timeWork = root.next;
+        TimeWork next;
+        while (timeWork != root) {
+            next = timeWork.next;
+            if (timeWork.time <= deadline) {
+                remove(timeWork);
+                consumer.accept(timeWork);
+            }
+            timeWork = next;
+        }
+        if (root.next == root) {
+            expiration = -1L;
+        }
+    }
+
     @Override
     public long getDelay(final TimeUnit unit) {
         long delayMs = expiration - System.currentTimeMillis();
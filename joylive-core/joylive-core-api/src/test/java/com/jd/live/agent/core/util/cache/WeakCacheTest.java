@@ -0,0 +1,55 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.core.util.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WeakCacheTest {
+
+    @Test
+    void testIdentity() {
+        WeakCache<String, Integer> cache = new WeakCache<>();
+        String key = new String("key");
+        cache.put(key, 1);
+        Assertions.assertEquals(1, cache.get(key));
+        // equal but not identical keys are different entries.
+        Assertions.assertNull(cache.get(new String("key")));
+        Assertions.assertEquals(2, cache.computeIfAbsent(new String("key"), k -> 2));
+        Assertions.assertEquals(1, cache.computeIfAbsent(key, k -> 3));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.remove(key));
+        Assertions.assertNull(cache.get(key));
+        cache.put(key, 4);
+        cache.put(key, null);
+        Assertions.assertNull(cache.get(key));
+    }
+
+    @Test
+    void testCollected() throws InterruptedException {
+        WeakCache<Object, Integer> cache = new WeakCache<>();
+        Object key = new Object();
+        cache.put(key, 1);
+        cache.put(new Object(), 2);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.size() > 1 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(1, cache.get(key));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.core.util.time;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HashedTimeSchedulerTest {
+
+    @Test
+    void testDelay() throws InterruptedException {
+        try (HashedTimeScheduler scheduler = new HashedTimeScheduler("test", 10, 16, 2, 0, 4)) {
+            scheduler.start();
+            CountDownLatch latch = new CountDownLatch(1);
+            long start = System.currentTimeMillis();
+            long[] executed = new long[1];
+            scheduler.delay("task", 50, () -> {
+                executed[0] = System.currentTimeMillis();
+                latch.countDown();
+            });
+            Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS));
+            Assertions.assertTrue(executed[0] - start >= 40);
+        }
+    }
+
+    @Test
+    void testOrder() throws InterruptedException {
+        try (HashedTimeScheduler scheduler = new HashedTimeScheduler("test", 10, 16, 1, 0, 1)) {
+            scheduler.start();
+            List<Integer> orders = new CopyOnWriteArrayList<>();
+            CountDownLatch latch = new CountDownLatch(3);
+            scheduler.delay("task-3", 150, () -> {
+                orders.add(3);
+                latch.countDown();
+            });
+            scheduler.delay("task-1", 30, () -> {
+                orders.add(1);
+                latch.countDown();
+            });
+            scheduler.delay("task-2", 90, () -> {
+                orders.add(2);
+                latch.countDown();
+            });
+            Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS));
+            Assertions.assertEquals(3, orders.size());
+            Assertions.assertEquals(1, orders.get(0));
+            Assertions.assertEquals(2, orders.get(1));
+            Assertions.assertEquals(3, orders.get(2));
+        }
+    }
+
+    @Test
+    void testBeyondWheelDuration() throws InterruptedException {
+        // the wheel covers 40ms, the task has to wait in its slot for several rounds.
+        try (HashedTimeScheduler scheduler = new HashedTimeScheduler("test", 10, 4, 1, 0, 2)) {
+            scheduler.start();
+            CountDownLatch latch = new CountDownLatch(1);
+            long start = System.currentTimeMillis();
+            long[] executed = new long[1];
+            scheduler.delay("task", 200, () -> {
+                executed[0] = System.currentTimeMillis();
+                latch.countDown();
+            });
+            Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS));
+            Assertions.assertTrue(executed[0] - start >= 190);
+        }
+    }
+
+    @Test
+    void testCancel() throws InterruptedException {
+        try (HashedTimeScheduler scheduler = new HashedTimeScheduler("test", 10, 16, 1, 0, 2)) {
+            scheduler.start();
+            AtomicInteger counter = new AtomicInteger();
+            CountDownLatch latch = new CountDownLatch(1);
+            Timeout timeout = scheduler.delay("cancelled", 50, counter::incrementAndGet);
+            scheduler.delay("executed", 100, latch::countDown);
+            Assertions.assertTrue(timeout.cancel());
+            Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, counter.get());
+        }
+    }
+
+    @Test
+    void testMaxTasks() throws InterruptedException {
+        try (HashedTimeScheduler scheduler = new HashedTimeScheduler("test", 10, 16, 1, 2, 2)) {
+            scheduler.start();
+            CountDownLatch latch = new CountDownLatch(2);
+            scheduler.delay("task-1", 50, latch::countDown);
+            scheduler.delay("task-2", 50, latch::countDown);
+            Assertions.assertThrows(RejectedExecutionException.class, () -> scheduler.delay("task-3", 50, () -> {
+            }));
+            Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS));
+            // the slots are released after the tasks are executed.
+            CountDownLatch next = new CountDownLatch(1);
+            long deadline = System.currentTimeMillis() + 2000;
+            while (true) {
+                try {
+                    scheduler.delay("task-4", 10, next::countDown);
+                    break;
+                } catch (RejectedExecutionException e) {
+                    Assertions.assertTrue(System.currentTimeMillis() < deadline);
+                    Thread.sleep(10);
+                }
+            }
+            Assertions.assertTrue(next.await(2, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testManyTasks() throws InterruptedException {
+        try (HashedTimeScheduler scheduler = new HashedTimeScheduler("test", 10, 16, 4, 0, 4)) {
+            scheduler.start();
+            int count = 1000;
+            CountDownLatch latch = new CountDownLatch(count);
+            for (int i = 0; i < count; i++) {
+                scheduler.delay("task-" + i, i % 100, latch::countDown);
+            }
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+    }
+}
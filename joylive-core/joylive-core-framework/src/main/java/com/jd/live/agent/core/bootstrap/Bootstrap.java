@@ -68,7 +68,7 @@ import com.jd.live.agent.core.util.option.MapOption;
 import com.jd.live.agent.core.util.option.Option;
 import com.jd.live.agent.core.util.shutdown.Shutdown;
 import com.jd.live.agent.core.util.shutdown.ShutdownHookAdapter;
-import com.jd.live.agent.core.util.time.TimeScheduler;
+import com.jd.live.agent.core.util.time.HashedTimeScheduler;
 import com.jd.live.agent.core.util.time.Timer;
 import com.jd.live.agent.core.util.type.Artifact;
 import com.jd.live.agent.core.util.version.JVM;
@@ -91,6 +91,12 @@ import static com.jd.live.agent.core.extension.condition.ConditionMatcher.DEPEND
 public class Bootstrap implements AgentLifecycle {
     private static final Logger logger = LoggerFactory.getLogger(Bootstrap.class);
 
+    private static final int BOOTSTRAP_THREADS = 2;
+
+    private static final String TASK_SCAN_EXTENSIONS = "scanExtensions";
+
+    private static final String TASK_LOAD_PLUGINS = "loadPlugins";
+
     /**
      * Instrumentation object provided by the JVM for class instrumentation.
      */
@@ -171,7 +177,7 @@ public class Bootstrap implements AgentLifecycle {
      */
     private Publisher<AgentEvent> publisher;
 
-    private TimeScheduler timer;
+    private HashedTimeScheduler timer;
 
     /**
      * Manages services within the agent.
@@ -245,6 +251,8 @@ public class Bootstrap implements AgentLifecycle {
 
     @Override
     public void install() {
+        long startTime = System.currentTimeMillis();
+        BootstrapTasks tasks = new BootstrapTasks(BOOTSTRAP_THREADS);
         try {
             agentPath = createAgentPath();
             conditionMatcher = createConditionMatcher();
@@ -259,6 +267,8 @@ public class Bootstrap implements AgentLifecycle {
             setupLogger(); //depend on extensionManager
             option = loadConfig(); // load config.yaml and merge bootstrap.properties.
             agentConfig = createAgentConfig(); //depend on option & injector
+            // scan the descriptors of the core extensions in the background, they are instantiated later.
+            tasks.add(TASK_SCAN_EXTENSIONS, this::scanExtensions);
             timer = createTimer();
             timer.start();
             eventBus = createEventBus(); //depend on extensionManager & option
@@ -271,6 +281,7 @@ public class Bootstrap implements AgentLifecycle {
             createSourceSuppliers();
             serviceManager = createServiceManager(); //depend on extensionManager & classLoaderManager & eventBus & sourceSuppliers
             setupServiceManager(); // inject to source supplier
+            tasks.join(TASK_SCAN_EXTENSIONS);
             applicationListener = new AppListenerWrapper(createApplicationListeners()); // depend on source suppliers & serviceManager
             byteSupplier = createByteSupplier();
             pluginManager = createPluginManager(); //depend on context & extensionManager & classLoaderManager & byteSupplier
@@ -278,9 +289,15 @@ public class Bootstrap implements AgentLifecycle {
             subscriptions = createSubscriptions();
             subscribe();
             printExtensions();
+            // load the plugins while the services are starting, after the core extensions are scanned.
+            // the enhancement is still done after the services are started.
+            tasks.add(TASK_LOAD_PLUGINS, () -> pluginManager.load(dynamic), TASK_SCAN_EXTENSIONS);
             serviceManager.start().join();
+            Boolean loaded = tasks.join(TASK_LOAD_PLUGINS);
             // TODO In AgentMain mode, it is necessary to enhance the registry first to obtain the service strategy, and then enhance the routing plugin
-            if (pluginManager.install(dynamic)) {
+            if (!loaded) {
+                publisher.offer(AgentEvent.onAgentEnhanceFailure("Failed to load plugin.", null));
+            } else if (pluginManager.install(dynamic)) {
                 publisher.offer(AgentEvent.onAgentEnhanceReady("Success installing all plugins."));
             } else {
                 publisher.offer(AgentEvent.onAgentEnhanceFailure("Failed to install plugin.", null));
@@ -290,6 +307,7 @@ public class Bootstrap implements AgentLifecycle {
             shutdown.addHook(() -> serviceManager.stop());
             shutdown.register();
             publisher.offer(AgentEvent.onAgentReady("Success starting LiveAgent."));
+            logger.info("LiveAgent is started in " + (System.currentTimeMillis() - startTime) + " ms.");
         } catch (Throwable e) {
             // TODO Close resource
             publisher.offer(
@@ -300,6 +318,8 @@ public class Bootstrap implements AgentLifecycle {
             if (serviceManager != null) {
                 serviceManager.stop();
             }
+        } finally {
+            tasks.close();
         }
     }
 
@@ -312,7 +332,7 @@ public class Bootstrap implements AgentLifecycle {
         }
         Close.instance()
                 .closeIfExists(shutdown, Shutdown::unregister)
-                .closeIfExists(timer, TimeScheduler::close)
+                .closeIfExists(timer, HashedTimeScheduler::close)
                 .closeIfExists(pluginManager, PluginSupervisor::uninstall)
                 .closeIfExists(serviceManager, ServiceManager::close)
                 .closeIfExists(eventBus, EventBus::stop)
@@ -585,9 +605,10 @@ public class Bootstrap implements AgentLifecycle {
         return new JExtensionManager(conditionMatcher);
     }
 
-    private TimeScheduler createTimer() {
+    private HashedTimeScheduler createTimer() {
         TimerConfig config = agentConfig.getTimerConfig();
-        return new TimeScheduler("LiveAgent-timer", config.getTickTime(), config.getTicks(), config.getWorkerThreads(), config.getMaxTasks());
+        return new HashedTimeScheduler("LiveAgent-timer", config.getTickTime(), config.getTicks(),
+                config.getWorkerThreads(), config.getMaxTasks(), config.getBuckets());
     }
 
     private EventBus createEventBus() {
@@ -681,6 +702,20 @@ public class Bootstrap implements AgentLifecycle {
         }
     }
 
+    /**
+     * Scans the descriptors of the core extensions, which are instantiated later by the bootstrap.
+     *
+     * @return the number of the scanned extensibles
+     */
+    private int scanExtensions() {
+        ClassLoader loader = classLoaderManager.getCoreImplLoader();
+        Class<?>[] types = new Class<?>[]{AppListener.class, Command.class, Subscription.class};
+        for (Class<?> type : types) {
+            extensionManager.getOrLoadExtensible(type, loader);
+        }
+        return types.length;
+    }
+
     private List<Subscription> createSubscriptions() {
         return extensionManager.getOrLoadExtensible(Subscription.class, classLoaderManager.getCoreImplLoader()).getExtensions();
     }
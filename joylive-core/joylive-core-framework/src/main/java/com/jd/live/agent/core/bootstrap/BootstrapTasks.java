@@ -0,0 +1,105 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.core.bootstrap;
+
+import com.jd.live.agent.bootstrap.exception.InitializeException;
+import com.jd.live.agent.bootstrap.exception.LiveException;
+import com.jd.live.agent.core.thread.NamedThreadFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * A dependency graph of the bootstrap steps, which runs the independent steps concurrently on a small bounded pool.
+ * <p>
+ * A step can only depend on the steps added before it, so the graph is always acyclic. The steps run in the pool
+ * must only load or index resources; the steps with side effects run on the bootstrap thread in the order of the
+ * bootstrap, after joining the steps they depend on.
+ */
+class BootstrapTasks implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, CompletableFuture<?>> tasks = new HashMap<>();
+
+    BootstrapTasks(int threads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("LiveAgent-bootstrap", true));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Adds a step, which runs in the pool after all of its dependencies are completed.
+     *
+     * @param name         the name of the step
+     * @param callable     the step
+     * @param dependencies the names of the steps it depends on
+     * @param <T>          the type of the result
+     * @return the future of the step
+     * @throws IllegalArgumentException if a dependency is not added before
+     */
+    public synchronized <T> CompletableFuture<T> add(String name, Callable<T> callable, String... dependencies) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            futures[i] = tasks.get(dependencies[i]);
+            if (futures[i] == null) {
+                throw new IllegalArgumentException("Bootstrap step " + dependencies[i] + " is not found, required by " + name);
+            }
+        }
+        CompletableFuture<T> future = CompletableFuture.allOf(futures).thenApplyAsync(v -> {
+            try {
+                return callable.call();
+            } catch (LiveException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InitializeException("Failed to run bootstrap step " + name + ", caused by " + e.getMessage(), e);
+            }
+        }, executor);
+        tasks.put(name, future);
+        return future;
+    }
+
+    /**
+     * Waits for the step and returns its result.
+     *
+     * @param name the name of the step
+     * @param <T>  the type of the result
+     * @return the result of the step
+     * @throws IllegalArgumentException if the step is not added
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T join(String name) {
+        CompletableFuture<?> future;
+        synchronized (this) {
+            future = tasks.get(name);
+        }
+        if (future == null) {
+            throw new IllegalArgumentException("Bootstrap step " + name + " is not found.");
+        }
+        try {
+            return (T) future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
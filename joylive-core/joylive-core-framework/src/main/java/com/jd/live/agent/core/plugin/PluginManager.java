@@ -113,6 +113,19 @@ public class PluginManager implements PluginSupervisor {
         this.conditionMatcher = conditionMatcher;
     }
 
+    @Override
+    public synchronized boolean load(boolean dynamic) {
+        // the loaded plugins are kept in the installed plugins and reused by the installation.
+        if (!loadPlugins(install(pluginConfig.getSystems(), PluginType.SYSTEM))) {
+            return false;
+        } else if (!loadPlugins(install(pluginConfig.getStatics(), PluginType.STATIC))) {
+            return false;
+        } else if (dynamic) {
+            return loadPlugins(install(pluginConfig.getDynamics(), PluginType.DYNAMIC));
+        }
+        return true;
+    }
+
     @Override
     public synchronized boolean install(boolean dynamic) {
         if (!enhanceSystem(install(pluginConfig.getSystems(), PluginType.SYSTEM))) {
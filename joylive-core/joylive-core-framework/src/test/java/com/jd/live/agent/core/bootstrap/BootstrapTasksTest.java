@@ -0,0 +1,90 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.core.bootstrap;
+
+import com.jd.live.agent.bootstrap.exception.InitializeException;
+import com.jd.live.agent.bootstrap.exception.LiveException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BootstrapTasksTest {
+
+    @Test
+    void testOrder() throws InterruptedException {
+        List<String> steps = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        try (BootstrapTasks tasks = new BootstrapTasks(2)) {
+            tasks.add("a", () -> {
+                // hold the step until the dependent steps are added.
+                latch.await(5, TimeUnit.SECONDS);
+                steps.add("a");
+                return 1;
+            });
+            tasks.add("b", () -> steps.add("b"));
+            tasks.add("c", () -> steps.add("c"), "a", "b");
+            tasks.add("d", () -> steps.add("d"), "c");
+            Assertions.assertFalse(steps.contains("c"));
+            latch.countDown();
+            Assertions.assertEquals(Boolean.TRUE, tasks.join("d"));
+            Assertions.assertEquals(1, (int) tasks.<Integer>join("a"));
+        }
+        Assertions.assertEquals(4, steps.size());
+        Assertions.assertEquals(Arrays.asList("c", "d"), steps.subList(2, 4));
+    }
+
+    @Test
+    void testFailure() {
+        AtomicBoolean called = new AtomicBoolean();
+        try (BootstrapTasks tasks = new BootstrapTasks(2)) {
+            tasks.add("io", () -> {
+                throw new IOException("file is not found");
+            });
+            tasks.add("live", () -> {
+                throw new LiveException("live error");
+            });
+            tasks.add("dependent", () -> called.getAndSet(true), "io");
+
+            InitializeException e = Assertions.assertThrows(InitializeException.class, () -> tasks.join("io"));
+            Assertions.assertTrue(e.getCause() instanceof IOException);
+            Assertions.assertTrue(e.getMessage().contains("io"));
+            LiveException live = Assertions.assertThrows(LiveException.class, () -> tasks.join("live"));
+            Assertions.assertEquals("live error", live.getMessage());
+            // the dependent step is not run, and fails with its dependency.
+            e = Assertions.assertThrows(InitializeException.class, () -> tasks.join("dependent"));
+            Assertions.assertTrue(e.getCause() instanceof IOException);
+        }
+        Assertions.assertFalse(called.get());
+    }
+
+    @Test
+    void testUnknownStep() {
+        try (BootstrapTasks tasks = new BootstrapTasks(1)) {
+            tasks.add("a", () -> 1);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> tasks.add("b", () -> 2, "a", "c"));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> tasks.join("b"));
+            Assertions.assertEquals(1, (int) tasks.<Integer>join("a"));
+        }
+    }
+}
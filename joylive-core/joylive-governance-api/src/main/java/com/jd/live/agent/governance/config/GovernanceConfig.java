@@ -115,6 +115,9 @@ public class GovernanceConfig {
     @Config("configcenter")
     private ConfigCenterConfig configCenterConfig = new ConfigCenterConfig();
 
+    @Config("snapshot")
+    private SnapshotConfig snapshotConfig = new SnapshotConfig();
+
     @Config
     private int initializeTimeout = 10 * 1000;
 
@@ -36,6 +36,11 @@ public class LiveConfig {
 
     private Set<String> topics;
 
+    /**
+     * The maximum time in milliseconds to suspend a MQ pull when the topic is not ready to consume.
+     */
+    private long pullSuspendTime = 1000;
+
     public boolean withTopic(String topic) {
         return topic != null && topics != null && topics.contains(topic);
     }
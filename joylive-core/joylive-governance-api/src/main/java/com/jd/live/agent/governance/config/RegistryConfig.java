@@ -18,6 +18,8 @@ package com.jd.live.agent.governance.config;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Set;
+
 @Getter
 @Setter
 public class RegistryConfig {
@@ -28,5 +30,32 @@ public class RegistryConfig {
     public static final String COMPONENT_REGISTRY_CONFIG = "registryConfig";
 
     private long heartbeatInterval = 5000L;
+
+    /**
+     * The registry types whose consumers support the batch heartbeat event. The heartbeats of these registries are
+     * sent as one batch event per interval, and the heartbeats of the others are spread across the interval.
+     */
+    private Set<String> heartbeatBatchTypes;
+
+    /**
+     * The quiet period in milliseconds to coalesce the instance updates of a subscribed service.
+     * The updates are applied on the caller thread if it's not positive.
+     */
+    private long subscribeDelay = 100L;
+
+    /**
+     * The max delay in milliseconds of applying the coalesced instance updates, even if the updates keep coming.
+     */
+    private long subscribeMaxDelay = 1000L;
+
+    /**
+     * Checks if the registry of the type supports the batch heartbeat event.
+     *
+     * @param type the registry type
+     * @return true if the heartbeats of the registry are sent in batch
+     */
+    public boolean isHeartbeatBatch(String type) {
+        return type != null && heartbeatBatchTypes != null && heartbeatBatchTypes.contains(type);
+    }
 }
 
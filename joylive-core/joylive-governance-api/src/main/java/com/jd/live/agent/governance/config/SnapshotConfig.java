@@ -0,0 +1,48 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration of the local policy snapshot, which is loaded on startup before the policies are synchronized.
+ */
+@Getter
+@Setter
+public class SnapshotConfig {
+
+    /**
+     * Whether the policy snapshot is enabled.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The snapshot file, relative to the directory of the application under the output directory of the agent.
+     */
+    private String file = "policy.snapshot";
+
+    /**
+     * The delay in milliseconds to coalesce policy updates before the snapshot is written.
+     */
+    private long delay = 1000;
+
+    /**
+     * The max age in milliseconds of the snapshot to be loaded, zero or negative means no limit.
+     */
+    private long maxAge = 24 * 60 * 60 * 1000L;
+
+}
@@ -72,6 +72,26 @@ public class SyncConfig {
 
     private int concurrency;
 
+    /**
+     * The long-polling url of the http watcher, long-polling is disabled if it's empty.
+     */
+    private String watchUrl;
+
+    /**
+     * The time the server holds a long-polling request when there is no change.
+     */
+    private long watchTimeout = 30000;
+
+    /**
+     * The url of the batch service api, the services are synchronized one by one if it's empty.
+     */
+    private String batchUrl;
+
+    /**
+     * The maximum number of services in a batch request.
+     */
+    private int batchSize = 100;
+
     private Map<String, String> headers;
 
     private Map<String, String> configs;
@@ -87,6 +107,24 @@ public class SyncConfig {
         }
     }
 
+    /**
+     * Returns the long-polling url, which is resolved against the url if it starts with a slash.
+     *
+     * @return the long-polling url, or null if long-polling is disabled
+     */
+    public String getWatchUrl() {
+        return isEmpty(watchUrl) ? null : getPath(watchUrl, null);
+    }
+
+    /**
+     * Returns the batch service url, which is resolved against the url if it starts with a slash.
+     *
+     * @return the batch service url, or null if batch synchronization is disabled
+     */
+    public String getBatchUrl() {
+        return isEmpty(batchUrl) ? null : getPath(batchUrl, null);
+    }
+
     /**
      * Retrieves the resource URL from the sync configuration.
      *
@@ -63,6 +63,13 @@ public class TransmitConfig {
 
         private Set<String> excludeTaskPrefixes = new HashSet<>();
 
+        /**
+         * Whether the request context is inherited by child threads. When it's disabled, the context is only
+         * propagated by explicit capture in thread pools and virtual threads, which avoids copying it into every
+         * new thread.
+         */
+        private boolean inheritable = true;
+
         /**
          * Checks if the given executor type is excluded.
          *
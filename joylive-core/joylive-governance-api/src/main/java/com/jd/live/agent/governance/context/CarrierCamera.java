@@ -29,7 +29,9 @@ public class CarrierCamera implements Camera {
 
     @Override
     public Object snapshot() {
-        return RequestContext.get();
+        Carrier carrier = RequestContext.get();
+        // the snapshot shares the cargos with the current carrier until one of them is modified.
+        return carrier == null || carrier.isEmpty() ? null : carrier.copy();
     }
 
     @Override
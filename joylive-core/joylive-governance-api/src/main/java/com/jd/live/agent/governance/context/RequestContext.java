@@ -27,6 +27,8 @@ import java.util.function.Supplier;
  * Provides a context for managing request-specific data within the lifetime of a single request.
  * <p>
  * Utilizes a {@link ThreadLocal} to store and manage {@link Carrier} instances, ensuring data is isolated to individual threads.
+ * By default the thread local is inheritable, it can be switched to a non-inheritable one by {@link #setInheritable(boolean)},
+ * in which case the context is only propagated by explicit capture.
  * This class supports creating, retrieving, and managing the lifecycle of {@link Carrier} instances to facilitate the passing
  * of request-specific data across different layers of an application.
  * </p>
@@ -37,8 +39,24 @@ public class RequestContext {
 
     /**
      * Thread-local storage for {@link Carrier} instances, allowing data to be inherited by child threads.
+     * The child thread gets a copy of the carrier, so that it does not modify the carrier of its parent.
      */
-    private static final ThreadLocal<Carrier> CARRIER = new InheritableThreadLocal<>();
+    private static final ThreadLocal<Carrier> INHERITABLE_CARRIER = new InheritableThreadLocal<Carrier>() {
+        @Override
+        protected Carrier childValue(Carrier parentValue) {
+            return parentValue == null ? null : parentValue.copy();
+        }
+    };
+
+    /**
+     * Thread-local storage for {@link Carrier} instances, which is not copied into child threads.
+     */
+    private static final ThreadLocal<Carrier> LOCAL_CARRIER = new ThreadLocal<>();
+
+    /**
+     * The thread-local storage in use.
+     */
+    private static volatile ThreadLocal<Carrier> CARRIER = INHERITABLE_CARRIER;
 
     /**
      * Private constructor to prevent instantiation.
@@ -46,6 +64,27 @@ public class RequestContext {
     private RequestContext() {
     }
 
+    /**
+     * Switches between the inheritable and the non-inheritable thread-local storage.
+     * <p>
+     * It should be called once at startup, the carriers in the previous storage are not moved.
+     * </p>
+     *
+     * @param inheritable {@code true} to inherit the carrier in child threads, {@code false} otherwise.
+     */
+    public static void setInheritable(boolean inheritable) {
+        CARRIER = inheritable ? INHERITABLE_CARRIER : LOCAL_CARRIER;
+    }
+
+    /**
+     * Checks if the carrier is inherited by child threads.
+     *
+     * @return {@code true} if the carrier is inherited by child threads, {@code false} otherwise.
+     */
+    public static boolean isInheritable() {
+        return CARRIER == INHERITABLE_CARRIER;
+    }
+
     /**
      * Retrieves the current {@link Carrier} instance associated with the current thread, if any.
      *
@@ -145,7 +184,7 @@ public class RequestContext {
      */
     public static boolean hasCargo() {
         Carrier carrier = CARRIER.get();
-        return carrier != null && carrier.getCargos() != null && !carrier.getCargos().isEmpty();
+        return carrier != null && carrier.size() > 0;
     }
 
     /**
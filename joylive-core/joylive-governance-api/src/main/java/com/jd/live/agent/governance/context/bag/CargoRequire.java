@@ -17,6 +17,8 @@ package com.jd.live.agent.governance.context.bag;
 
 import com.jd.live.agent.core.extension.annotation.Extensible;
 
+import java.util.function.Predicate;
+
 /**
  * Defines a requirement that specifies which cargos should be included based on their names or prefixes.
  * <p>
@@ -30,7 +32,7 @@ import com.jd.live.agent.core.extension.annotation.Extensible;
  * </p>
  */
 @Extensible("CargoRequire")
-public interface CargoRequire {
+public interface CargoRequire extends Predicate<String> {
 
     /**
      * Returns an array of exact names that meet the requirement.
@@ -82,4 +84,15 @@ public interface CargoRequire {
         return false;
     }
 
+    /**
+     * Evaluates the name as {@link #match(String)}, so that a header reader can recognize the requirement and
+     * compare its names and prefixes against the raw header names.
+     *
+     * @param name The name to check against the requirement.
+     * @return {@code true} if the name matches the requirement; {@code false} otherwise.
+     */
+    @Override
+    default boolean test(String name) {
+        return match(name);
+    }
 }
@@ -56,6 +56,33 @@ public interface Carrier extends Attributes {
      */
     Collection<Cargo> getCargos();
 
+    /**
+     * Checks if this carrier carries nothing to propagate.
+     *
+     * @return {@code true} if there is no cargo, {@code false} otherwise.
+     */
+    default boolean isEmpty() {
+        Collection<Cargo> cargos = getCargos();
+        return cargos == null || cargos.isEmpty();
+    }
+
+    /**
+     * Returns the number of cargos carried by this carrier.
+     *
+     * @return The number of cargos.
+     */
+    default int size() {
+        Collection<Cargo> cargos = getCargos();
+        return cargos == null ? 0 : cargos.size();
+    }
+
+    /**
+     * Creates a copy of this carrier, which can be modified without affecting this carrier.
+     *
+     * @return A copy of this carrier.
+     */
+    Carrier copy();
+
     /**
      * Retrieves a specific cargo by key.
      *
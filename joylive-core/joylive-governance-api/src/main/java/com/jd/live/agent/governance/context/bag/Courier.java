@@ -17,64 +17,298 @@ package com.jd.live.agent.governance.context.bag;
 
 import com.jd.live.agent.bootstrap.util.AbstractAttributes;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+/**
+ * A compact {@link Carrier} implementation.
+ * <p>
+ * Cargos are stored in a flat array in insertion order instead of a hash map, because a request usually carries only
+ * a handful of cargos and a linear scan is cheaper than hashing. The array is copy-on-write: {@link #copy()} shares it
+ * with the new carrier, and it is only copied when one of them is modified afterward.
+ * </p>
+ * <p>
+ * A carrier is usually copied by the thread that owns it, but it can also be copied by another thread while the owner
+ * keeps modifying it, so the copy and the modifications synchronize on the source carrier. The copy itself is owned by
+ * the thread it is handed to.
+ * </p>
+ */
 public class Courier extends AbstractAttributes implements Carrier {
 
-    protected Map<String, Cargo> cargos;
+    private static final Cargo[] EMPTY = new Cargo[0];
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    protected Cargo[] cargos;
+
+    protected int size;
+
+    /**
+     * A flag indicating whether the cargo array is shared with another carrier.
+     */
+    protected boolean shared;
+
+    /**
+     * The number of leading cargos that are shared with another carrier and must be copied before modification.
+     */
+    protected int borrowed;
+
+    public Courier() {
+        this.cargos = EMPTY;
+    }
+
+    /**
+     * Constructs a carrier that shares the cargos of the source carrier.
+     *
+     * @param source The source carrier.
+     */
+    protected Courier(Courier source) {
+        synchronized (source) {
+            this.cargos = source.cargos;
+            this.size = source.size;
+            if (size > 0) {
+                this.shared = true;
+                this.borrowed = size;
+                source.shared = true;
+                source.borrowed = size;
+            }
+            copyAttribute(source);
+        }
+    }
+
+    @Override
+    public synchronized void setAttribute(String key, Object value) {
+        super.setAttribute(key, value);
+    }
+
+    @Override
+    public synchronized <T> T getAttributeIfAbsent(String key, Function<String, T> function) {
+        return super.getAttributeIfAbsent(key, function);
+    }
+
+    @Override
+    public synchronized <T> T removeAttribute(String key) {
+        return super.removeAttribute(key);
+    }
 
     @Override
     public Collection<Cargo> getCargos() {
-        return cargos == null ? null : cargos.values();
+        return size == 0 ? null : new CargoList(cargos, size);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0 && !hasAttributes();
     }
 
     @Override
     public Cargo getCargo(String key) {
-        return cargos == null ? null : cargos.get(key);
+        int index = indexOf(key);
+        return index < 0 ? null : cargos[index];
     }
 
     @Override
-    public void addCargo(Cargo cargo) {
+    public synchronized void addCargo(Cargo cargo) {
         if (cargo != null) {
             String name = cargo.getKey();
             if (name != null && !name.isEmpty()) {
-                if (cargos == null) {
-                    cargos = new HashMap<>(8);
-                }
-                Cargo old = cargos.putIfAbsent(cargo.getKey(), cargo);
-                if (old != null && old != cargo) {
-                    old.add(cargo.getValues());
+                int index = indexOf(name);
+                if (index < 0) {
+                    append(cargo);
+                } else {
+                    Cargo old = cargos[index];
+                    if (old != cargo) {
+                        writable(index).add(cargo.getValues());
+                    }
                 }
             }
         }
     }
 
     @Override
-    public void addCargo(String key, String value) {
+    public synchronized void addCargo(String key, String value) {
+        if (key != null && !key.isEmpty()) {
+            int index = indexOf(key);
+            if (index < 0) {
+                append(new Cargo(key, value));
+            } else {
+                writable(index).add(value);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void setCargo(String key, String value) {
         if (key != null && !key.isEmpty()) {
-            if (cargos == null) {
-                cargos = new HashMap<>(8);
+            int index = indexOf(key);
+            if (index < 0) {
+                append(new Cargo(key, value));
+            } else {
+                unshare();
+                cargos[index] = new Cargo(key, value);
             }
-            cargos.computeIfAbsent(key, Cargo::new).add(value);
         }
     }
 
     @Override
-    public void setCargo(String key, String value) {
+    public synchronized void removeCargo(String key) {
         if (key != null && !key.isEmpty()) {
-            if (cargos == null) {
-                cargos = new HashMap<>(8);
+            int index = indexOf(key);
+            if (index >= 0) {
+                unshare();
+                int moved = size - index - 1;
+                if (moved > 0) {
+                    System.arraycopy(cargos, index + 1, cargos, index, moved);
+                }
+                cargos[--size] = null;
+                if (index < borrowed) {
+                    borrowed--;
+                }
             }
-            cargos.put(key, new Cargo(key, value));
         }
     }
 
     @Override
-    public void removeCargo(String key) {
-        if (key != null && !key.isEmpty() && cargos != null) {
-            cargos.remove(key);
+    public void cargos(Consumer<Cargo> consumer) {
+        if (consumer != null) {
+            Cargo[] array = cargos;
+            for (int i = 0, length = size; i < length; i++) {
+                consumer.accept(array[i]);
+            }
+        }
+    }
+
+    @Override
+    public void cargos(BiConsumer<String, String> consumer) {
+        if (consumer != null) {
+            Cargo[] array = cargos;
+            Cargo cargo;
+            List<String> values;
+            for (int i = 0, length = size; i < length; i++) {
+                cargo = array[i];
+                values = cargo.getValues();
+                int count = values == null ? 0 : values.size();
+                switch (count) {
+                    case 0:
+                        consumer.accept(cargo.getKey(), null);
+                        break;
+                    case 1:
+                        consumer.accept(cargo.getKey(), values.get(0));
+                        break;
+                    default:
+                        for (String value : values) {
+                            consumer.accept(cargo.getKey(), value);
+                        }
+                }
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Carrier copy() {
+        return new Courier(this);
+    }
+
+    /**
+     * Finds the index of the cargo with the specified key.
+     *
+     * @param key The key of the cargo.
+     * @return The index of the cargo, or -1 if not found.
+     */
+    protected int indexOf(String key) {
+        if (key != null) {
+            Cargo[] array = cargos;
+            // keys are usually constants or interned header names, so the identity check is the fast path.
+            for (int i = 0; i < size; i++) {
+                if (array[i].getKey() == key) {
+                    return i;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                if (key.equals(array[i].getKey())) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends a cargo to the end of the array, growing or copying the array if necessary.
+     *
+     * @param cargo The cargo to append.
+     */
+    protected void append(Cargo cargo) {
+        if (shared || size == cargos.length) {
+            int capacity = size == cargos.length ? Math.max(INITIAL_CAPACITY, size + (size >> 1) + 1) : cargos.length;
+            cargos = Arrays.copyOf(cargos, capacity);
+            shared = false;
+        }
+        cargos[size++] = cargo;
+    }
+
+    /**
+     * Returns a cargo that can be modified without affecting the carriers sharing the array.
+     *
+     * @param index The index of the cargo.
+     * @return The writable cargo.
+     */
+    protected Cargo writable(int index) {
+        unshare();
+        if (index < borrowed) {
+            Cargo cargo = cargos[index];
+            cargo = new Cargo(cargo.getKey(), cargo.getValues());
+            cargos[index] = cargo;
+            return cargo;
+        }
+        return cargos[index];
+    }
+
+    /**
+     * Copies the cargo array if it is shared with another carrier.
+     */
+    protected void unshare() {
+        if (shared) {
+            cargos = Arrays.copyOf(cargos, cargos.length);
+            shared = false;
+        }
+    }
+
+    /**
+     * A read-only list view over the cargo array.
+     */
+    private static class CargoList extends AbstractList<Cargo> {
+
+        private final Cargo[] cargos;
+
+        private final int size;
+
+        CargoList(Cargo[] cargos, int size) {
+            this.cargos = cargos;
+            this.size = size;
+        }
+
+        @Override
+        public Cargo get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return cargos[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
         }
     }
 
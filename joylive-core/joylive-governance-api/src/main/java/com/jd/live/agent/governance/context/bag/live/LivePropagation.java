@@ -8,7 +8,7 @@ import com.jd.live.agent.governance.request.HeaderFeature;
 import com.jd.live.agent.governance.request.HeaderReader;
 import com.jd.live.agent.governance.request.HeaderWriter;
 
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -35,16 +35,15 @@ public class LivePropagation extends AbstractPropagation {
         if (carrier == null || writer == null) {
             return;
         }
-        Collection<Cargo> cargos = carrier.getCargos();
-        int size = cargos == null ? 0 : cargos.size();
+        int size = carrier.size();
         if (size > 0) {
             HeaderFeature feature = writer.getFeature();
             if (size > 1 && feature.isBatchable()) {
-                writer.setHeaders(toMap(cargos, Cargo::getKey, cargo -> join(cargo.getValues())));
+                Map<String, String> headers = new HashMap<>(size * 4 / 3 + 1);
+                carrier.cargos(cargo -> headers.put(cargo.getKey(), join(cargo.getValues())));
+                writer.setHeaders(headers);
             } else {
-                for (Cargo cargo : cargos) {
-                    writer.setHeader(cargo.getKey(), join(cargo.getValues()));
-                }
+                carrier.cargos(cargo -> writer.setHeader(cargo.getKey(), join(cargo.getValues())));
             }
         }
     }
@@ -77,6 +76,6 @@ public class LivePropagation extends AbstractPropagation {
         CargoRequire require = getRequire();
         return reader.read((name, values) ->
                         carrier.addCargo(new Cargo(name, Label.parseValue(values), true)),
-                require::match) > 0;
+                require) > 0;
     }
 }
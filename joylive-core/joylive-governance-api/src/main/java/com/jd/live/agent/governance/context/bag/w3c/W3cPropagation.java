@@ -22,7 +22,6 @@ import com.jd.live.agent.governance.request.HeaderFeature;
 import com.jd.live.agent.governance.request.HeaderReader;
 import com.jd.live.agent.governance.request.HeaderWriter;
 
-import java.util.Collection;
 import java.util.List;
 
 import static com.jd.live.agent.core.util.StringUtils.*;
@@ -47,19 +46,18 @@ public class W3cPropagation extends AbstractPropagation {
         if (carrier == null || writer == null) {
             return;
         }
-        Collection<Cargo> cargos = carrier.getCargos();
-        if (cargos == null || cargos.isEmpty()) {
+        if (carrier.size() == 0) {
             return;
         }
 
         // TODO w3c baggage header maybe propagated by another agent, so we need to update the baggage header
         HeaderFeature feature = writer.getFeature();
         if (feature.isDuplicable()) {
-            writer.addHeader(KEY_BAGGAGE, appendCargo(cargos, new StringBuilder()));
+            writer.addHeader(KEY_BAGGAGE, appendCargo(carrier, new StringBuilder()));
         } else {
             String baggage = writer.getHeader(KEY_BAGGAGE);
             StringBuilder builder = baggage == null || baggage.isEmpty() ? new StringBuilder() : new StringBuilder(baggage);
-            writer.setHeader(KEY_BAGGAGE, appendCargo(cargos, builder));
+            writer.setHeader(KEY_BAGGAGE, appendCargo(carrier, builder));
         }
     }
 
@@ -112,18 +110,16 @@ public class W3cPropagation extends AbstractPropagation {
     }
 
     /**
-     * Appends the key-value pairs of each Cargo in the collection to the provided StringBuilder.
+     * Appends the key-value pairs of each Cargo in the carrier to the provided StringBuilder.
      * The values are joined into a single string using the join method, and the key-value pair
      * is formatted as "key=value". Pairs are separated by commas.
      *
-     * @param cargos  the collection of Cargo objects to be added
+     * @param carrier the carrier of the Cargo objects to be added
      * @param builder the StringBuilder to which the key-value pairs will be appended
      * @return the value with the appended key-value pairs
      */
-    private String appendCargo(Collection<Cargo> cargos, StringBuilder builder) {
-        for (Cargo cargo : cargos) {
-            append(builder, CHAR_COMMA, cargo.getKey(), join(cargo.getValues()), true);
-        }
+    private String appendCargo(Carrier carrier, StringBuilder builder) {
+        carrier.cargos(cargo -> append(builder, CHAR_COMMA, cargo.getKey(), join(cargo.getValues()), true));
         return builder.toString();
     }
 
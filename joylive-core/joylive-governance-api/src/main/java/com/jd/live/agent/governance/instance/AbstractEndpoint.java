@@ -41,6 +41,24 @@ public abstract class AbstractEndpoint extends AbstractAttributes implements End
 
     private Double weightRatio;
 
+    public AbstractEndpoint() {
+    }
+
+    /**
+     * Creates an endpoint whose labels are taken from the cached snapshot of its provider.
+     *
+     * @param labels the label snapshot
+     */
+    public AbstractEndpoint(EndpointLabels labels) {
+        if (labels != null) {
+            this.liveSpaceId = labels.getLiveSpaceId();
+            this.unit = labels.getUnit();
+            this.cell = labels.getCell();
+            this.laneSpaceId = labels.getLaneSpaceId();
+            this.lane = labels.getLane();
+        }
+    }
+
     @Override
     public String getLiveSpaceId() {
         if (liveSpaceId == null) {
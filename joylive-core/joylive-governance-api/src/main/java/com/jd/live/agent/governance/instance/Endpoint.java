@@ -25,6 +25,7 @@ import com.jd.live.agent.governance.request.ServiceRequest;
 import com.jd.live.agent.governance.rule.tag.TagCondition;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.jd.live.agent.core.util.StringUtils.isEqualsOrEmpty;
@@ -187,6 +188,15 @@ public interface Endpoint extends Matcher<TagCondition>, Attributes {
         return Converts.getInteger(getLabel(Constants.LABEL_WEIGHT), DEFAULT_WEIGHT);
     }
 
+    /**
+     * Gets the origin weight registered for the endpoint, which does not depend on any request.
+     *
+     * @return the origin weight, or the default value if not specified
+     */
+    default Integer getOriginWeight() {
+        return Converts.getInteger(getLabel(Constants.LABEL_WEIGHT), DEFAULT_WEIGHT);
+    }
+
     /**
      * Gets the live space ID associated with this endpoint.
      *
@@ -431,6 +441,15 @@ public interface Endpoint extends Matcher<TagCondition>, Attributes {
      */
     String getLabel(String key);
 
+    /**
+     * Gets all the labels of the endpoint.
+     *
+     * @return the labels, or null if they are not available.
+     */
+    default Map<String, String> getLabels() {
+        return null;
+    }
+
     /**
      * Gets a list of label values based on the specified key.
      *
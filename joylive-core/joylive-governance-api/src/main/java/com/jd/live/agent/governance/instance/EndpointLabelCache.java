@@ -0,0 +1,84 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.instance;
+
+import com.jd.live.agent.core.util.cache.WeakCache;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A cache of the label snapshots of providers, keyed by provider identity.
+ * <p>
+ * It is read on every invocation for every provider, and is shared by all the interceptors that wrap the same
+ * providers into endpoints. The providers are held weakly, so the snapshots of the providers that are no longer
+ * referenced by the framework are released with them, and no liveness check or capacity is needed.
+ * </p>
+ *
+ * @param <T> the type of the provider
+ */
+public class EndpointLabelCache<T> {
+
+    private final WeakCache<T, EndpointLabels> labels = new WeakCache<>();
+
+    /**
+     * Creates an endpoint for the provider, reusing the label snapshot of the provider when it is cached.
+     *
+     * @param provider the provider
+     * @param creator  the function to create an endpoint without labels
+     * @param factory  the function to create an endpoint with the cached labels
+     * @param <E>      the type of the endpoint
+     * @return the endpoint
+     */
+    public <E extends Endpoint> E get(T provider, Function<T, E> creator, BiFunction<T, EndpointLabels, E> factory) {
+        EndpointLabels snapshot = labels.get(provider);
+        if (snapshot != null) {
+            return factory.apply(provider, snapshot);
+        }
+        E endpoint = creator.apply(provider);
+        put(provider, EndpointLabels.of(endpoint));
+        return endpoint;
+    }
+
+    /**
+     * Caches the label snapshot of the provider.
+     *
+     * @param provider the provider
+     * @param snapshot the label snapshot
+     */
+    public void put(T provider, EndpointLabels snapshot) {
+        labels.put(provider, snapshot);
+    }
+
+    /**
+     * Returns the cached label snapshot of the provider.
+     *
+     * @param provider the provider
+     * @return the label snapshot, or {@code null} if it is not cached
+     */
+    public EndpointLabels get(T provider) {
+        return labels.get(provider);
+    }
+
+    /**
+     * Returns the number of the cached providers.
+     *
+     * @return the number of the cached providers
+     */
+    public int size() {
+        return labels.size();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.instance;
+
+import lombok.Getter;
+
+/**
+ * An immutable snapshot of the routing labels of an endpoint.
+ * <p>
+ * Endpoints are request level, but their labels only depend on the underlying provider. The snapshot is
+ * taken once per provider and shared by the endpoints created for it, see {@link EndpointLabelCache}.
+ * </p>
+ */
+@Getter
+public class EndpointLabels {
+
+    private final String liveSpaceId;
+
+    private final String unit;
+
+    private final String cell;
+
+    private final String laneSpaceId;
+
+    private final String lane;
+
+    public EndpointLabels(String liveSpaceId, String unit, String cell, String laneSpaceId, String lane) {
+        this.liveSpaceId = liveSpaceId;
+        this.unit = unit;
+        this.cell = cell;
+        this.laneSpaceId = laneSpaceId;
+        this.lane = lane;
+    }
+
+    /**
+     * Takes the snapshot of the labels of the endpoint.
+     *
+     * @param endpoint the endpoint
+     * @return the snapshot
+     */
+    public static EndpointLabels of(Endpoint endpoint) {
+        return new EndpointLabels(endpoint.getLiveSpaceId(), endpoint.getUnit(), endpoint.getCell(),
+                endpoint.getLaneSpaceId(), endpoint.getLane());
+    }
+}
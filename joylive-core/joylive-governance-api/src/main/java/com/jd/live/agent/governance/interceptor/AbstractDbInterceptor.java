@@ -17,14 +17,19 @@ package com.jd.live.agent.governance.interceptor;
 
 import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
 import com.jd.live.agent.core.plugin.definition.InterceptorAdaptor;
+import com.jd.live.agent.core.util.cache.WeakCache;
 import com.jd.live.agent.governance.policy.AccessMode;
 import com.jd.live.agent.governance.policy.GovernancePolicy;
 import com.jd.live.agent.governance.policy.PolicySupplier;
 import com.jd.live.agent.governance.policy.db.DatabaseCluster;
 import com.jd.live.agent.governance.policy.db.DatabasePolicy;
 import com.jd.live.agent.governance.request.DbRequest;
+import com.jd.live.agent.governance.request.DbRequest.SQLRequest;
 
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AbstractDbInterceptor is an abstract class that provides a base implementation for
@@ -39,6 +44,26 @@ public abstract class AbstractDbInterceptor extends InterceptorAdaptor {
      */
     protected final PolicySupplier policySupplier;
 
+    /**
+     * The maximum number of cached SQL text decisions.
+     */
+    private static final int MAX_DECISIONS = 4096;
+
+    /**
+     * The cached decisions keyed by the SQL text of requests whose statement is a string.
+     */
+    private final Map<String, SqlDecision> sqlDecisions = new ConcurrentHashMap<>();
+
+    /**
+     * The cached decisions keyed by the parsed statements such as queries, which are held weakly.
+     */
+    private final WeakCache<Object, SqlDecision> decisions = new WeakCache<>();
+
+    /**
+     * The cached access modes keyed by the connections of requests, which are held weakly.
+     */
+    private final WeakCache<Object, AccessDecision> accessModes = new WeakCache<>();
+
     /**
      * Constructs a new AbstractDbInterceptor with the specified policy supplier.
      *
@@ -52,34 +77,201 @@ public abstract class AbstractDbInterceptor extends InterceptorAdaptor {
      * Protects the database operation by checking the access policy for the given request.
      * If the policy does not allow the operation, an exception is thrown and the interceptor
      * chain is skipped.
+     * <p>
+     * The decisions of SQL requests are cached by their SQL text or weakly by their parsed statements, and the access
+     * modes of other requests are cached weakly by their connections. Both are evaluated again when the governance
+     * policy or the target database changes.
+     * </p>
      *
      * @param context the MethodContext in which the database operation is being performed
      * @param request the DbRequest representing the database operation to be protected
      */
     protected void protect(MethodContext context, DbRequest request) {
+        SQLException exception = checkAccess(request);
+        if (exception != null) {
+            // If not allowed, set an exception and skip the rest of the interceptor chain
+            context.setThrowable(exception);
+            context.setSkip(true);
+        }
+    }
+
+    /**
+     * Checks the access policy for the given request without touching the method context.
+     *
+     * @param request the DbRequest representing the database operation to be checked
+     * @return the exception describing the denial, or {@code null} if the operation is allowed
+     */
+    protected SQLException checkAccess(DbRequest request) {
         GovernancePolicy policy = policySupplier.getPolicy();
         if (policy != null) {
-            DatabaseCluster cluster;
             String name = request.getName();
-            // Determine the database cluster based on the request name, host, and port
-            if (name != null && !name.isEmpty()) {
-                cluster = policy.getDbCluster(name);
+            boolean denied;
+            if (request instanceof SQLRequest) {
+                denied = isDenied((SQLRequest) request, policy, name);
             } else {
-                cluster = policy.getDbCluster(request.getHost(), request.getPort());
+                AccessMode accessMode = getAccessMode(request, policy, name, request.getHost(), request.getPort());
+                denied = accessMode != null && isDenied(accessMode, request);
             }
-            if (cluster != null) {
-                // Retrieve the database policy and determine the access mode
-                DatabasePolicy dbPolicy = cluster.getPolicy(request.getName());
-                AccessMode accessMode = dbPolicy == null ? AccessMode.READ_WRITE : dbPolicy.getAccessMode();
-                // Check if the operation is allowed based on the access mode
-                if (!accessMode.isReadable() || !accessMode.isWriteable() && request.isWrite()) {
-                    // If not allowed, set an exception and skip the rest of the interceptor chain
-                    context.setThrowable(new SQLException("Database is not accessible, name=" + name + ", host=" +
-                            request.getHost() + ", port=" + request.getPort() + ", database=" + request.getDatabase()));
-                    context.setSkip(true);
+            if (denied) {
+                return new SQLException("Database is not accessible, name=" + name + ", host=" +
+                        request.getHost() + ", port=" + request.getPort() + ", database=" + request.getDatabase());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Determines if the SQL request is denied, reusing the cached decision of its statement when possible.
+     *
+     * @param request the SQL request
+     * @param policy  the current governance policy
+     * @param name    the name of the database cluster
+     * @return true if the request is denied
+     */
+    private boolean isDenied(SQLRequest request, GovernancePolicy policy, String name) {
+        Object key = request.getStatement();
+        String host = request.getHost();
+        int port = request.getPort();
+        SqlDecision decision = getDecision(key);
+        if (decision == null || !decision.match(policy, name, host, port)) {
+            AccessMode accessMode = getAccessMode(request, policy, name, host, port);
+            // the classification depends only on the statement
+            Boolean write = decision == null ? null : decision.write;
+            boolean denied = false;
+            if (accessMode != null) {
+                if (!accessMode.isReadable()) {
+                    denied = true;
+                } else if (!accessMode.isWriteable()) {
+                    if (write == null) {
+                        write = request.isWrite();
+                    }
+                    denied = write;
                 }
             }
+            decision = new SqlDecision(policy, name, host, port, accessMode, write, denied);
+            putDecision(key, decision);
         }
+        return decision.denied;
     }
-}
 
+    private SqlDecision getDecision(Object key) {
+        if (key == null) {
+            return null;
+        } else if (key instanceof String) {
+            return sqlDecisions.get(key);
+        }
+        return decisions.get(key);
+    }
+
+    private void putDecision(Object key, SqlDecision decision) {
+        if (key == null) {
+            return;
+        } else if (key instanceof String) {
+            if (sqlDecisions.size() >= MAX_DECISIONS) {
+                sqlDecisions.clear();
+            }
+            sqlDecisions.put((String) key, decision);
+        } else {
+            decisions.put(key, decision);
+        }
+    }
+
+    /**
+     * Retrieves the access mode of the database cluster, reusing the cached access mode of the connection when possible.
+     *
+     * @param request the request
+     * @param policy  the current governance policy
+     * @param name    the name of the database cluster
+     * @param host    the host of the database
+     * @param port    the port of the database
+     * @return the access mode, or {@code null} if the database cluster is not governed
+     */
+    private AccessMode getAccessMode(DbRequest request, GovernancePolicy policy, String name, String host, int port) {
+        Object key = request.getConnection();
+        if (key == null) {
+            return getAccessMode(policy, name, host, port);
+        }
+        AccessDecision decision = accessModes.get(key);
+        if (decision == null || !decision.match(policy, name, host, port)) {
+            decision = new AccessDecision(policy, name, host, port, getAccessMode(policy, name, host, port));
+            accessModes.put(key, decision);
+        }
+        return decision.accessMode;
+    }
+
+    /**
+     * Retrieves the access mode of the database cluster.
+     *
+     * @param policy the current governance policy
+     * @param name   the name of the database cluster
+     * @param host   the host of the database
+     * @param port   the port of the database
+     * @return the access mode, or {@code null} if the database cluster is not governed
+     */
+    private AccessMode getAccessMode(GovernancePolicy policy, String name, String host, int port) {
+        // Determine the database cluster based on the request name, host, and port
+        DatabaseCluster cluster = name != null && !name.isEmpty()
+                ? policy.getDbCluster(name)
+                : policy.getDbCluster(host, port);
+        if (cluster == null) {
+            return null;
+        }
+        // Retrieve the database policy and determine the access mode
+        DatabasePolicy dbPolicy = cluster.getPolicy(name);
+        return dbPolicy == null ? AccessMode.READ_WRITE : dbPolicy.getAccessMode();
+    }
+
+    private static boolean isDenied(AccessMode accessMode, DbRequest request) {
+        return !accessMode.isReadable() || !accessMode.isWriteable() && request.isWrite();
+    }
+
+    /**
+     * The cached access mode of a database.
+     */
+    private static class AccessDecision {
+
+        protected final GovernancePolicy policy;
+
+        protected final String name;
+
+        protected final String host;
+
+        protected final int port;
+
+        protected final AccessMode accessMode;
+
+        AccessDecision(GovernancePolicy policy, String name, String host, int port, AccessMode accessMode) {
+            this.policy = policy;
+            this.name = name;
+            this.host = host;
+            this.port = port;
+            this.accessMode = accessMode;
+        }
+
+        /**
+         * Checks if the decision was made with the same policy for the same database.
+         */
+        boolean match(GovernancePolicy policy, String name, String host, int port) {
+            return this.policy == policy
+                    && this.port == port
+                    && Objects.equals(this.host, host)
+                    && Objects.equals(this.name, name);
+        }
+    }
+
+    /**
+     * The cached decision of a SQL statement.
+     */
+    private static class SqlDecision extends AccessDecision {
+
+        private final Boolean write;
+
+        private final boolean denied;
+
+        SqlDecision(GovernancePolicy policy, String name, String host, int port, AccessMode accessMode, Boolean write, boolean denied) {
+            super(policy, name, host, port, accessMode);
+            this.write = write;
+            this.denied = denied;
+        }
+    }
+}
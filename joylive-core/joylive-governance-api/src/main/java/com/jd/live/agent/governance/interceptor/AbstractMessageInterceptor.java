@@ -29,6 +29,9 @@ import com.jd.live.agent.governance.policy.live.*;
 import com.jd.live.agent.governance.policy.variable.UnitFunction;
 import com.jd.live.agent.governance.request.Message;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * AbstractMessageInterceptor
  */
@@ -42,6 +45,8 @@ public abstract class AbstractMessageInterceptor extends InterceptorAdaptor {
 
     protected final GovernanceConfig governanceConfig;
 
+    private final Map<String, ConsumeReady> consumeReadies = new ConcurrentHashMap<>();
+
     public AbstractMessageInterceptor(InvocationContext context) {
         this.context = context;
         this.location = context.getLocation();
@@ -59,10 +64,30 @@ public abstract class AbstractMessageInterceptor extends InterceptorAdaptor {
         if (!context.isGovernReady()) {
             return false;
         }
+        GovernancePolicy policy = policySupplier.getPolicy();
+        if (topic == null) {
+            return isConsumeReady(topic, policy);
+        }
+        // the decision only changes with the policy, which is replaced as a whole on update.
+        ConsumeReady ready = consumeReadies.get(topic);
+        if (ready == null || ready.policy != policy) {
+            ready = new ConsumeReady(policy, isConsumeReady(topic, policy));
+            consumeReadies.put(topic, ready);
+        }
+        return ready.ready;
+    }
+
+    /**
+     * Determines if the given topic is ready to be consumed with the given policy.
+     *
+     * @param topic  the topic name to check
+     * @param policy the governance policy
+     * @return {@code true} if the topic is ready to be consumed, {@code false} otherwise
+     */
+    private boolean isConsumeReady(String topic, GovernancePolicy policy) {
         if (!isEnabled(topic)) {
             return true;
         }
-        GovernancePolicy policy = policySupplier.getPolicy();
         LiveSpace liveSpace = policy == null ? null : policy.getLocalLiveSpace();
         Unit local = liveSpace == null ? null : liveSpace.getLocalUnit();
         return local == null || local.getAccessMode().isWriteable();
@@ -259,6 +284,21 @@ public abstract class AbstractMessageInterceptor extends InterceptorAdaptor {
         return message.getLane();
     }
 
+    /**
+     * The consume-ready decision of a topic with the policy it was made from.
+     */
+    private static class ConsumeReady {
+
+        private final GovernancePolicy policy;
+
+        private final boolean ready;
+
+        ConsumeReady(GovernancePolicy policy, boolean ready) {
+            this.policy = policy;
+            this.ready = ready;
+        }
+    }
+
     /**
      * Enum representing possible actions to take on a message.
      */
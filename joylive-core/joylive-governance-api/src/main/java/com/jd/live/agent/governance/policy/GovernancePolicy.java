@@ -72,7 +72,12 @@ public class GovernancePolicy {
     @Getter
     private transient Service localService;
 
-    private final transient UnsafeLazyObject<LaneSpace> defaultLaneSpaceCache = new UnsafeLazyObject<>(() -> {
+    /**
+     * The policy this one is copied from, used to share the caches of the unchanged parts until {@link #cache()}.
+     */
+    private transient GovernancePolicy base;
+
+    private transient UnsafeLazyObject<LaneSpace> defaultLaneSpaceCache = new UnsafeLazyObject<>(() -> {
         if (laneSpaces != null) {
             for (LaneSpace laneSpace : laneSpaces) {
                 if (laneSpace.isDefaultSpace()) {
@@ -83,15 +88,15 @@ public class GovernancePolicy {
         return null;
     });
 
-    private final transient Cache<String, DatabaseCluster> dbAddressCache = new MapCache<>(new ListBuilder<>(() -> dbClusters, DatabaseCluster::getAddress));
+    private transient Cache<String, DatabaseCluster> dbAddressCache = new MapCache<>(new ListBuilder<>(() -> dbClusters, DatabaseCluster::getAddress));
 
-    private final transient Cache<String, DatabaseCluster> dbNameCache = new MapCache<>(new ListBuilder<>(() -> dbClusters, DatabaseCluster::getName));
+    private transient Cache<String, DatabaseCluster> dbNameCache = new MapCache<>(new ListBuilder<>(() -> dbClusters, DatabaseCluster::getName));
 
-    private final transient Cache<String, LiveSpace> liveSpaceCache = new MapCache<>(new ListBuilder<>(() -> liveSpaces, LiveSpace::getId));
+    private transient Cache<String, LiveSpace> liveSpaceCache = new MapCache<>(new ListBuilder<>(() -> liveSpaces, LiveSpace::getId));
 
-    private final transient Cache<String, LaneSpace> laneSpaceCache = new MapCache<>(new ListBuilder<>(() -> laneSpaces, LaneSpace::getId));
+    private transient Cache<String, LaneSpace> laneSpaceCache = new MapCache<>(new ListBuilder<>(() -> laneSpaces, LaneSpace::getId));
 
-    private final transient Cache<String, Domain> domainCache = new MapCache<>(() -> {
+    private transient Cache<String, Domain> domainCache = new MapCache<>(() -> {
         Map<String, Domain> laneDomains = new HashMap<>();
         if (laneSpaces != null) {
             for (LaneSpace laneSpace : laneSpaces) {
@@ -135,7 +140,7 @@ public class GovernancePolicy {
         return result;
     });
 
-    private final transient Cache<String, Service> serviceCache = new MapCache<>(new ListBuilder<>(() -> services, Service::getName));
+    private transient Cache<String, Service> serviceCache = new MapCache<>(new ListBuilder<>(() -> services, Service::getName));
 
     /**
      * Default constructor for GovernancePolicy.
@@ -274,6 +279,29 @@ public class GovernancePolicy {
      * </p>
      */
     public void cache() {
+        GovernancePolicy base = this.base;
+        this.base = null;
+        boolean liveShared = base != null && base.liveSpaces == liveSpaces;
+        boolean laneShared = base != null && base.laneSpaces == laneSpaces;
+        boolean dbShared = base != null && base.dbClusters == dbClusters;
+        if (liveShared) {
+            liveSpaceCache = base.liveSpaceCache;
+        }
+        if (laneShared) {
+            laneSpaceCache = base.laneSpaceCache;
+            defaultLaneSpaceCache = base.defaultLaneSpaceCache;
+        }
+        if (liveShared && laneShared) {
+            domainCache = base.domainCache;
+        }
+        if (dbShared) {
+            dbAddressCache = base.dbAddressCache;
+            dbNameCache = base.dbNameCache;
+        }
+        if (base != null && base.services == services) {
+            serviceCache = base.serviceCache;
+        }
+
         getLiveSpace("");
         getLaneSpace("");
         getDomain("");
@@ -282,22 +310,26 @@ public class GovernancePolicy {
         getDbCluster("", 0);
         getDefaultLaneSpace();
 
-        if (liveSpaces != null) {
+        if (liveSpaces != null && !liveShared) {
             liveSpaces.forEach(LiveSpace::cache);
         }
-        if (laneSpaces != null) {
+        if (laneSpaces != null && !laneShared) {
             laneSpaces.forEach(LaneSpace::cache);
         }
         if (services != null) {
+            // services are copied on write, the unchanged ones are already cached.
             services.forEach(Service::cache);
         }
-        if (dbClusters != null) {
+        if (dbClusters != null && !dbShared) {
             dbClusters.forEach(DatabaseCluster::cache);
         }
     }
 
     /**
      * Updates services, using the specified policy merger and owner.
+     * <p>
+     * The services of the current policy are never modified. A changed service is applied to a copy, and the
+     * unchanged services are shared with the result together with their caches.
      *
      * @param updates The list of services to update the current services with.
      * @param deletes The list of services to be deleted.
@@ -318,15 +350,19 @@ public class GovernancePolicy {
                     if (deletes == null || !deletes.contains(old.getName())) {
                         result.add(old);
                     } else {
-                        // Delete
-                        if (ServiceOp.onDelete(old, merger, owner)) {
-                            result.add(old);
+                        // Delete, the old service is shared by the current policy.
+                        Service target = old.copy();
+                        if (ServiceOp.onDelete(target, merger, owner)) {
+                            result.add(target);
                         }
                     }
-                } else if (old.getVersion() != update.getVersion()) {
-                    // Update
-                    ServiceOp.onUpdate(old, update, merger, owner);
-                    result.add(old);
+                } else if (old.getVersion() != update.getVersion()
+                        || owner != null && !old.getOwners().hasOwner(owner)) {
+                    // Update, the old service is shared by the current policy.
+                    // The same version is also applied to add the owner, such as a service restored from the snapshot.
+                    Service target = old.copy();
+                    ServiceOp.onUpdate(target, update, merger, owner);
+                    result.add(target);
                 } else {
                     // No change
                     result.add(old);
@@ -370,18 +406,19 @@ public class GovernancePolicy {
     /**
      * Creates a copy of this {@link GovernancePolicy} instance.
      * <p>
-     * This method is used for synchronization purposes, where the caches are not copied as they are considered transient.
+     * This method is used for synchronization purposes. The caches are not copied, but {@link #cache()} reuses the
+     * caches of this policy for the lists that are not replaced in the copy.
      * </p>
      *
      * @return A shallow copy of this {@link GovernancePolicy} instance.
      */
     public GovernancePolicy copy() {
-        // used in synchronization，cache is useless.
         GovernancePolicy result = new GovernancePolicy();
         result.liveSpaces = liveSpaces;
         result.laneSpaces = laneSpaces;
         result.services = services;
         result.dbClusters = dbClusters;
+        result.base = this;
         return result;
     }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@
  */
 package com.jd.live.agent.governance.policy;
 
+import com.jd.live.agent.core.config.AgentPath;
 import com.jd.live.agent.core.event.AgentEvent;
 import com.jd.live.agent.core.event.AgentEvent.EventType;
 import com.jd.live.agent.core.event.Event;
@@ -34,6 +35,7 @@ import com.jd.live.agent.core.service.ServiceSupervisorAware;
 import com.jd.live.agent.core.util.Futures;
 import com.jd.live.agent.core.util.time.Timer;
 import com.jd.live.agent.governance.config.*;
+import com.jd.live.agent.governance.context.RequestContext;
 import com.jd.live.agent.governance.context.bag.AutoDetect;
 import com.jd.live.agent.governance.context.bag.Propagation;
 import com.jd.live.agent.governance.context.bag.Propagation.AutoPropagation;
@@ -60,6 +62,7 @@ import com.jd.live.agent.governance.subscription.policy.listener.LiveSpaceListen
 import com.jd.live.agent.governance.subscription.policy.listener.ServiceListener;
 import lombok.Getter;
 
+import java.io.File;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -100,6 +103,12 @@ public class PolicyManager implements PolicySupervisor, InjectSourceSupplier, Ex
     @Inject(ObjectParser.JSON)
     private ObjectParser objectParser;
 
+    @Inject(value = ObjectParser.SNAPSHOT, nullable = true)
+    private ObjectParser snapshotParser;
+
+    @Inject(AgentPath.COMPONENT_AGENT_PATH)
+    private AgentPath agentPath;
+
     @Getter
     @Config(GovernanceConfig.CONFIG_LIVE_ENABLED)
     private boolean liveEnabled;
@@ -184,6 +193,12 @@ public class PolicyManager implements PolicySupervisor, InjectSourceSupplier, Ex
 
     private final AtomicBoolean warmup = new AtomicBoolean(false);
 
+    private PolicySnapshot snapshot;
+
+    private Set<String> snapshotServices = Collections.emptySet();
+
+    private final AtomicBoolean snapshotting = new AtomicBoolean(false);
+
     @Override
     public PolicySupplier getPolicySupplier() {
         return this;
@@ -227,7 +242,11 @@ public class PolicyManager implements PolicySupervisor, InjectSourceSupplier, Ex
             update.locate(application);
         }
         // live policy is updated by a few services.
-        return policy.compareAndSet(expect, update);
+        if (policy.compareAndSet(expect, update)) {
+            saveSnapshot();
+            return true;
+        }
+        return false;
     }
 
     @Override
@@ -295,6 +314,7 @@ public class PolicyManager implements PolicySupervisor, InjectSourceSupplier, Ex
     public void initialize() {
         governanceConfig = governanceConfig == null ? new GovernanceConfig() : governanceConfig;
         governanceConfig.initialize(application);
+        RequestContext.setInheritable(governanceConfig.getTransmitConfig().getThreadConfig().isInheritable());
         counterManager = new CounterManager(timer);
         propagation = buildPropagation();
         systemPublisher.addHandler(events -> {
@@ -310,6 +330,7 @@ public class PolicyManager implements PolicySupervisor, InjectSourceSupplier, Ex
         policyWatcherSupervisor.addListener(TYPE_LIVE_SPACE, new LiveSpaceListener(this, objectParser));
         policyWatcherSupervisor.addListener(TYPE_LANE_SPACE, new LaneSpaceListener(this, objectParser));
         policyWatcherSupervisor.addListener(TYPE_SERVICE_SPACE, new ServiceListener(this, objectParser, policyPublisher));
+        loadSnapshot();
     }
 
     @Override
@@ -397,14 +418,75 @@ public class PolicyManager implements PolicySupervisor, InjectSourceSupplier, Ex
         }
     }
 
+    /**
+     * Loads the last applied policy from the local snapshot, before the policies are synchronized.
+     */
+    private void loadSnapshot() {
+        SnapshotConfig config = governanceConfig.getSnapshotConfig();
+        File dir = getSnapshotDir();
+        if (config == null || !config.isEnabled() || dir == null || config.getFile() == null || config.getFile().isEmpty()) {
+            return;
+        }
+        snapshot = new PolicySnapshot(new File(dir, config.getFile()),
+                snapshotParser == null ? objectParser : snapshotParser, config.getMaxAge());
+        GovernancePolicy last = snapshot.load();
+        if (last != null) {
+            last.cache();
+            last.locate(application);
+            if (policy.compareAndSet(null, last)) {
+                Set<String> names = new HashSet<>();
+                if (last.getServices() != null) {
+                    last.getServices().forEach(o -> names.add(o.getName()));
+                }
+                snapshotServices = names;
+            }
+        }
+    }
+
+    /**
+     * Returns the snapshot directory of the application, which is named by the application and its namespace,
+     * so the applications sharing the agent never load the policy of each other.
+     *
+     * @return the snapshot directory, or {@code null} if the application is unknown.
+     */
+    private File getSnapshotDir() {
+        File dir = agentPath == null ? null : agentPath.getOutputPath();
+        String name = application == null ? null : application.getName();
+        if (dir == null || name == null || name.isEmpty()) {
+            return null;
+        }
+        AppService service = application.getService();
+        String namespace = service == null ? null : service.getNamespace();
+        String key = namespace == null || namespace.isEmpty() ? name : name + "@" + namespace;
+        return new File(new File(dir, "snapshot"), key.replaceAll("[^a-zA-Z0-9._@-]", "_"));
+    }
+
+    /**
+     * Schedules writing the current policy to the local snapshot. The updates in the delay are written once.
+     */
+    private void saveSnapshot() {
+        if (snapshot != null && snapshotting.compareAndSet(false, true)) {
+            timer.delay("save-policy-snapshot", governanceConfig.getSnapshotConfig().getDelay(), () -> {
+                snapshotting.set(false);
+                snapshot.save(policy.get());
+            });
+        }
+    }
+
     /**
      * Subscribes a {@link PolicySubscription} to the policy publisher.
+     * <p>
+     * The subscription of a service loaded from the local snapshot is completed at once, and it is synchronized
+     * in the background.
      *
      * @param subscriber The {@link PolicySubscription} to be subscribed.
      */
     protected void subscribe(PolicySubscription subscriber) {
         PolicySubscription exist = subscriptions.putIfAbsent(subscriber.getName(), subscriber);
         if (exist == null) {
+            if (snapshotServices.contains(subscriber.getName())) {
+                subscriber.complete();
+            }
             policyPublisher.offer(subscriber);
         } else {
             exist.trigger(subscriber.getFuture());
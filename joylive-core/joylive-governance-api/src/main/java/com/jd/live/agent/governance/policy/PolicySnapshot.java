@@ -0,0 +1,277 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.policy;
+
+import com.jd.live.agent.bootstrap.logger.Logger;
+import com.jd.live.agent.bootstrap.logger.LoggerFactory;
+import com.jd.live.agent.core.parser.ObjectParser;
+import com.jd.live.agent.governance.policy.db.DatabaseCluster;
+import com.jd.live.agent.governance.policy.lane.LaneSpace;
+import com.jd.live.agent.governance.policy.live.LiveSpace;
+import com.jd.live.agent.governance.policy.service.Service;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A local snapshot of the last applied {@link GovernancePolicy}, which is loaded on startup so that the application
+ * can be governed before the policies are synchronized.
+ * <p>
+ * The file starts with a fixed header holding the magic number, the format version, the creation time, the length
+ * and the CRC32 checksum of the payload, followed by the gzip compressed policy. It is written to a temporary file
+ * and renamed, so a reader never sees a partial snapshot, and it is memory-mapped when loaded. A snapshot older
+ * than the max age is rejected, because the policy may have been changed a lot since it was written.
+ */
+public class PolicySnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicySnapshot.class);
+
+    protected static final int MAGIC = 0x4A4C5053;
+
+    protected static final short VERSION = 1;
+
+    protected static final int HEADER_SIZE = 4 + 2 + 8 + 4 + 4;
+
+    @Getter
+    private final File file;
+
+    private final ObjectParser parser;
+
+    private final long maxAge;
+
+    /**
+     * Constructs a new PolicySnapshot.
+     *
+     * @param file   the snapshot file.
+     * @param parser the parser to encode the policy.
+     * @param maxAge the max age of the snapshot in milliseconds, zero or negative means no limit.
+     */
+    public PolicySnapshot(File file, ObjectParser parser, long maxAge) {
+        this.file = file;
+        this.parser = parser;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Loads the policy from the snapshot file.
+     *
+     * @return the policy, or {@code null} if the file does not exist, is not a valid snapshot or is expired.
+     */
+    public GovernancePolicy load() {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            GovernancePolicy result = read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            logger.info("Success loading policy snapshot " + file.getPath());
+            return result;
+        } catch (Throwable e) {
+            logger.warn("Failed to load policy snapshot " + file.getPath() + ", caused by " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the policy to the snapshot file.
+     *
+     * @param policy the policy to write.
+     * @return {@code true} if the snapshot is written, {@code false} otherwise.
+     */
+    public synchronized boolean save(GovernancePolicy policy) {
+        if (policy == null) {
+            return false;
+        }
+        File temp = null;
+        try {
+            byte[] data = write(policy);
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (!parent.exists() && !parent.mkdirs() && !parent.exists()) {
+                throw new IOException("failed to create directory " + parent.getPath());
+            }
+            // the processes of the same application share the snapshot, each writes its own temporary file.
+            temp = Files.createTempFile(parent.toPath(), file.getName(), ".tmp").toFile();
+            try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (Throwable e) {
+            logger.warn("Failed to save policy snapshot " + file.getPath() + ", caused by " + e.getMessage());
+            if (temp != null) {
+                temp.delete();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Reads the policy from the snapshot data.
+     *
+     * @param buffer the snapshot data.
+     * @return the policy.
+     * @throws IOException if the data is not a valid snapshot or is expired.
+     */
+    protected GovernancePolicy read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("it's not a policy snapshot");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("unsupported snapshot version " + version);
+        }
+        long createTime = buffer.getLong();
+        if (maxAge > 0 && System.currentTimeMillis() - createTime > maxAge) {
+            throw new IOException("the snapshot is expired, it was created at " + createTime);
+        }
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length != buffer.remaining()) {
+            throw new IOException("the snapshot is truncated");
+        }
+        ByteBuffer payload = buffer.slice();
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload.duplicate());
+        if ((int) crc32.getValue() != checksum) {
+            throw new IOException("the checksum of the snapshot is mismatched");
+        }
+        try (InputStream stream = new GZIPInputStream(new ByteBufferInputStream(payload))) {
+            Snapshot snapshot = parser.read(stream, Snapshot.class);
+            if (snapshot == null) {
+                throw new IOException("the snapshot is empty");
+            }
+            return snapshot.toPolicy();
+        }
+    }
+
+    /**
+     * Writes the policy to the snapshot data.
+     *
+     * @param policy the policy.
+     * @return the snapshot data.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected byte[] write(GovernancePolicy policy) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeShort(VERSION);
+        header.writeLong(System.currentTimeMillis());
+        // the length and checksum are filled after the payload is written.
+        header.writeInt(0);
+        header.writeInt(0);
+        header.flush();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8)) {
+            parser.write(writer, new Snapshot(policy));
+        }
+        byte[] data = out.toByteArray();
+        int length = data.length - HEADER_SIZE;
+        CRC32 crc32 = new CRC32();
+        crc32.update(data, HEADER_SIZE, length);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.putInt(HEADER_SIZE - 8, length);
+        buffer.putInt(HEADER_SIZE - 4, (int) crc32.getValue());
+        return data;
+    }
+
+    /**
+     * The persistent part of the {@link GovernancePolicy}.
+     */
+    @Getter
+    @Setter
+    public static class Snapshot {
+
+        private List<LiveSpace> liveSpaces;
+
+        private List<LaneSpace> laneSpaces;
+
+        private List<Service> services;
+
+        private List<DatabaseCluster> dbClusters;
+
+        public Snapshot() {
+        }
+
+        public Snapshot(GovernancePolicy policy) {
+            this.liveSpaces = policy.getLiveSpaces();
+            this.laneSpaces = policy.getLaneSpaces();
+            this.services = policy.getServices();
+            this.dbClusters = policy.getDbClusters();
+        }
+
+        public GovernancePolicy toPolicy() {
+            GovernancePolicy result = new GovernancePolicy();
+            result.setLiveSpaces(liveSpaces);
+            result.setLaneSpaces(laneSpaces);
+            result.setServices(services);
+            result.setDbClusters(dbClusters);
+            return result;
+        }
+    }
+
+    /**
+     * An input stream over the remaining bytes of a buffer, which reads the mapped file without copying it.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            } else if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
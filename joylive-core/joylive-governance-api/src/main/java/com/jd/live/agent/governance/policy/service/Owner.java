@@ -88,5 +88,15 @@ public class Owner {
         return owners != null && !owners.isEmpty();
     }
 
+    /**
+     * Checks whether the specified owner is in the set of owners.
+     *
+     * @param owner The owner to check.
+     * @return {@code true} if the owner is in the set of owners, {@code false} otherwise.
+     */
+    public boolean hasOwner(String owner) {
+        return owner != null && owners != null && owners.contains(owner);
+    }
+
 }
 
@@ -62,6 +62,8 @@ public class Service extends PolicyOwner implements ServiceName {
     @Getter
     private transient ServiceGroup defaultGroup;
 
+    private transient volatile boolean cached;
+
     private transient final Cache<String, ServiceGroup> groupCache = new MapCache<>(new ListBuilder<>(() -> groups, ServiceGroup::getName));
 
     public Service() {
@@ -177,13 +179,20 @@ public class Service extends PolicyOwner implements ServiceName {
 
     /**
      * Caches the service and its groups, ensuring they are up to date.
+     * <p>
+     * A service is not modified once it is cached, updates are applied to a {@link #copy()}, so a cached service
+     * that is shared by the next governance policy is not cached again.
      */
     public void cache() {
+        if (cached) {
+            return;
+        }
         supplement();
         if (groups != null) {
             groups.forEach(ServiceGroup::cache);
         }
         groupCache.get("");
+        cached = true;
     }
 
     /**
@@ -94,7 +94,7 @@ public class ServicePolicy extends PolicyId implements Cloneable, PolicyInheritW
     @Setter
     private List<FaultInjectionPolicy> faultInjectionPolicies;
 
-    private final transient Cache<String, LanePolicy> lanePolicyCache = new MapCache<>(new ListBuilder<>(() -> lanePolicies, LanePolicy::getLaneSpaceId));
+    private transient Cache<String, LanePolicy> lanePolicyCache = createLanePolicyCache();
 
     public ServicePolicy() {
     }
@@ -245,10 +245,17 @@ public class ServicePolicy extends PolicyId implements Cloneable, PolicyInheritW
     @Override
     public ServicePolicy clone() {
         try {
-            return (ServicePolicy) super.clone();
+            ServicePolicy result = (ServicePolicy) super.clone();
+            // the cache reads the lane policies of its owner, so the clone needs its own.
+            result.lanePolicyCache = result.createLanePolicyCache();
+            return result;
         } catch (CloneNotSupportedException e) {
             return null;
         }
     }
 
+    private Cache<String, LanePolicy> createLanePolicyCache() {
+        return new MapCache<>(new ListBuilder<>(() -> lanePolicies, LanePolicy::getLaneSpaceId));
+    }
+
 }
@@ -32,4 +32,9 @@ public class EndpointEvent {
     private List<? extends Endpoint> adds;
 
     private List<? extends Endpoint> removes;
+
+    /**
+     * The endpoints whose address is not changed, but whose attributes are changed.
+     */
+    private List<? extends Endpoint> updates;
 }
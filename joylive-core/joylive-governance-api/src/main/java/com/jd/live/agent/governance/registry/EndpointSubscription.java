@@ -0,0 +1,320 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.registry;
+
+import com.jd.live.agent.bootstrap.logger.Logger;
+import com.jd.live.agent.bootstrap.logger.LoggerFactory;
+import com.jd.live.agent.core.util.time.Timer;
+import com.jd.live.agent.governance.config.RegistryConfig;
+import com.jd.live.agent.governance.instance.Endpoint;
+import com.jd.live.agent.governance.instance.EndpointState;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A subscription to the endpoint events of a service.
+ * <p>
+ * The instance updates are coalesced, only the latest pending list is kept and it's applied on the timer
+ * after a quiet period or a max delay. The endpoints are diffed by their address and the attributes used
+ * by the routing, and no event is published if nothing is changed.
+ */
+class EndpointSubscription {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointSubscription.class);
+
+    /**
+     * The service that this subscription is for.
+     */
+    private final String service;
+
+    /**
+     * The configuration for the registry.
+     */
+    private final RegistryConfig registryConfig;
+
+    /**
+     * A timer used to apply the coalesced updates.
+     */
+    private final Timer timer;
+
+    /**
+     * The clock of the quiet period and the max delay.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The consumer that will receive endpoint events.
+     */
+    private final List<Consumer<EndpointEvent>> consumers = new CopyOnWriteArrayList<>();
+
+    /**
+     * The latest pending update.
+     */
+    private final AtomicReference<PendingUpdate> pending = new AtomicReference<>();
+
+    /**
+     * An atomic boolean indicating whether the pending update is scheduled.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /**
+     * The sequence of the updates.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * The time of the first update since the pending update was scheduled.
+     */
+    private volatile long firstTime;
+
+    /**
+     * The time of the last update.
+     */
+    private volatile long lastTime;
+
+    /**
+     * The sequence of the last applied update.
+     */
+    private long applied = -1;
+
+    /**
+     * A map of endpoint versions for the service, keyed by their addresses.
+     */
+    private volatile Map<String, EndpointVersion> endpoints;
+
+    EndpointSubscription(String service, RegistryConfig registryConfig, Timer timer) {
+        this(service, registryConfig, timer, System::currentTimeMillis);
+    }
+
+    EndpointSubscription(String service, RegistryConfig registryConfig, Timer timer, LongSupplier clock) {
+        this.service = service;
+        this.registryConfig = registryConfig;
+        this.timer = timer;
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a new consumer to the list of consumers that will receive endpoint events.
+     *
+     * @param consumer the consumer to add
+     */
+    public synchronized void addConsumer(Consumer<EndpointEvent> consumer) {
+        if (consumer != null && !consumers.contains(consumer)) {
+            consumers.add(consumer);
+        }
+    }
+
+    /**
+     * Checks if the endpoints of the service have been updated.
+     *
+     * @return true if an update is applied or pending, false otherwise
+     */
+    public boolean hasEndpoints() {
+        return endpoints != null || pending.get() != null;
+    }
+
+    /**
+     * Updates the endpoints for the service. The first update and the updates without delay
+     * are applied immediately, the others are coalesced.
+     *
+     * @param endpoints the new list of endpoints for the service
+     */
+    public void update(List<? extends Endpoint> endpoints) {
+        PendingUpdate update = new PendingUpdate(sequence.incrementAndGet(), endpoints);
+        long delay = registryConfig.getSubscribeDelay();
+        if (delay <= 0 || this.endpoints == null) {
+            apply(update);
+            return;
+        }
+        long now = clock.getAsLong();
+        lastTime = now;
+        pending.set(update);
+        if (scheduled.compareAndSet(false, true)) {
+            firstTime = now;
+            timer.delay("update-endpoints-" + service, delay, this::flush);
+        }
+    }
+
+    /**
+     * Applies the pending update if the quiet period or the max delay is reached, otherwise reschedules it.
+     */
+    private void flush() {
+        long now = clock.getAsLong();
+        long quiet = registryConfig.getSubscribeDelay() - (now - lastTime);
+        long remain = registryConfig.getSubscribeMaxDelay() - (now - firstTime);
+        long delay = Math.min(quiet, remain);
+        if (delay > 0) {
+            timer.delay("update-endpoints-" + service, delay, this::flush);
+            return;
+        }
+        scheduled.set(false);
+        PendingUpdate update = pending.getAndSet(null);
+        if (update != null) {
+            apply(update);
+        }
+    }
+
+    /**
+     * Applies the update and notifies the consumer of any changes.
+     *
+     * @param update the update to apply
+     */
+    private synchronized void apply(PendingUpdate update) {
+        if (update.sequence < applied) {
+            // a newer update was applied
+            return;
+        }
+        applied = update.sequence;
+        List<? extends Endpoint> endpoints = update.endpoints;
+        Map<String, EndpointVersion> oldEndpoints = this.endpoints;
+        Map<String, EndpointVersion> newEndpoints = new HashMap<>(endpoints == null ? 0 : endpoints.size() * 4 / 3 + 1);
+        List<Endpoint> adds = new ArrayList<>();
+        List<Endpoint> updates = new ArrayList<>();
+        List<Endpoint> removes = new ArrayList<>();
+        if (endpoints != null) {
+            for (Endpoint endpoint : endpoints) {
+                EndpointVersion version = new EndpointVersion(endpoint);
+                EndpointVersion old = oldEndpoints == null ? null : oldEndpoints.get(version.address);
+                if (old == null) {
+                    adds.add(endpoint);
+                } else if (!old.isSame(version)) {
+                    updates.add(endpoint);
+                }
+                newEndpoints.put(version.address, version);
+            }
+        }
+        if (oldEndpoints != null) {
+            oldEndpoints.forEach((k, v) -> {
+                if (!newEndpoints.containsKey(k)) {
+                    removes.add(v.endpoint);
+                }
+            });
+        }
+        boolean first = oldEndpoints == null;
+        this.endpoints = newEndpoints;
+        if (!first && adds.isEmpty() && updates.isEmpty() && removes.isEmpty()) {
+            return;
+        }
+        logger.info("Service instance is changed, service=" + service + ", adds=" + adds.size()
+                + ", updates=" + updates.size() + ", removes=" + removes.size());
+        EndpointEvent event = new EndpointEvent(service, endpoints, adds, removes, updates);
+        for (Consumer<EndpointEvent> consumer : consumers) {
+            consumer.accept(event);
+        }
+    }
+
+    /**
+     * A pending update of the endpoints.
+     */
+    private static class PendingUpdate {
+
+        private final long sequence;
+
+        private final List<? extends Endpoint> endpoints;
+
+        PendingUpdate(long sequence, List<? extends Endpoint> endpoints) {
+            this.sequence = sequence;
+            this.endpoints = endpoints;
+        }
+    }
+
+    /**
+     * The endpoint with the attributes used by the routing, which are compared field by field.
+     */
+    private static class EndpointVersion {
+
+        private final String address;
+
+        private final Endpoint endpoint;
+
+        private final EndpointState state;
+
+        private final Long timestamp;
+
+        private final Integer warmup;
+
+        private final Integer weight;
+
+        private final String liveSpaceId;
+
+        private final String unit;
+
+        private final String cell;
+
+        private final String cloud;
+
+        private final String region;
+
+        private final String zone;
+
+        private final String laneSpaceId;
+
+        private final String lane;
+
+        private final String group;
+
+        private final Map<String, String> labels;
+
+        EndpointVersion(Endpoint endpoint) {
+            this.address = endpoint.getAddress();
+            this.endpoint = endpoint;
+            this.state = endpoint.getState();
+            this.timestamp = endpoint.getTimestamp();
+            this.warmup = endpoint.getWarmup();
+            // the weight of some endpoints such as dubbo depends on the method of the request.
+            this.weight = endpoint.getOriginWeight();
+            this.liveSpaceId = endpoint.getLiveSpaceId();
+            this.unit = endpoint.getUnit();
+            this.cell = endpoint.getCell();
+            this.cloud = endpoint.getCloud();
+            this.region = endpoint.getRegion();
+            this.zone = endpoint.getZone();
+            this.laneSpaceId = endpoint.getLaneSpaceId();
+            this.lane = endpoint.getLane();
+            this.group = endpoint.getGroup();
+            this.labels = endpoint.getLabels();
+        }
+
+        /**
+         * Checks whether the other version has the same attributes as this one.
+         *
+         * @param other the other version of the endpoint
+         * @return true if all the attributes and labels are the same
+         */
+        boolean isSame(EndpointVersion other) {
+            return state == other.state
+                    && Objects.equals(timestamp, other.timestamp)
+                    && Objects.equals(warmup, other.warmup)
+                    && Objects.equals(weight, other.weight)
+                    && Objects.equals(liveSpaceId, other.liveSpaceId)
+                    && Objects.equals(unit, other.unit)
+                    && Objects.equals(cell, other.cell)
+                    && Objects.equals(cloud, other.cloud)
+                    && Objects.equals(region, other.region)
+                    && Objects.equals(zone, other.zone)
+                    && Objects.equals(laneSpaceId, other.laneSpaceId)
+                    && Objects.equals(lane, other.lane)
+                    && Objects.equals(group, other.group)
+                    && Objects.equals(labels, other.labels);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.registry;
+
+import com.jd.live.agent.core.event.Publisher;
+import com.jd.live.agent.core.util.time.Timer;
+import com.jd.live.agent.governance.config.RegistryConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.jd.live.agent.governance.registry.RegistryEvent.ofHeartbeat;
+
+/**
+ * Schedules the heartbeats of the registered service instances.
+ * <p>
+ * The instances are grouped by their registry type, and each group has only one pending timer task.
+ * If the registry declares the support of the batch heartbeat, the heartbeats of its group are sent as one event
+ * per interval, otherwise the heartbeats are sent per instance and spread evenly across the interval to avoid spikes.
+ */
+class HeartbeatScheduler {
+
+    private static final String DEFAULT_TYPE = "default";
+
+    private final Publisher<RegistryEvent> publisher;
+
+    private final RegistryConfig registryConfig;
+
+    private final Timer timer;
+
+    private final Map<String, HeartbeatGroup> groups = new ConcurrentHashMap<>();
+
+    HeartbeatScheduler(Publisher<RegistryEvent> publisher, RegistryConfig registryConfig, Timer timer) {
+        this.publisher = publisher;
+        this.registryConfig = registryConfig;
+        this.timer = timer;
+    }
+
+    /**
+     * Adds the instance to the heartbeat group of its registry.
+     *
+     * @param instance the registered instance
+     */
+    public void add(ServiceInstance instance) {
+        if (instance != null) {
+            groups.computeIfAbsent(getType(instance), HeartbeatGroup::new).add(instance);
+        }
+    }
+
+    /**
+     * Removes the instance from the heartbeat group of its registry.
+     *
+     * @param instance the unregistered instance
+     */
+    public void remove(ServiceInstance instance) {
+        if (instance != null) {
+            HeartbeatGroup group = groups.get(getType(instance));
+            if (group != null) {
+                group.remove(instance);
+            }
+        }
+    }
+
+    private static String getType(ServiceInstance instance) {
+        String type = instance.getType();
+        return type == null || type.isEmpty() ? DEFAULT_TYPE : type;
+    }
+
+    /**
+     * The heartbeat group of a registry.
+     */
+    private class HeartbeatGroup {
+
+        private final String type;
+
+        private final List<ServiceInstance> instances = new CopyOnWriteArrayList<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        /**
+         * The index of the next instance in the round, it's only accessed by the timer task.
+         */
+        private int index;
+
+        HeartbeatGroup(String type) {
+            this.type = type;
+        }
+
+        public void add(ServiceInstance instance) {
+            if (!instances.contains(instance)) {
+                instances.add(instance);
+            }
+            schedule();
+        }
+
+        public void remove(ServiceInstance instance) {
+            instances.remove(instance);
+        }
+
+        /**
+         * Schedules the first heartbeat after an interval if the group is not scheduled.
+         */
+        private void schedule() {
+            if (!instances.isEmpty() && scheduled.compareAndSet(false, true)) {
+                delay(registryConfig.getHeartbeatInterval());
+            }
+        }
+
+        private void delay(long delay) {
+            timer.delay("heartbeat-" + type, delay, this::run);
+        }
+
+        /**
+         * Sends the heartbeats and schedules the next task.
+         */
+        private void run() {
+            List<ServiceInstance> targets = new ArrayList<>(instances);
+            int size = targets.size();
+            if (size == 0) {
+                scheduled.set(false);
+                // an instance may be added before the flag is reset.
+                schedule();
+                return;
+            }
+            long interval = registryConfig.getHeartbeatInterval();
+            if (registryConfig.isHeartbeatBatch(type)) {
+                publisher.offer(ofHeartbeat(targets));
+                delay(interval);
+            } else {
+                if (index >= size) {
+                    index = 0;
+                }
+                publisher.offer(ofHeartbeat(targets.get(index++)));
+                delay(Math.max(interval / size, 1));
+            }
+        }
+    }
+}
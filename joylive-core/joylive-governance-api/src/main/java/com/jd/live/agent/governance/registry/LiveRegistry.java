@@ -32,14 +32,11 @@ import com.jd.live.agent.governance.config.RegistryConfig;
 import com.jd.live.agent.governance.instance.Endpoint;
 import com.jd.live.agent.governance.policy.PolicySupplier;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -74,10 +71,12 @@ public class LiveRegistry extends AbstractService implements RegistrySupervisor,
 
     private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
 
-    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, EndpointSubscription> subscriptions = new ConcurrentHashMap<>();
 
     private final AtomicBoolean ready = new AtomicBoolean(false);
 
+    private volatile HeartbeatScheduler heartbeats;
+
     @Override
     protected CompletableFuture<Void> doStart() {
         return CompletableFuture.completedFuture(null);
@@ -110,7 +109,7 @@ public class LiveRegistry extends AbstractService implements RegistrySupervisor,
         if (instance != null) {
             String service = instance.getService();
             Registration registration = registrations.computeIfAbsent(service,
-                    name -> new Registration(instance, callback, publisher, registryConfig, timer));
+                    name -> new Registration(instance, callback, publisher, getHeartbeats(), timer));
             if (ready.get()) {
                 // delay register
                 registration.register();
@@ -138,7 +137,7 @@ public class LiveRegistry extends AbstractService implements RegistrySupervisor,
     @Override
     public void subscribe(String service, Consumer<EndpointEvent> consumer) {
         if (service != null && !service.isEmpty() && consumer != null) {
-            Subscription subscription = subscriptions.computeIfAbsent(service, Subscription::new);
+            EndpointSubscription subscription = subscriptions.computeIfAbsent(service, name -> new EndpointSubscription(name, registryConfig, timer));
             subscription.addConsumer(consumer);
         }
     }
@@ -146,7 +145,7 @@ public class LiveRegistry extends AbstractService implements RegistrySupervisor,
     @Override
     public void update(String service, List<? extends Endpoint> endpoints) {
         if (service != null && !service.isEmpty()) {
-            Subscription subscription = subscriptions.get(service);
+            EndpointSubscription subscription = subscriptions.get(service);
             if (subscription != null) {
                 subscription.update(endpoints);
             }
@@ -158,6 +157,28 @@ public class LiveRegistry extends AbstractService implements RegistrySupervisor,
         return service != null && !service.isEmpty() && subscriptions.containsKey(service);
     }
 
+    @Override
+    public boolean hasEndpoints(String service) {
+        EndpointSubscription subscription = service == null || service.isEmpty() ? null : subscriptions.get(service);
+        return subscription != null && subscription.hasEndpoints();
+    }
+
+    /**
+     * Returns the heartbeat scheduler, it's created on first use after the components are injected.
+     *
+     * @return the heartbeat scheduler
+     */
+    private HeartbeatScheduler getHeartbeats() {
+        if (heartbeats == null) {
+            synchronized (this) {
+                if (heartbeats == null) {
+                    heartbeats = new HeartbeatScheduler(publisher, registryConfig, timer);
+                }
+            }
+        }
+        return heartbeats;
+    }
+
     /**
      * Called when the application is ready to start. This method iterates through all registered services and calls their register method.
      */
@@ -209,12 +230,12 @@ public class LiveRegistry extends AbstractService implements RegistrySupervisor,
         private final Publisher<RegistryEvent> publisher;
 
         /**
-         * The configuration for the registry.
+         * The scheduler of the heartbeats.
          */
-        private final RegistryConfig registryConfig;
+        private final HeartbeatScheduler heartbeats;
 
         /**
-         * A timer used to schedule heartbeat and registration delays.
+         * A timer used to schedule registration delays.
          */
         private final Timer timer;
 
@@ -233,20 +254,20 @@ public class LiveRegistry extends AbstractService implements RegistrySupervisor,
          *
          * @param instance       the service instance being registered
          * @param callback       a callback function that will be called when the registration is successful
-         * @param publisher      the publisher to which registry events will be sent
-         * @param registryConfig the configuration for the registry
-         * @param timer          a timer used to schedule heartbeat and registration delays
+         * @param publisher  the publisher to which registry events will be sent
+         * @param heartbeats the scheduler of the heartbeats
+         * @param timer      a timer used to schedule registration delays
          */
         Registration(ServiceInstance instance,
                      Callable<Void> callback,
                      Publisher<RegistryEvent> publisher,
-                     RegistryConfig registryConfig,
+                     HeartbeatScheduler heartbeats,
                      Timer timer) {
             this.service = instance.getService();
             this.instance = instance;
             this.callback = callback;
             this.publisher = publisher;
-            this.registryConfig = registryConfig;
+            this.heartbeats = heartbeats;
             this.timer = timer;
         }
 
@@ -278,14 +299,6 @@ public class LiveRegistry extends AbstractService implements RegistrySupervisor,
             unregister();
         }
 
-        /**
-         * Delays the next heartbeat by a random amount of time.
-         */
-        private void delayHeartbeat() {
-            long delay = registryConfig.getHeartbeatInterval() + (long) (Math.random() * 2000.0);
-            timer.delay("heartbeat-" + service, delay, this::doHeartbeat);
-        }
-
         /**
          * Delays the register process by a random amount of time.
          */
@@ -303,7 +316,7 @@ public class LiveRegistry extends AbstractService implements RegistrySupervisor,
                 try {
                     callback.call();
                     publisher.offer(ofRegister(instance));
-                    delayHeartbeat();
+                    heartbeats.add(instance);
                 } catch (Exception e) {
                     logger.error("Register error, service=" + service + ", caused by " + e.getMessage(), e);
                     delayRegister();
@@ -311,96 +324,12 @@ public class LiveRegistry extends AbstractService implements RegistrySupervisor,
             }
         }
 
-        /**
-         * Performs the actual heartbeat for the service instance.
-         */
-        private void doHeartbeat() {
-            if (started.get()) {
-                publisher.offer(ofHeartbeat(instance));
-                delayHeartbeat();
-            }
-        }
-
         /**
          * Performs the actual unregister of the service instance.
          */
         private void doUnregister() {
+            heartbeats.remove(instance);
             publisher.offer(ofUnregister(instance));
         }
     }
-
-    /**
-     * A private static class that represents a subscription to endpoint events for a specific service group.
-     */
-    private static class Subscription {
-
-        /**
-         * The service group that this subscription is for.
-         */
-        private final String service;
-
-        /**
-         * The consumer that will receive endpoint events.
-         */
-        private final List<Consumer<EndpointEvent>> consumers = new CopyOnWriteArrayList<>();
-
-        /**
-         * A map of endpoints for the service group, keyed by their addresses.
-         */
-        private Map<String, Endpoint> endpoints;
-
-        /**
-         * Creates a new subscription for the specified service.
-         *
-         * @param service the service to subscribe to
-         */
-        Subscription(String service) {
-            this.service = service;
-        }
-
-        /**
-         * Adds a new consumer to the list of consumers that will receive endpoint events.
-         *
-         * @param consumer the consumer to add
-         */
-        public synchronized void addConsumer(Consumer<EndpointEvent> consumer) {
-            if (consumer != null && !consumers.contains(consumer)) {
-                consumers.add(consumer);
-            }
-        }
-
-        /**
-         * Updates the endpoints for the service group and notifies the consumer of any changes.
-         *
-         * @param endpoints the new list of endpoints for the service group
-         */
-        public synchronized void update(List<? extends Endpoint> endpoints) {
-            Map<String, Endpoint> newEndpoints = new HashMap<>();
-            Map<String, Endpoint> oldEndpoints = this.endpoints;
-            List<Endpoint> adds = new ArrayList<>();
-            List<Endpoint> removes = new ArrayList<>();
-            if (endpoints != null) {
-                for (Endpoint endpoint : endpoints) {
-                    String address = endpoint.getAddress();
-                    if (oldEndpoints == null || !oldEndpoints.containsKey(address)) {
-                        adds.add(endpoint);
-                    }
-                    newEndpoints.put(address, endpoint);
-                }
-            }
-            if (oldEndpoints != null) {
-                oldEndpoints.forEach((k, v) -> {
-                    if (!newEndpoints.containsKey(k)) {
-                        removes.add(v);
-                    }
-                });
-            }
-            this.endpoints = newEndpoints;
-            logger.info("Service instance is changed, service=" + service + ", adds=" + adds.size() + ", removes=" + removes.size());
-            for (Consumer<EndpointEvent> consumer : consumers) {
-                consumer.accept(new EndpointEvent(service, endpoints, adds, removes));
-            }
-        }
-    }
 }
-
@@ -18,6 +18,7 @@ package com.jd.live.agent.governance.registry;
 import lombok.*;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * Represents an event in the service registry.
@@ -34,16 +35,25 @@ public class RegistryEvent implements Serializable {
 
     private ServiceInstance instance;
 
+    /**
+     * The instances of the batch heartbeat event.
+     */
+    private List<ServiceInstance> instances;
+
     public static RegistryEvent ofRegister(ServiceInstance instance) {
-        return new RegistryEvent(EventType.REGISTER, instance);
+        return new RegistryEvent(EventType.REGISTER, instance, null);
     }
 
     public static RegistryEvent ofUnregister(ServiceInstance instance) {
-        return new RegistryEvent(EventType.UNREGISTER, instance);
+        return new RegistryEvent(EventType.UNREGISTER, instance, null);
     }
 
     public static RegistryEvent ofHeartbeat(ServiceInstance instance) {
-        return new RegistryEvent(EventType.HEARTBEAT, instance);
+        return new RegistryEvent(EventType.HEARTBEAT, instance, null);
+    }
+
+    public static RegistryEvent ofHeartbeat(List<ServiceInstance> instances) {
+        return new RegistryEvent(EventType.BATCH_HEARTBEAT, null, instances);
     }
 
     /**
@@ -63,7 +73,13 @@ public class RegistryEvent implements Serializable {
         /**
          * Indicates a heartbeat event.
          */
-        HEARTBEAT
+        HEARTBEAT,
+
+        /**
+         * Indicates a heartbeat event of the instances of the same registry.
+         * It's only sent for the registry types declared in {@code heartbeatBatchTypes} of the registry config.
+         */
+        BATCH_HEARTBEAT
     }
 
 }
@@ -39,4 +39,12 @@ public interface RegistrySupervisor extends Registry {
      * @return true if the registry is subscribed to the service, false otherwise
      */
     boolean isSubscribed(String service);
+
+    /**
+     * Checks if the registry has received the endpoints of a specific service.
+     *
+     * @param service the service
+     * @return true if the endpoints of the service have been updated since it was subscribed, false otherwise
+     */
+    boolean hasEndpoints(String service);
 }
@@ -15,7 +15,7 @@
  */
 package com.jd.live.agent.governance.request;
 
-import java.util.regex.Pattern;
+import com.jd.live.agent.governance.util.SqlClassifier;
 
 /**
  * Defines an interface for database requests, extending the basic {@link Request} interface.
@@ -61,6 +61,19 @@ public interface DbRequest extends Request {
      */
     String getDatabase();
 
+    /**
+     * Retrieves the connection of the request, which is used to cache the access mode of the target database.
+     * <p>
+     * The cached access mode is evaluated again when the governance policy, the name, the host or the port changes,
+     * so the connection may also be a shared connection factory.
+     * </p>
+     *
+     * @return The connection, or {@code null} if the access mode should not be cached.
+     */
+    default Object getConnection() {
+        return null;
+    }
+
     /**
      * Determines if the request is a write operation to the database.
      *
@@ -82,17 +95,11 @@ public interface DbRequest extends Request {
      * Defines an interface for SQL database requests.
      * <p>
      * This interface extends {@link DbRequest} with functionality for handling SQL queries, including a method to
-     * determine if the SQL statement represents a write operation based on a defined pattern.
+     * determine if the SQL statement represents a write operation.
      * </p>
      */
     interface SQLRequest extends DbRequest {
 
-        /**
-         * Pattern to identify SQL write operations.
-         */
-        Pattern WRITE_PATTERN = Pattern.compile(
-                "INSERT\\b|UPDATE\\b|DELETE\\b|CREATE\\b|ALTER\\b|DROP\\b|TRUNCATE\\b", Pattern.CASE_INSENSITIVE);
-
         /**
          * Retrieves the SQL statement of the request.
          *
@@ -101,14 +108,27 @@ public interface DbRequest extends Request {
         String getSql();
 
         /**
-         * Determines if the SQL request represents a write operation by matching the SQL statement against a predefined pattern.
+         * Retrieves the key of the statement, which is used to cache its classification.
+         * <p>
+         * Drivers that reuse prepared query objects should return the query itself, so the SQL text does not have to be
+         * rendered for every execution. Such keys are compared by identity and held weakly, while string keys are
+         * compared by value. The default implementation returns the SQL statement.
+         * </p>
+         *
+         * @return The key of the statement, or {@code null} if the statement should not be cached.
+         */
+        default Object getStatement() {
+            return getSql();
+        }
+
+        /**
+         * Determines if the SQL request represents a write operation by scanning the SQL statement with {@link SqlClassifier}.
          *
          * @return {@code true} if the SQL statement is a write operation; {@code false} otherwise.
          */
         @Override
         default boolean isWrite() {
-            String sql = getSql();
-            return sql != null && WRITE_PATTERN.matcher(sql).find();
+            return SqlClassifier.isWrite(getSql());
         }
     }
 }
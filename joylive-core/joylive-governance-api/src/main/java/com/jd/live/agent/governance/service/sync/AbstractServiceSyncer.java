@@ -31,6 +31,7 @@ import com.jd.live.agent.core.thread.NamedThreadFactory;
 import com.jd.live.agent.core.util.Close;
 import com.jd.live.agent.core.util.Waiter;
 import com.jd.live.agent.core.util.template.Template;
+import com.jd.live.agent.governance.policy.GovernancePolicy;
 import com.jd.live.agent.governance.policy.PolicySubscription;
 import com.jd.live.agent.governance.policy.PolicySupervisor;
 import com.jd.live.agent.governance.subscription.policy.listener.ServiceEvent;
@@ -83,23 +84,39 @@ public abstract class AbstractServiceSyncer<K extends ServiceKey> extends Abstra
         executorService = Executors.newFixedThreadPool(concurrency, new NamedThreadFactory(getName(), true));
         publisher.addHandler(handler);
         for (int i = 0; i < concurrency; i++) {
-            executorService.submit(() -> {
-                while (isStarted()) {
-                    PolicySubscription subscription = subscribers.poll();
-                    if (subscription != null) {
-                        syncAndUpdate(subscription);
-                    } else {
-                        try {
-                            waiter.await(1000, TimeUnit.MILLISECONDS);
-                        } catch (InterruptedException ignore) {
-                        }
-                    }
-                }
-            });
+            executorService.submit(this::work);
         }
         addTasks(policySupervisor.getSubscriptions());
     }
 
+    /**
+     * Takes the subscriptions from the queue and synchronizes them until the syncer is stopped.
+     */
+    protected void work() {
+        while (isStarted()) {
+            if (!syncNext()) {
+                try {
+                    waiter.await(1000, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ignore) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Synchronizes the next subscription in the queue.
+     *
+     * @return true if a subscription is taken from the queue, false if the queue is empty.
+     */
+    protected boolean syncNext() {
+        PolicySubscription subscription = subscribers.poll();
+        if (subscription != null) {
+            syncAndUpdate(subscription);
+            return true;
+        }
+        return false;
+    }
+
     @Override
     protected void stopSync() {
         publisher.removeHandler(handler);
@@ -223,12 +240,16 @@ public abstract class AbstractServiceSyncer<K extends ServiceKey> extends Abstra
 
     /**
      * Handles service is NOT_FOUND.
+     * <p>
+     * The service is also deleted if it is not owned by any syncer, such as a service loaded from the local snapshot.
      *
      * @param subscription The subscription for which an error occurred.
      */
     protected void onNotFound(Subscription<K, Service> subscription) {
         PolicySubscription subscriber = subscription.getKey().getSubscriber();
-        if (subscription.getVersion() > 0) {
+        GovernancePolicy policy = policySupervisor.getPolicy();
+        Service service = policy == null ? null : policy.getService(subscriber.getName());
+        if (subscription.getVersion() > 0 || service != null && !service.getOwners().hasOwner()) {
             if (update(subscriber.getName(), null)) {
                 // Retry from version 0 after data is recovered.
                 subscription.setVersion(0);
@@ -22,6 +22,7 @@ import com.jd.live.agent.governance.subscription.policy.PolicyEvent.EventType;
 import com.jd.live.agent.core.event.FileEvent;
 import com.jd.live.agent.core.event.Publisher;
 import com.jd.live.agent.core.inject.annotation.Inject;
+import com.jd.live.agent.core.parser.ObjectParser;
 import com.jd.live.agent.core.util.Close;
 import com.jd.live.agent.core.util.Futures;
 import com.jd.live.agent.governance.service.sync.AbstractSyncer;
@@ -30,9 +31,13 @@ import com.jd.live.agent.governance.service.sync.SyncKey.FileKey;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.Writer;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.zip.CRC32;
 
 /**
  * An abstract class that provides a base implementation for file synchronization.
@@ -46,12 +51,23 @@ public abstract class AbstractFileSyncer<T> extends AbstractSyncer<FileKey, T> {
     @Inject(value = Publisher.CONFIG, nullable = true)
     protected Publisher<FileEvent> publisher;
 
+    @Inject(value = ObjectParser.SMILE, nullable = true)
+    protected ObjectParser smileParser;
+
+    @Inject(value = ObjectParser.SNAPSHOT, nullable = true)
+    protected ObjectParser snapshotParser;
+
     protected File file;
 
     protected FileWatcher fileWatcher;
 
     protected Subscription<FileKey, T> subscription;
 
+    /**
+     * The content digests of the items published last time, keyed by the item name.
+     */
+    protected Map<String, Long> digests;
+
     @Override
     protected CompletableFuture<Void> doStart() {
         String resource = getSyncConfig().getResource(getDefaultResource());
@@ -125,13 +141,117 @@ public abstract class AbstractFileSyncer<T> extends AbstractSyncer<FileKey, T> {
         return null;
     }
 
+    /**
+     * Returns the parser of the file by its extension.
+     *
+     * @param file The file to parse.
+     * @return The smile parser for the binary policy file, otherwise the json parser.
+     */
+    protected ObjectParser getParser(File file) {
+        return smileParser != null && file.getName().endsWith("." + ObjectParser.SMILE) ? smileParser : parser;
+    }
+
     /**
      * Handles a successful synchronization operation.
      *
      * @param data The data to publish with the configuration event.
      */
     protected void onSuccess(T data) {
-        publish(createEvent(data));
+        for (PolicyEvent event : getEvents(data)) {
+            publish(event);
+        }
+    }
+
+    /**
+     * Returns the events to publish for the data parsed from the file.
+     * The file syncers of the item lists override it with {@link #getEvents(Object, List, Function)}.
+     *
+     * @param data The data parsed from the file.
+     * @return The events to publish.
+     */
+    protected List<PolicyEvent> getEvents(T data) {
+        return Collections.singletonList(createEvent(data));
+    }
+
+    /**
+     * Returns the events of the items which are changed, added or removed since the items were published last time.
+     * <p>
+     * All the items are published at the first time, and only the changed items are published as item events
+     * after that. The digest of an item is calculated on its serialized form, so formatting changes of the file
+     * and rewriting the file with the same items do not republish the policy.
+     *
+     * @param data    The data parsed from the file.
+     * @param items   The items of the data.
+     * @param keyFunc The function to get the name of the item.
+     * @param <M>     The type of the item.
+     * @return The events to publish.
+     */
+    protected <M> List<PolicyEvent> getEvents(T data, List<M> items, Function<M, String> keyFunc) {
+        Map<String, Long> newDigests = new HashMap<>(items == null ? 0 : items.size());
+        List<PolicyEvent> events = new ArrayList<>();
+        if (items != null) {
+            for (M item : items) {
+                String name = keyFunc.apply(item);
+                long digest = digest(item);
+                newDigests.put(name, digest);
+                if (digests != null && isChanged(name, digest)) {
+                    events.add(createEvent(EventType.UPDATE_ITEM, name, item));
+                }
+            }
+        }
+        if (digests == null) {
+            events.add(createEvent(data));
+        } else {
+            for (String name : digests.keySet()) {
+                if (!newDigests.containsKey(name)) {
+                    events.add(createEvent(EventType.DELETE_ITEM, name, null));
+                }
+            }
+        }
+        digests = newDigests;
+        return events;
+    }
+
+    /**
+     * Checks whether the item is changed or added since it was published last time.
+     *
+     * @param name   The name of the item.
+     * @param digest The digest of the item.
+     * @return true if the item is changed or added.
+     */
+    protected boolean isChanged(String name, long digest) {
+        Long last = digests == null ? null : digests.get(name);
+        return last == null || last != digest;
+    }
+
+    /**
+     * Calculates the CRC32 digest of the serialized item without buffering the serialized form.
+     * The snapshot parser is preferred, because it leaves out the state derived from the item.
+     *
+     * @param item The item.
+     * @return The digest.
+     */
+    protected long digest(Object item) {
+        CRC32 crc32 = new CRC32();
+        (snapshotParser == null ? parser : snapshotParser).write(new Writer() {
+            @Override
+            public void write(char[] buf, int off, int len) {
+                for (int i = off; i < off + len; i++) {
+                    char ch = buf[i];
+                    crc32.update(ch >>> 8);
+                    crc32.update(ch);
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }, item);
+        return crc32.getValue();
     }
 
     /**
@@ -140,6 +260,7 @@ public abstract class AbstractFileSyncer<T> extends AbstractSyncer<FileKey, T> {
      * @param file The file that does not exist.
      */
     protected void onNotFound(File file) {
+        digests = null;
         publish(createEvent(null));
     }
 
@@ -147,6 +268,18 @@ public abstract class AbstractFileSyncer<T> extends AbstractSyncer<FileKey, T> {
         return new PolicyEvent(EventType.UPDATE_ALL, "", data, getType(), getName());
     }
 
+    /**
+     * Creates an event of an item.
+     *
+     * @param type  The type of the event, {@link EventType#UPDATE_ITEM} or {@link EventType#DELETE_ITEM}.
+     * @param name  The name of the item.
+     * @param value The item, or null if it's deleted.
+     * @return The event.
+     */
+    protected PolicyEvent createEvent(EventType type, String name, Object value) {
+        return new PolicyEvent(type, name, value, getType() + " " + name, getName());
+    }
+
     /**
      * Handles an error that occurs during the synchronization process.
      *
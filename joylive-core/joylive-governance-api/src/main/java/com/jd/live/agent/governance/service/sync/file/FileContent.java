@@ -30,4 +30,9 @@ public class FileContent extends FileDigest {
         super(lastModified, crc32);
         this.bytes = bytes;
     }
+
+    public FileContent(FileDigest digest, long crc32, byte[] bytes) {
+        super(digest.getLastModified(), digest.getSize(), digest.getFileKey(), crc32);
+        this.bytes = bytes;
+    }
 }
@@ -17,26 +17,53 @@ package com.jd.live.agent.governance.service.sync.file;
 
 import lombok.Getter;
 
+import java.util.Objects;
+
 /**
- * Inner class representing a digest of a file, which includes the last modified timestamp
- * and the CRC32 digest of the file's content.
+ * Inner class representing a digest of a file, which includes the last modified timestamp, the size,
+ * the file key (inode on unix) and the CRC32 digest of the file's content.
  */
 @Getter
 public class FileDigest {
 
     private final long lastModified;
 
+    private final long size;
+
+    private final Object fileKey;
+
     private final long crc32;
 
     public FileDigest(long lastModified, long crc32) {
+        this(lastModified, -1, null, crc32);
+    }
+
+    public FileDigest(long lastModified, long size, Object fileKey, long crc32) {
         this.lastModified = lastModified;
+        this.size = size;
+        this.fileKey = fileKey;
         this.crc32 = crc32;
     }
 
     public FileDigest(FileDigest digest) {
         this.lastModified = digest == null ? 0 : digest.lastModified;
+        this.size = digest == null ? -1 : digest.size;
+        this.fileKey = digest == null ? null : digest.fileKey;
         this.crc32 = digest == null ? 0 : digest.crc32;
+    }
 
+    /**
+     * Checks whether the file attributes of this digest are the same as the given one.
+     * The content is not compared.
+     *
+     * @param digest the other digest
+     * @return true if the last modified timestamp, size and file key are the same
+     */
+    public boolean isSameFile(FileDigest digest) {
+        return digest != null
+                && lastModified == digest.lastModified
+                && size == digest.size
+                && Objects.equals(fileKey, digest.fileKey);
     }
 
 }
@@ -34,7 +34,8 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -47,9 +48,27 @@ import java.util.zip.CRC32;
 
 /**
  * A class for watching changes to files and notifying listeners of those changes.
+ * <p>
+ * The file attributes (last modified timestamp, size and file key) are checked before reading, and the file is only
+ * read and hashed when they change. Listeners are only notified when the CRC32 of the content changes, so touching
+ * or atomically replacing a file with the same content does not trigger an update.
+ * <p>
+ * The parent directories of the subscribed files are watched by a native {@link WatchService} where available,
+ * which wakes up the watcher immediately and lets the periodic check run at a much lower frequency.
+ * Any event in the directory wakes up the watcher, which covers the {@code ..data} symbolic link swap
+ * of the kubernetes config map volumes. The directory of the resolved file is watched as well, so a symbolic link
+ * to a file in another directory is notified when its target is modified.
  */
 public class FileWatcher implements AutoCloseable {
 
+    private static final long WATCH_INTERVAL = 60000;
+
+    private static final long RACY_INTERVAL = 2000;
+
+    private static final String POLLING_WATCH_SERVICE = "PollingWatchService";
+
+    private static final FileDigest MISSING = new FileDigest(0, -1, null, 0);
+
     protected String name;
 
     protected SyncConfig config;
@@ -70,7 +89,25 @@ public class FileWatcher implements AutoCloseable {
 
     protected final Daemon daemon;
 
+    protected final WatchService watchService;
+
+    protected final Map<Path, WatchKey> watchKeys = new ConcurrentHashMap<>();
+
+    protected final Daemon watchDaemon;
+
     public FileWatcher(String name, SyncConfig config, Publisher<FileEvent> publisher) {
+        this(name, config, publisher, newWatchService());
+    }
+
+    /**
+     * Constructs a new FileWatcher.
+     *
+     * @param name         the name of the watcher
+     * @param config       the synchronization config
+     * @param publisher    the publisher of the file events, or null
+     * @param watchService the native watch service, or null to only check the files periodically
+     */
+    public FileWatcher(String name, SyncConfig config, Publisher<FileEvent> publisher, WatchService watchService) {
         this.name = name;
         this.config = config;
         this.publisher = publisher;
@@ -83,7 +120,18 @@ public class FileWatcher implements AutoCloseable {
                 .condition(this::isStarted)
                 .runnable(this::run)
                 .build();
+        this.watchService = watchService;
+        this.watchDaemon = watchService == null ? null : Daemon.builder()
+                .name(name + "-watch")
+                .delay(0)
+                .fault(config.getFault())
+                .condition(this::isStarted)
+                .runnable(this::watch)
+                .build();
         this.daemon.start();
+        if (watchDaemon != null) {
+            watchDaemon.start();
+        }
         if (publisher != null) {
             publisher.addHandler(handler);
         }
@@ -93,7 +141,11 @@ public class FileWatcher implements AutoCloseable {
     public void close() throws Exception {
         if (started.compareAndSet(true, false)) {
             waiter.wakeup();
-            Close.instance().close(daemon).closeIfExists(publisher, p -> p.removeHandler(handler));
+            Close.instance()
+                    .close(watchService)
+                    .close(watchDaemon)
+                    .close(daemon)
+                    .closeIfExists(publisher, p -> p.removeHandler(handler));
         }
     }
 
@@ -106,6 +158,7 @@ public class FileWatcher implements AutoCloseable {
     public void subscribe(File file, FileListener listener) {
         if (file != null && listener != null) {
             if (subscriptions.putIfAbsent(file, listener) == null) {
+                watch(file);
                 load(file, listener);
             }
         }
@@ -119,6 +172,7 @@ public class FileWatcher implements AutoCloseable {
     public void unsubscribe(File file) {
         if (file != null) {
             subscriptions.remove(file);
+            digests.remove(file);
         }
     }
 
@@ -164,12 +218,122 @@ public class FileWatcher implements AutoCloseable {
                     FileListener listener = entry.getValue();
                     load(file, listener);
                 }
-                waiter.await(config.getInterval(), TimeUnit.MILLISECONDS, null);
+                waiter.await(getInterval(), TimeUnit.MILLISECONDS, null);
             } catch (InterruptedException ignored) {
             }
         }
     }
 
+    /**
+     * Returns the interval of the periodic check. It's much longer when the directories are watched natively,
+     * the periodic check is only a safety net for lost events, e.g. on network file systems.
+     *
+     * @return the interval in milliseconds
+     */
+    protected long getInterval() {
+        return watchKeys.isEmpty() ? config.getInterval() : Math.max(config.getInterval(), WATCH_INTERVAL);
+    }
+
+    /**
+     * Creates a native watch service. The polling implementation is ignored, because it's no better than
+     * the periodic check of this watcher.
+     *
+     * @return the watch service, or null if it's not available
+     */
+    public static WatchService newWatchService() {
+        WatchService result = null;
+        try {
+            result = FileSystems.getDefault().newWatchService();
+            if (result.getClass().getName().endsWith(POLLING_WATCH_SERVICE)) {
+                result.close();
+                result = null;
+            }
+        } catch (Throwable ignored) {
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * Registers the parent directory of the file to the watch service, and the parent directory of the resolved
+     * file if the file is a symbolic link or in a linked directory.
+     *
+     * @param file the file to watch
+     */
+    protected void watch(File file) {
+        if (watchService == null) {
+            return;
+        }
+        Path path = file.getAbsoluteFile().toPath();
+        watch(path.getParent());
+        try {
+            watch(path.toRealPath().getParent());
+        } catch (IOException ignored) {
+            // the file does not exist yet, it's resolved again when it's loaded.
+        }
+    }
+
+    /**
+     * Registers the directory to the watch service.
+     *
+     * @param dir the directory to watch
+     */
+    protected void watch(Path dir) {
+        if (dir != null) {
+            watchKeys.computeIfAbsent(dir, path -> {
+                try {
+                    return path.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY,
+                            StandardWatchEventKinds.ENTRY_DELETE);
+                } catch (Throwable e) {
+                    // fall back to the periodic check
+                    return null;
+                }
+            });
+        }
+    }
+
+    /**
+     * The run method of the watch daemon, it wakes up the watcher when any event occurs in the watched directories.
+     */
+    protected void watch() {
+        while (isStarted()) {
+            try {
+                WatchKey key = watchService.take();
+                boolean changed = !key.pollEvents().isEmpty();
+                if (!key.reset()) {
+                    watchKeys.remove((Path) key.watchable());
+                }
+                if (changed) {
+                    waiter.wakeup();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException ignored) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the attributes of the file.
+     *
+     * @param file the file
+     * @return a FileDigest object without CRC32, or null if the file does not exist
+     * @throws IOException if an error occurs while reading the attributes
+     */
+    protected FileDigest stat(File file) throws IOException {
+        if (file == null) {
+            return null;
+        }
+        try {
+            // follow the symbolic links, so the file key changes when the link target is swapped.
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return new FileDigest(attributes.lastModifiedTime().toMillis(), attributes.size(), attributes.fileKey(), 0);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
     /**
      * Reads the file and calculates its digest.
      *
@@ -178,38 +342,58 @@ public class FileWatcher implements AutoCloseable {
      * @throws IOException if an error occurs while reading the file
      */
     protected FileContent load(File file) throws IOException {
-        if (file == null || !file.exists()) {
-            return null;
-        }
-        long lastModified = file.lastModified();
-        ByteArrayOutputStream bos = new ByteArrayOutputStream(4096);
+        FileDigest digest = stat(file);
+        return digest == null ? null : load(file, digest);
+    }
+
+    /**
+     * Reads the file and calculates its digest.
+     *
+     * @param file   the file.
+     * @param digest the attributes of the file.
+     * @return a FileContent object with the file's attributes, bytes, and CRC32 digest
+     * @throws IOException if an error occurs while reading the file
+     */
+    protected FileContent load(File file, FileDigest digest) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(digest.getSize() > 0 && digest.getSize() < Integer.MAX_VALUE
+                ? (int) digest.getSize() : 4096);
         try (BufferedInputStream bis = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
             IOUtils.copy(bis, bos);
         }
         byte[] bytes = bos.toByteArray();
         CRC32 crc32 = new CRC32();
         crc32.update(bytes, 0, bytes.length);
-        return new FileContent(lastModified, crc32.getValue(), bytes);
+        return new FileContent(digest, crc32.getValue(), bytes);
     }
 
     /**
      * Loads the content of a file and notifies the specified listener of any changes.
+     * The file is not read if its attributes are not changed.
      *
      * @param file     The file to load.
      * @param listener The listener to notify of any changes.
      */
     protected void load(File file, FileListener listener) {
         try {
-            FileContent content = load(file);
-            FileDigest digest = digests.put(file, new FileDigest(content));
-            if (digest == null) {
-                listener.onUpdate(content == null
-                        ? new FileWatchEvent(EventType.DELETE, file, null)
-                        : new FileWatchEvent(EventType.UPDATE, file, content.getBytes()));
-            } else if (content == null) {
-                listener.onUpdate(new FileWatchEvent(EventType.DELETE, file, null));
-            } else if (content.getLastModified() != digest.getLastModified() || content.getCrc32() != digest.getCrc32()) {
-                listener.onUpdate(new FileWatchEvent(EventType.UPDATE, file, content.getBytes()));
+            FileDigest last = digests.get(file);
+            FileDigest current = stat(file);
+            if (current == null) {
+                digests.put(file, MISSING);
+                if (last != MISSING) {
+                    listener.onUpdate(new FileWatchEvent(EventType.DELETE, file, null));
+                }
+            } else if (last == null || last == MISSING || !current.isSameFile(last)) {
+                // the link may point to another file now.
+                watch(file);
+                long readTime = System.currentTimeMillis();
+                FileContent content = load(file, current);
+                digests.put(file, readTime - content.getLastModified() < RACY_INTERVAL
+                        // the file may be modified again in the same timestamp granularity, check the content next time.
+                        ? new FileDigest(-1, content.getSize(), content.getFileKey(), content.getCrc32())
+                        : new FileDigest(content));
+                if (last == null || last == MISSING || content.getCrc32() != last.getCrc32()) {
+                    listener.onUpdate(new FileWatchEvent(EventType.UPDATE, file, content.getBytes()));
+                }
             }
         } catch (IOException e) {
             listener.onUpdate(new FileWatchEvent(file, e));
@@ -0,0 +1,223 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.service.sync.http;
+
+import com.jd.live.agent.core.parser.TypeReference;
+import com.jd.live.agent.core.util.http.HttpHeader;
+import com.jd.live.agent.core.util.http.HttpResponse;
+import com.jd.live.agent.core.util.http.HttpUtils;
+import com.jd.live.agent.governance.config.SyncConfig;
+import com.jd.live.agent.governance.policy.PolicySubscription;
+import com.jd.live.agent.governance.policy.service.Service;
+import com.jd.live.agent.governance.service.sync.Subscription;
+import com.jd.live.agent.governance.service.sync.SyncKey.ServiceKey;
+import com.jd.live.agent.governance.service.sync.SyncResponse;
+import com.jd.live.agent.governance.service.sync.SyncStatus;
+import com.jd.live.agent.governance.service.sync.api.ApiResponse;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An abstract class that synchronizes services with an HTTP service in batches.
+ * <p>
+ * When a batch url is configured, up to {@code batchSize} subscriptions are posted in one request with their
+ * last versions, and the response is a map of the changed services keyed by the unique name of the subscription.
+ * A missing key means the service is not modified, and a null value means the service is not found.
+ * The subscriptions of a batch are scheduled again together, so they keep being synchronized in one request.
+ * Without a batch url, the services are synchronized one by one as {@link AbstractServiceHttpSyncer} does.
+ */
+public abstract class AbstractBatchServiceHttpSyncer<K extends ServiceKey> extends AbstractServiceHttpSyncer<K> {
+
+    @Override
+    protected boolean syncNext() {
+        SyncConfig config = getSyncConfig();
+        String url = config.getBatchUrl();
+        if (url == null) {
+            return super.syncNext();
+        }
+        int batchSize = Math.max(1, config.getBatchSize());
+        List<Subscription<K, Service>> batch = new ArrayList<>();
+        boolean polled = false;
+        PolicySubscription subscriber;
+        while (batch.size() < batchSize && (subscriber = subscribers.poll()) != null) {
+            polled = true;
+            PolicySubscription target = subscriber;
+            Subscription<K, Service> subscription = subscriptions.computeIfAbsent(target.getUniqueName(),
+                    name -> createSubscription(target));
+            if (subscription.lock()) {
+                subscription.addCounter();
+                batch.add(subscription);
+            }
+        }
+        if (!batch.isEmpty()) {
+            try {
+                sync(batch, config, url);
+            } finally {
+                batch.forEach(Subscription::unlock);
+            }
+        }
+        return polled;
+    }
+
+    /**
+     * Synchronizes a batch of subscriptions in one request.
+     *
+     * @param batch  the subscriptions to synchronize.
+     * @param config the sync configuration.
+     * @param url    the batch url.
+     */
+    protected void sync(List<Subscription<K, Service>> batch, SyncConfig config, String url) {
+        try {
+            List<ServiceVersion> versions = new ArrayList<>(batch.size());
+            for (Subscription<K, Service> subscription : batch) {
+                versions.add(new ServiceVersion(subscription.getKey().getSubscriber(), subscription.getVersion()));
+            }
+            SyncResponse<Map<String, Service>> response = getResponse(config, url, versions);
+            switch (response.getStatus()) {
+                case SUCCESS:
+                    onBatchSuccess(batch, response.getData());
+                    break;
+                case NOT_MODIFIED:
+                    batch.forEach(s -> s.onUpdate(new SyncResponse<>(SyncStatus.NOT_MODIFIED, null)));
+                    break;
+                case NOT_FOUND:
+                    // the batch api itself is not found, keep the current policies.
+                    batch.forEach(s -> s.onUpdate(new SyncResponse<>("Batch service api is not found, " + url)));
+                    break;
+                case ERROR:
+                default:
+                    batch.forEach(s -> s.onUpdate(new SyncResponse<>(SyncStatus.ERROR, null, response.getError(), response.getThrowable())));
+                    break;
+            }
+        } catch (Throwable e) {
+            batch.forEach(s -> s.onUpdate(new SyncResponse<>(e)));
+        } finally {
+            List<PolicySubscription> subscribers = new ArrayList<>(batch.size());
+            batch.forEach(s -> subscribers.add(s.getKey().getSubscriber()));
+            long delay = config.getInterval() + ThreadLocalRandom.current().nextLong(2000);
+            timer.delay(getName() + "-batch", delay, () -> subscribers.forEach(this::addTask));
+        }
+    }
+
+    /**
+     * Dispatches the changed services of a batch response to the subscriptions.
+     *
+     * @param batch    the subscriptions of the batch.
+     * @param services the changed services keyed by the unique name of the subscription.
+     */
+    protected void onBatchSuccess(List<Subscription<K, Service>> batch, Map<String, Service> services) {
+        for (Subscription<K, Service> subscription : batch) {
+            String key = subscription.getKey().getSubscriber().getUniqueName();
+            if (services == null || !services.containsKey(key)) {
+                subscription.onUpdate(new SyncResponse<>(SyncStatus.NOT_MODIFIED, null));
+            } else {
+                Service service = services.get(key);
+                subscription.onUpdate(service == null
+                        ? new SyncResponse<>(SyncStatus.NOT_FOUND, null)
+                        : new SyncResponse<>(SyncStatus.SUCCESS, service));
+            }
+        }
+    }
+
+    /**
+     * Posts the service versions to the batch url and returns the changed services.
+     *
+     * @param config   the sync configuration.
+     * @param url      the batch url.
+     * @param versions the subscribed services with their last versions.
+     * @return the changed services keyed by the unique name of the subscription.
+     * @throws IOException If an I/O error occurs during the request.
+     */
+    protected SyncResponse<Map<String, Service>> getResponse(SyncConfig config, String url, List<ServiceVersion> versions) throws IOException {
+        HttpResponse<ApiResponse<Map<String, Service>>> response = HttpUtils.post(url,
+                conn -> configureBatch(config, conn),
+                toBody(versions),
+                this::getParser,
+                new TypeReference<ApiResponse<Map<String, Service>>>() {
+                });
+        return ApiResponse.from(response).asSyncResponse();
+    }
+
+    /**
+     * Configures the HTTP connection of the batch request.
+     *
+     * @param config the synchronization configuration.
+     * @param conn   the HTTP connection to be configured.
+     */
+    protected void configureBatch(SyncConfig config, HttpURLConnection conn) {
+        configure(config, conn);
+        conn.setRequestProperty(HttpHeader.CONTENT_TYPE, CONTENT_TYPE_JSON);
+        conn.setReadTimeout((int) config.getTimeout());
+    }
+
+    /**
+     * Serializes the service versions as the body of the batch request.
+     *
+     * @param versions the service versions.
+     * @return the request body.
+     */
+    protected byte[] toBody(List<ServiceVersion> versions) {
+        StringWriter writer = new StringWriter();
+        jsonParser.write(writer, new BatchRequest(application.getName(), versions));
+        return writer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The body of the batch request.
+     */
+    @Getter
+    protected static class BatchRequest {
+
+        private final String application;
+
+        private final List<ServiceVersion> services;
+
+        public BatchRequest(String application, List<ServiceVersion> services) {
+            this.application = application;
+            this.services = services;
+        }
+    }
+
+    /**
+     * A subscribed service with its last version in the batch request.
+     */
+    @Getter
+    protected static class ServiceVersion {
+
+        private final String key;
+
+        private final String space;
+
+        private final String name;
+
+        private final long version;
+
+        public ServiceVersion(PolicySubscription subscriber, long version) {
+            this.key = subscriber.getUniqueName();
+            this.space = subscriber.getNamespace();
+            this.name = subscriber.getName();
+            this.version = version;
+        }
+    }
+}
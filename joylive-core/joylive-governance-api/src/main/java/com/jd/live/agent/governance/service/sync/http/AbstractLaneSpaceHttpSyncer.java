@@ -95,13 +95,15 @@ public abstract class AbstractLaneSpaceHttpSyncer extends AbstractLaneSpaceSynce
     @Override
     protected Syncer<HttpLaneSpaceKey, List<ApiSpace>> createSpaceListSyncer() {
         // This is called after createSyncer
-        return watcher.createSyncer(this::parseSpaceList);
+        return watcher.createSyncer(new TypeReference<ApiResponse<List<ApiSpace>>>() {
+        }, ApiResponse::asSyncResponse);
     }
 
     @Override
     protected Syncer<HttpLaneSpaceKey, LaneSpace> createSyncer() {
-        watcher = new HttpWatcher(getType(), getSyncConfig(), application);
-        return watcher.createSyncer(this::parseSpace);
+        watcher = new HttpWatcher(getType(), getSyncConfig(), application, parser);
+        return watcher.createSyncer(new TypeReference<ApiResponse<LaneSpace>>() {
+        }, ApiResponse::asSyncResponse);
     }
 
     @Override
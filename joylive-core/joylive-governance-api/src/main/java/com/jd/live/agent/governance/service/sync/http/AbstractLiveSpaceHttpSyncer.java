@@ -95,13 +95,15 @@ public abstract class AbstractLiveSpaceHttpSyncer extends AbstractLiveSpaceSynce
     @Override
     protected Syncer<HttpLiveSpaceKey, List<ApiSpace>> createSpaceListSyncer() {
         // This is called after createSyncer
-        return watcher.createSyncer(this::parseSpaceList);
+        return watcher.createSyncer(new TypeReference<ApiResponse<List<ApiSpace>>>() {
+        }, ApiResponse::asSyncResponse);
     }
 
     @Override
     protected Syncer<HttpLiveSpaceKey, LiveSpace> createSyncer() {
         watcher = creatWatcher();
-        return watcher.createSyncer(this::parseSpace);
+        return watcher.createSyncer(new TypeReference<ApiResponse<LiveSpace>>() {
+        }, ApiResponse::asSyncResponse);
     }
 
     @Override
@@ -125,7 +127,7 @@ public abstract class AbstractLiveSpaceHttpSyncer extends AbstractLiveSpaceSynce
     }
 
     protected HttpWatcher creatWatcher() {
-        return new HttpWatcher(getType(), getSyncConfig(), application);
+        return new HttpWatcher(getType(), getSyncConfig(), application, parser);
     }
 
     @Getter
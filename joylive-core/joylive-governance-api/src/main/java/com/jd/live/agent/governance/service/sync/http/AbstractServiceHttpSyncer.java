@@ -49,12 +49,19 @@ public abstract class AbstractServiceHttpSyncer<K extends ServiceKey> extends Ab
 
     protected static final String SERVICE_VERSION = "service_version";
 
+    protected static final String CONTENT_TYPE_JSON = "application/json";
+
+    protected static final String CONTENT_TYPE_SMILE = "application/x-jackson-smile";
+
     @Inject(Timer.COMPONENT_TIMER)
     protected Timer timer;
 
     @Inject(ObjectParser.JSON)
     protected ObjectParser jsonParser;
 
+    @Inject(value = ObjectParser.SMILE, nullable = true)
+    protected ObjectParser smileParser;
+
     @Override
     protected Syncer<K, Service> createSyncer() {
         return subscription -> {
@@ -102,8 +109,9 @@ public abstract class AbstractServiceHttpSyncer<K extends ServiceKey> extends Ab
     protected SyncResponse<Service> getResponse(SyncConfig config, String uri) throws IOException {
         HttpResponse<ApiResponse<Service>> response = HttpUtils.get(uri,
                 conn -> configure(config, conn),
-                reader -> jsonParser.read(reader, new TypeReference<ApiResponse<Service>>() {
-                }));
+                this::getParser,
+                new TypeReference<ApiResponse<Service>>() {
+                });
         return ApiResponse.from(response).asSyncResponse();
     }
 
@@ -116,7 +124,18 @@ public abstract class AbstractServiceHttpSyncer<K extends ServiceKey> extends Ab
     protected void configure(SyncConfig config, HttpURLConnection conn) {
         config.header(conn::setRequestProperty);
         application.labelSync(conn::setRequestProperty);
-        conn.setRequestProperty("Accept", "application/json");
+        // the binary policy is preferred if the server supports it.
+        conn.setRequestProperty("Accept", smileParser == null ? CONTENT_TYPE_JSON : CONTENT_TYPE_SMILE + ", " + CONTENT_TYPE_JSON + ";q=0.9");
         conn.setConnectTimeout((int) config.getTimeout());
     }
+
+    /**
+     * Returns the parser of the response body by its content type.
+     *
+     * @param contentType the content type of the response.
+     * @return the smile parser for the binary policy, otherwise the json parser.
+     */
+    protected ObjectParser getParser(String contentType) {
+        return smileParser != null && contentType != null && contentType.startsWith(CONTENT_TYPE_SMILE) ? smileParser : jsonParser;
+    }
 }
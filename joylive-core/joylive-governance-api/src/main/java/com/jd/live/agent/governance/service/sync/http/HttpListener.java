@@ -15,6 +15,8 @@
  */
 package com.jd.live.agent.governance.service.sync.http;
 
+import java.lang.reflect.Type;
+
 /**
  * An interface for listening to HTTP events.
  */
@@ -26,4 +28,13 @@ public interface HttpListener {
      * @param event The event object representing the HTTP event.
      */
     void onUpdate(HttpWatchEvent event);
+
+    /**
+     * Returns the type the documents are bound to.
+     *
+     * @return The type of the documents, or {@code null} to receive the documents as strings.
+     */
+    default Type getType() {
+        return null;
+    }
 }
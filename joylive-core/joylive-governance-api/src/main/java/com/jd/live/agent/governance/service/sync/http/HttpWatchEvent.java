@@ -37,7 +37,7 @@ public class HttpWatchEvent {
     /**
      * The content of the HTTP response, if applicable.
      */
-    private final String data;
+    private final Object data;
 
     /**
      * The exception that occurred during the HTTP request, if applicable.
@@ -45,7 +45,7 @@ public class HttpWatchEvent {
     private final IOException throwable;
 
 
-    public HttpWatchEvent(EventType type, String id, String data) {
+    public HttpWatchEvent(EventType type, String id, Object data) {
         this(type, id, data, null);
     }
 
@@ -53,7 +53,7 @@ public class HttpWatchEvent {
         this(EventType.ERROR, id, null, throwable);
     }
 
-    public HttpWatchEvent(EventType type, String id, String data, IOException throwable) {
+    public HttpWatchEvent(EventType type, String id, Object data, IOException throwable) {
         this.type = type;
         this.id = id;
         this.data = data;
@@ -0,0 +1,58 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.service.sync.http;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A resource in a long-polling request or response of the {@link HttpWatcher}.
+ * <p>
+ * In the request it carries the id and the version of a subscribed resource. In the response it carries a changed
+ * resource with its new version, and its document or the deleted flag.
+ */
+@Getter
+@Setter
+public class HttpWatchItem {
+
+    /**
+     * The id of the resource.
+     */
+    private String id;
+
+    /**
+     * The version or ETag of the resource, which is opaque to the agent.
+     */
+    private String version;
+
+    /**
+     * Whether the resource is deleted.
+     */
+    private boolean deleted;
+
+    /**
+     * The document of the resource, which is bound to the type of the subscription.
+     */
+    private Object data;
+
+    public HttpWatchItem() {
+    }
+
+    public HttpWatchItem(String id, String version) {
+        this.id = id;
+        this.version = version;
+    }
+}
@@ -17,10 +17,13 @@ package com.jd.live.agent.governance.service.sync.http;
 
 import com.jd.live.agent.governance.config.SyncConfig;
 import com.jd.live.agent.core.instance.Application;
-import com.jd.live.agent.core.parser.ObjectReader.StringReader;
+import com.jd.live.agent.core.parser.ObjectParser;
+import com.jd.live.agent.core.parser.ObjectReader;
+import com.jd.live.agent.core.parser.TypeReference;
 import com.jd.live.agent.core.util.Close;
 import com.jd.live.agent.core.util.Daemon;
 import com.jd.live.agent.core.util.Waiter;
+import com.jd.live.agent.core.util.http.HttpHeader;
 import com.jd.live.agent.core.util.http.HttpResponse;
 import com.jd.live.agent.core.util.http.HttpUtils;
 import com.jd.live.agent.governance.service.sync.SyncKey.HttpSyncKey;
@@ -29,9 +32,19 @@ import com.jd.live.agent.governance.service.sync.SyncStatus;
 import com.jd.live.agent.governance.service.sync.Syncer;
 import com.jd.live.agent.governance.service.sync.http.HttpWatchEvent.EventType;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -40,6 +53,15 @@ import java.util.function.Function;
 
 /**
  * A class that watches for changes to HTTP resources and notifies listeners of those changes.
+ * <p>
+ * By default, every subscribed resource is requested in turn on each interval. When a watch url is configured,
+ * the watcher switches to long-polling: it posts all subscriptions with their last known versions in one request,
+ * the server holds the request until a resource changes or the watch timeout elapses, and then answers with only the
+ * changed resources, or with {@code 304 Not Modified} if nothing changed.
+ * <p>
+ * The long-polling response is a stream of JSON lines. Each changed resource is a {@link HttpWatchItem} line, and
+ * unless it's deleted, it's followed by a line with its document. The document is bound by the object parser to the
+ * type of the subscription, so it's parsed only once. Gzip encoded responses are decompressed on the fly.
  */
 public class HttpWatcher implements AutoCloseable {
 
@@ -59,10 +81,37 @@ public class HttpWatcher implements AutoCloseable {
 
     protected final Daemon daemon;
 
+    protected final ObjectParser parser;
+
+    protected final String watchUrl;
+
+    /**
+     * The versions of the resources returned by long-polling, keyed by the resource id.
+     */
+    protected final Map<String, String> versions = new ConcurrentHashMap<>();
+
+    /**
+     * The connection of the pending long-polling request.
+     */
+    protected volatile HttpURLConnection polling;
+
+    protected final AtomicBoolean aborted = new AtomicBoolean();
+
+    /**
+     * Whether a resource is subscribed after the pending long-polling request took its snapshot of the subscriptions.
+     */
+    protected final AtomicBoolean resubscribed = new AtomicBoolean();
+
     public HttpWatcher(String name, SyncConfig config, Application application) {
+        this(name, config, application, null);
+    }
+
+    public HttpWatcher(String name, SyncConfig config, Application application, ObjectParser parser) {
         this.name = name;
         this.config = config;
         this.application = application;
+        this.parser = parser;
+        this.watchUrl = parser == null ? null : config.getWatchUrl();
         this.daemon = Daemon.builder()
                 .name(name)
                 .delay(config.getDelay())
@@ -79,6 +128,7 @@ public class HttpWatcher implements AutoCloseable {
     public void close() throws Exception {
         if (started.compareAndSet(true, false)) {
             waiter.wakeup();
+            abort();
             Close.instance().close(daemon);
         }
     }
@@ -92,7 +142,15 @@ public class HttpWatcher implements AutoCloseable {
     public void subscribe(HttpResource resource, HttpListener listener) {
         if (resource != null && listener != null) {
             if (subscriptions.putIfAbsent(resource, listener) == null) {
-                request(resource, listener);
+                if (isLongPolling()) {
+                    // restart the pending long-polling request to include the new resource. The flag covers the
+                    // request whose connection is not opened yet, see configureWatch.
+                    resubscribed.set(true);
+                    waiter.wakeup();
+                    abort();
+                } else {
+                    request(resource, listener);
+                }
             }
         }
     }
@@ -105,6 +163,7 @@ public class HttpWatcher implements AutoCloseable {
     public void unsubscribe(HttpResource resource) {
         if (resource != null) {
             subscriptions.remove(resource);
+            versions.remove(resource.getId());
         }
     }
 
@@ -117,15 +176,25 @@ public class HttpWatcher implements AutoCloseable {
         return started.get();
     }
 
+    /**
+     * Checks if the watcher works in long-polling mode.
+     *
+     * @return True if long-polling is enabled, false otherwise.
+     */
+    protected boolean isLongPolling() {
+        return watchUrl != null && !watchUrl.isEmpty();
+    }
+
     /**
      * Sends an HTTP request to the specified resource and returns the response.
      *
      * @param resource The resource to request.
+     * @param type     The type to bind the document to, or {@code null} to read the document as a string.
      * @return The HTTP response.
      * @throws IOException If an I/O error occurs during the request.
      */
-    protected HttpResponse<String> request(HttpResource resource) throws IOException {
-        return HttpUtils.get(resource.getUrl(), this::configure, new StringReader<>());
+    protected HttpResponse<Object> request(HttpResource resource, Type type) throws IOException {
+        return HttpUtils.get(resource.getUrl(), this::configure, reader -> read(reader, type));
     }
 
     /**
@@ -136,7 +205,7 @@ public class HttpWatcher implements AutoCloseable {
      */
     protected void request(HttpResource resource, HttpListener listener) {
         try {
-            HttpResponse<String> response = request(resource);
+            HttpResponse<Object> response = request(resource, listener.getType());
             switch (response.getStatus()) {
                 case OK:
                     listener.onUpdate(new HttpWatchEvent(EventType.UPDATE, resource.getId(), response.getData()));
@@ -151,6 +220,8 @@ public class HttpWatcher implements AutoCloseable {
             }
         } catch (IOException e) {
             listener.onUpdate(new HttpWatchEvent(resource.getId(), e));
+        } catch (RuntimeException e) {
+            listener.onUpdate(new HttpWatchEvent(resource.getId(), new IOException("Failed to parse " + resource + ", caused by " + e.getMessage(), e)));
         }
     }
 
@@ -162,17 +233,153 @@ public class HttpWatcher implements AutoCloseable {
         while (isStarted()) {
             counter.incrementAndGet();
             try {
-                for (Map.Entry<HttpResource, HttpListener> entry : subscriptions.entrySet()) {
-                    HttpResource resource = entry.getKey();
-                    HttpListener listener = entry.getValue();
-                    request(resource, listener);
+                if (isLongPolling()) {
+                    if (subscriptions.isEmpty()) {
+                        waiter.await(config.getInterval(), TimeUnit.MILLISECONDS, null);
+                    } else if (!poll()) {
+                        waiter.await(config.getFault(), TimeUnit.MILLISECONDS, null);
+                    }
+                } else {
+                    for (Map.Entry<HttpResource, HttpListener> entry : subscriptions.entrySet()) {
+                        HttpResource resource = entry.getKey();
+                        HttpListener listener = entry.getValue();
+                        request(resource, listener);
+                    }
+                    waiter.await(config.getInterval(), TimeUnit.MILLISECONDS, null);
                 }
-                waiter.await(config.getInterval(), TimeUnit.MILLISECONDS, null);
             } catch (InterruptedException ignored) {
             }
         }
     }
 
+    /**
+     * Sends a long-polling request for all subscribed resources and notifies the listeners of the changed ones.
+     *
+     * @return True if the request is completed or aborted by a new subscription, false if it failed.
+     */
+    protected boolean poll() {
+        // reset the flags before taking the snapshot, so a resource subscribed from now on aborts this request.
+        resubscribed.set(false);
+        aborted.set(false);
+        Map<String, HttpListener> listeners = new HashMap<>(subscriptions.size());
+        List<HttpWatchItem> items = new ArrayList<>(subscriptions.size());
+        for (Map.Entry<HttpResource, HttpListener> entry : subscriptions.entrySet()) {
+            String id = entry.getKey().getId();
+            listeners.put(id, entry.getValue());
+            items.add(new HttpWatchItem(id, versions.get(id)));
+        }
+        StringWriter writer = new StringWriter();
+        parser.write(writer, items);
+        try {
+            HttpResponse<List<HttpWatchItem>> response = HttpUtils.post(watchUrl, this::configureWatch,
+                    writer.toString().getBytes(StandardCharsets.UTF_8),
+                    reader -> read(reader, listeners));
+            switch (response.getStatus()) {
+                case OK:
+                    onChange(response.getData(), listeners);
+                    return true;
+                case NOT_MODIFIED:
+                    return true;
+                default:
+                    return aborted.getAndSet(false);
+            }
+        } catch (CancellationException e) {
+            // a resource is subscribed before the connection is opened.
+            return true;
+        } catch (IOException e) {
+            return aborted.getAndSet(false);
+        } catch (RuntimeException e) {
+            // the response is malformed.
+            return false;
+        } finally {
+            polling = null;
+        }
+    }
+
+    /**
+     * Reads the changed resources of a long-polling response, binding each document to the type of its subscription.
+     *
+     * @param reader    The reader of the response.
+     * @param listeners The listeners keyed by the resource id.
+     * @return The changed resources.
+     * @throws IOException If an I/O error occurs while reading the response.
+     */
+    protected List<HttpWatchItem> read(Reader reader, Map<String, HttpListener> listeners) throws IOException {
+        BufferedReader br = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<HttpWatchItem> result = new ArrayList<>();
+        String line;
+        while ((line = br.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            HttpWatchItem item = parser.read(new StringReader(line), HttpWatchItem.class);
+            if (!item.isDeleted()) {
+                String document = br.readLine();
+                HttpListener listener = item.getId() == null ? null : listeners.get(item.getId());
+                item.setData(read(document == null ? null : new StringReader(document), listener == null ? null : listener.getType()));
+            }
+            result.add(item);
+        }
+        return result;
+    }
+
+    /**
+     * Reads a document, binding it to the specified type.
+     *
+     * @param reader The reader of the document.
+     * @param type   The type to bind the document to, or {@code null} to read the document as a string.
+     * @return The document, or {@code null} if it's empty.
+     * @throws IOException If an I/O error occurs while reading the document.
+     */
+    protected Object read(Reader reader, Type type) throws IOException {
+        if (reader == null) {
+            return null;
+        } else if (type == null) {
+            return new ObjectReader.StringReader<>().read(reader);
+        }
+        BufferedReader br = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        br.mark(1);
+        if (br.read() < 0) {
+            return null;
+        }
+        br.reset();
+        return parser.read(br, type);
+    }
+
+    /**
+     * Notifies the listeners of the changed resources returned by long-polling.
+     *
+     * @param items     The changed resources.
+     * @param listeners The listeners keyed by the resource id.
+     */
+    protected void onChange(List<HttpWatchItem> items, Map<String, HttpListener> listeners) {
+        if (items == null) {
+            return;
+        }
+        for (HttpWatchItem item : items) {
+            HttpListener listener = item.getId() == null ? null : listeners.get(item.getId());
+            if (listener != null) {
+                if (item.getVersion() != null) {
+                    versions.put(item.getId(), item.getVersion());
+                }
+                listener.onUpdate(item.isDeleted()
+                        ? new HttpWatchEvent(EventType.DELETE, item.getId(), null)
+                        : new HttpWatchEvent(EventType.UPDATE, item.getId(), item.getData()));
+            }
+        }
+    }
+
+    /**
+     * Aborts the pending long-polling request.
+     */
+    protected void abort() {
+        HttpURLConnection conn = polling;
+        if (conn != null) {
+            aborted.set(true);
+            conn.disconnect();
+        }
+    }
+
     /**
      * Configures the HTTP connection with the necessary headers and timeout settings.
      *
@@ -185,6 +392,27 @@ public class HttpWatcher implements AutoCloseable {
         conn.setConnectTimeout((int) config.getTimeout());
     }
 
+    /**
+     * Configures the long-polling connection, the read timeout covers the time the server holds the request.
+     * <p>
+     * The connection is published before the subscriptions are checked again, so a resource subscribed in between
+     * either cancels the request here or disconnects it in {@link #abort()}.
+     *
+     * @param conn the HTTP connection to configure.
+     * @throws CancellationException if a resource is subscribed after the snapshot of the subscriptions is taken.
+     */
+    protected void configureWatch(HttpURLConnection conn) {
+        configure(conn);
+        conn.setRequestProperty(HttpHeader.CONTENT_TYPE, "application/json");
+        conn.setRequestProperty("Accept", "application/x-ndjson");
+        conn.setRequestProperty("Long-Polling-Timeout", String.valueOf(config.getWatchTimeout()));
+        conn.setReadTimeout((int) (config.getWatchTimeout() + config.getTimeout()));
+        polling = conn;
+        if (resubscribed.get()) {
+            throw new CancellationException("A resource is subscribed, the long-polling request is restarted.");
+        }
+    }
+
     /**
      * Creates a new Syncer instance for the specified URL and data transformation function.
      *
@@ -193,20 +421,50 @@ public class HttpWatcher implements AutoCloseable {
      * @param <T>      The type of the data to synchronize.
      * @return A new Syncer instance.
      */
+    @SuppressWarnings("unchecked")
     public <K extends HttpSyncKey, T> Syncer<K, T> createSyncer(Function<String, SyncResponse<T>> function) {
+        return createSyncer((Type) null, data -> function.apply((String) data));
+    }
+
+    /**
+     * Creates a new Syncer instance whose documents are bound to the specified type by the object parser.
+     *
+     * @param reference The type of the documents.
+     * @param function  The function to convert the document to the synchronization response.
+     * @param <K>       The type of the synchronization key.
+     * @param <R>       The type of the documents.
+     * @param <T>       The type of the data to synchronize.
+     * @return A new Syncer instance.
+     */
+    @SuppressWarnings("unchecked")
+    public <K extends HttpSyncKey, R, T> Syncer<K, T> createSyncer(TypeReference<R> reference, Function<R, SyncResponse<T>> function) {
+        return createSyncer(reference.getType(), data -> function.apply((R) data));
+    }
+
+    private <K extends HttpSyncKey, T> Syncer<K, T> createSyncer(Type type, Function<Object, SyncResponse<T>> function) {
         return subscription -> {
             try {
-                subscribe(subscription.getKey(), event -> {
-                    switch (event.getType()) {
-                        case UPDATE:
-                            subscription.onUpdate(function.apply(event.getData()));
-                            break;
-                        case DELETE:
-                            subscription.onUpdate(new SyncResponse<>(SyncStatus.NOT_FOUND, null));
-                            break;
-                        case ERROR:
-                            subscription.onUpdate(new SyncResponse<>(event.getThrowable()));
-                            break;
+                subscribe(subscription.getKey(), new HttpListener() {
+                    @Override
+                    public void onUpdate(HttpWatchEvent event) {
+                        switch (event.getType()) {
+                            case UPDATE:
+                                subscription.onUpdate(event.getData() == null
+                                        ? new SyncResponse<>(SyncStatus.NOT_FOUND, null)
+                                        : function.apply(event.getData()));
+                                break;
+                            case DELETE:
+                                subscription.onUpdate(new SyncResponse<>(SyncStatus.NOT_FOUND, null));
+                                break;
+                            case ERROR:
+                                subscription.onUpdate(new SyncResponse<>(event.getThrowable()));
+                                break;
+                        }
+                    }
+
+                    @Override
+                    public Type getType() {
+                        return type;
                     }
                 });
             } catch (Throwable e) {
@@ -0,0 +1,188 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.util;
+
+/**
+ * A small hand-written SQL lexer that classifies statements as read or write.
+ * <p>
+ * The statement is tokenized instead of being matched by regular expressions, so that keywords inside string
+ * literals, quoted identifiers and comments are ignored, and only whole words are treated as keywords.
+ * </p>
+ * <p>
+ * The dialect of the statement is unknown, so it is scanned twice: once with standard quoting rules
+ * ({@code ''} escapes and dollar-quoted strings as in PostgreSQL) and once with MySQL quoting rules (backslash escapes).
+ * The statement is a write operation if either scan finds a write keyword, which errs on the side of protection.
+ * </p>
+ */
+public class SqlClassifier {
+
+    private static final String[] WRITE_KEYWORDS = new String[]{
+            "INSERT", "UPDATE", "DELETE", "CREATE", "ALTER", "DROP", "TRUNCATE"
+    };
+
+    private static final int MIN_KEYWORD_LENGTH = 4;
+
+    private static final int MAX_KEYWORD_LENGTH = 8;
+
+    /**
+     * Determines if the SQL statement is a write operation.
+     *
+     * @param sql the SQL statement
+     * @return {@code true} if the SQL statement contains a write keyword outside literals and comments.
+     */
+    public static boolean isWrite(String sql) {
+        return sql != null && !sql.isEmpty() && (isWrite(sql, false) || isWrite(sql, true));
+    }
+
+    /**
+     * Scans the SQL statement for write keywords.
+     *
+     * @param sql   the SQL statement
+     * @param mysql {@code true} to apply MySQL quoting rules, {@code false} to apply standard quoting rules
+     * @return {@code true} if a write keyword is found.
+     */
+    private static boolean isWrite(String sql, boolean mysql) {
+        int length = sql.length();
+        int pos = 0;
+        char ch;
+        while (pos < length) {
+            ch = sql.charAt(pos);
+            if (isWordStart(ch)) {
+                int start = pos++;
+                while (pos < length && isWordPart(sql.charAt(pos))) {
+                    pos++;
+                }
+                if (isWriteKeyword(sql, start, pos - start)) {
+                    return true;
+                }
+            } else if (Character.isDigit(ch)) {
+                // numbers and suffixes such as 1e10 are not keywords
+                pos++;
+                while (pos < length && isWordPart(sql.charAt(pos))) {
+                    pos++;
+                }
+            } else if (ch == '\'') {
+                pos = skipQuoted(sql, pos + 1, '\'', mysql);
+            } else if (ch == '"') {
+                pos = skipQuoted(sql, pos + 1, '"', mysql);
+            } else if (ch == '`') {
+                pos = skipQuoted(sql, pos + 1, '`', false);
+            } else if (ch == '-' && isLineComment(sql, pos)) {
+                pos = skipLine(sql, pos + 2);
+            } else if (ch == '/' && pos + 1 < length && sql.charAt(pos + 1) == '*') {
+                if (pos + 2 < length && sql.charAt(pos + 2) == '!') {
+                    // MySQL executable comment, its content is part of the statement.
+                    pos += 3;
+                } else {
+                    pos = skipBlock(sql, pos + 2);
+                }
+            } else if (ch == '$' && !mysql) {
+                pos = skipDollar(sql, pos);
+            } else {
+                pos++;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWordStart(char ch) {
+        return ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z' || ch == '_' || ch > 127 && Character.isLetter(ch);
+    }
+
+    private static boolean isWordPart(char ch) {
+        return isWordStart(ch) || ch >= '0' && ch <= '9' || ch == '$';
+    }
+
+    private static boolean isWriteKeyword(String sql, int start, int length) {
+        if (length < MIN_KEYWORD_LENGTH || length > MAX_KEYWORD_LENGTH) {
+            return false;
+        }
+        for (String keyword : WRITE_KEYWORDS) {
+            if (keyword.length() == length && sql.regionMatches(true, start, keyword, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a line comment starts at the position. The comment marker must be followed by a whitespace
+     * as MySQL requires, otherwise the text is scanned as part of the statement.
+     */
+    private static boolean isLineComment(String sql, int pos) {
+        int next = pos + 2;
+        return next <= sql.length()
+                && sql.charAt(pos + 1) == '-'
+                && (next == sql.length() || Character.isWhitespace(sql.charAt(next)));
+    }
+
+    private static int skipQuoted(String sql, int pos, char quote, boolean backslash) {
+        int length = sql.length();
+        char ch;
+        while (pos < length) {
+            ch = sql.charAt(pos++);
+            if (ch == quote) {
+                if (pos < length && sql.charAt(pos) == quote) {
+                    // escaped by doubling
+                    pos++;
+                } else {
+                    return pos;
+                }
+            } else if (ch == '\\' && backslash) {
+                pos++;
+            }
+        }
+        return length;
+    }
+
+    private static int skipLine(String sql, int pos) {
+        int length = sql.length();
+        char ch;
+        while (pos < length) {
+            ch = sql.charAt(pos++);
+            if (ch == '\n' || ch == '\r') {
+                return pos;
+            }
+        }
+        return length;
+    }
+
+    private static int skipBlock(String sql, int pos) {
+        int end = sql.indexOf("*/", pos);
+        return end < 0 ? sql.length() : end + 2;
+    }
+
+    /**
+     * Skips a dollar-quoted string such as {@code $$text$$} or {@code $tag$text$tag$}.
+     * Positional parameters such as {@code $1} are skipped as ordinary characters.
+     */
+    private static int skipDollar(String sql, int pos) {
+        int length = sql.length();
+        int end = pos + 1;
+        while (end < length && sql.charAt(end) != '$') {
+            if (!isWordStart(sql.charAt(end)) && (end == pos + 1 || !Character.isDigit(sql.charAt(end)))) {
+                return pos + 1;
+            }
+            end++;
+        }
+        if (end >= length) {
+            return pos + 1;
+        }
+        String tag = sql.substring(pos, end + 1);
+        int close = sql.indexOf(tag, end + 1);
+        return close < 0 ? length : close + tag.length();
+    }
+}
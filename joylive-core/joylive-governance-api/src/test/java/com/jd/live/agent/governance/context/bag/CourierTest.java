@@ -0,0 +1,171 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.context.bag;
+
+import com.jd.live.agent.governance.config.GovernanceConfig;
+import com.jd.live.agent.governance.context.CarrierCamera;
+import com.jd.live.agent.governance.context.RequestContext;
+import com.jd.live.agent.governance.context.bag.live.LiveCargoRequire;
+import com.jd.live.agent.governance.context.bag.live.LivePropagation;
+import com.jd.live.agent.governance.request.HeaderReader.StringMapReader;
+import com.jd.live.agent.governance.request.HeaderWriter.StringMapWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+public class CourierTest {
+
+    private static final int WARMUP = 20000;
+
+    private static final int ITERATIONS = 100000;
+
+    @Test
+    void testCopyOnWrite() {
+        Courier source = new Courier();
+        source.addCargo("x-live-unit", "unit1");
+        source.addCargo("x-live-cell", "cell1");
+        Carrier target = source.copy();
+        Assertions.assertSame(source.getCargo("x-live-unit"), target.getCargo("x-live-unit"));
+
+        target.addCargo("x-live-cell", "cell2");
+        target.addCargo("x-live-lane", "lane1");
+        target.removeCargo("x-live-unit");
+        Assertions.assertEquals("cell1", source.getCargo("x-live-cell").getValue());
+        Assertions.assertEquals("unit1", source.getCargo("x-live-unit").getValue());
+        Assertions.assertNull(source.getCargo("x-live-lane"));
+        Assertions.assertEquals(2, source.size());
+        Assertions.assertEquals("[cell1|cell2]", target.getCargo("x-live-cell").getValue());
+        Assertions.assertNull(target.getCargo("x-live-unit"));
+        Assertions.assertEquals(2, target.size());
+
+        source.setCargo("x-live-cell", "cell3");
+        Assertions.assertEquals("cell3", source.getCargo("x-live-cell").getValue());
+        Assertions.assertEquals("[cell1|cell2]", target.getCargo("x-live-cell").getValue());
+    }
+
+    @Test
+    void testOrder() {
+        Courier courier = new Courier();
+        for (int i = 0; i < 10; i++) {
+            courier.addCargo("key" + i, "value" + i);
+        }
+        List<String> keys = new ArrayList<>();
+        courier.cargos(cargo -> keys.add(cargo.getKey()));
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("key" + i, keys.get(i));
+        }
+        Assertions.assertEquals(10, courier.getCargos().size());
+    }
+
+    @Test
+    void testCopyConcurrently() throws InterruptedException {
+        Courier source = new Courier();
+        source.addCargo("x-live-unit", "unit1");
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 10000; i++) {
+                source.setCargo("x-live-cell", "cell" + i);
+                source.setAttribute("attr", i);
+            }
+        });
+        writer.start();
+        List<Carrier> copies = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            copies.add(source.copy());
+        }
+        writer.join();
+        for (Carrier copy : copies) {
+            Assertions.assertEquals("unit1", copy.getCargo("x-live-unit").getValue());
+        }
+        Assertions.assertEquals("cell9999", source.getCargo("x-live-cell").getValue());
+        Assertions.assertEquals(2, source.size());
+    }
+
+    @Test
+    void testSnapshot() {
+        RequestContext.create().addCargo("x-live-unit", "unit1");
+        try {
+            CarrierCamera camera = new CarrierCamera();
+            Carrier snapshot = (Carrier) camera.snapshot();
+            Assertions.assertNotSame(RequestContext.get(), snapshot);
+            Assertions.assertSame(RequestContext.get().getCargo("x-live-unit"), snapshot.getCargo("x-live-unit"));
+            snapshot.addCargo("x-live-unit", "unit2");
+            Assertions.assertEquals("unit1", RequestContext.get().getCargo("x-live-unit").getValue());
+        } finally {
+            RequestContext.remove();
+        }
+    }
+
+    /**
+     * Measures the allocation of a propagate and restore cycle, it's a rough benchmark and only prints the result.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkAllocation() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean mxBean = (com.sun.management.ThreadMXBean) bean;
+        if (!mxBean.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        GovernanceConfig config = new GovernanceConfig();
+        config.getTransmitConfig().setPrefixes(new HashSet<>(Collections.singletonList("x-live-")));
+        Propagation propagation = new LivePropagation(Collections.singletonList(new LiveCargoRequire(config)));
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-live-space-id", "v4bEh4kd6Jvu5QBX09qYq-qlbcs");
+        headers.put("x-live-rule-id", "1003");
+        headers.put("x-live-uid", "1234");
+        headers.put("x-lane-space-id", "1");
+        headers.put("x-lane-code", "beta");
+        headers.put("content-type", "application/json");
+        Map<String, String> output = new HashMap<>();
+        StringMapReader reader = new StringMapReader(headers);
+        StringMapWriter writer = new StringMapWriter(output);
+
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            cycle(propagation, reader, writer);
+        }
+        long start = mxBean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            cycle(propagation, reader, writer);
+        }
+        long propagate = (mxBean.getThreadAllocatedBytes(thread) - start) / ITERATIONS;
+
+        Courier courier = new Courier();
+        propagation.read(courier, reader);
+        for (int i = 0; i < WARMUP; i++) {
+            courier.copy();
+        }
+        start = mxBean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            courier.copy();
+        }
+        long copy = (mxBean.getThreadAllocatedBytes(thread) - start) / ITERATIONS;
+        System.out.println("Allocation per propagate and restore cycle: " + propagate + " bytes, per copy: " + copy + " bytes");
+    }
+
+    private void cycle(Propagation propagation, StringMapReader reader, StringMapWriter writer) {
+        Courier courier = new Courier();
+        propagation.read(courier, reader);
+        propagation.write(courier.copy(), writer);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.instance;
+
+import com.jd.live.agent.core.Constants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EndpointLabelCacheTest {
+
+    @Test
+    void testShared() {
+        EndpointLabelCache<Provider> cache = new EndpointLabelCache<>();
+        Provider provider = new Provider("space1", "unit1", "lane1");
+        TestEndpoint first = cache.get(provider, TestEndpoint::new, TestEndpoint::new);
+        Assertions.assertEquals("unit1", first.getUnit());
+        int reads = provider.reads.get();
+        Assertions.assertTrue(reads > 0);
+        // another interceptor wrapping the same provider reuses the snapshot
+        TestEndpoint second = cache.get(provider, TestEndpoint::new, TestEndpoint::new);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals("space1", second.getLiveSpaceId());
+        Assertions.assertEquals("unit1", second.getUnit());
+        Assertions.assertEquals("lane1", second.getLane());
+        Assertions.assertEquals(reads, provider.reads.get());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testIdentity() {
+        EndpointLabelCache<Provider> cache = new EndpointLabelCache<>();
+        Provider provider1 = new Provider("space1", "unit1", "lane1");
+        Provider provider2 = new Provider("space1", "unit2", "lane1");
+        Assertions.assertEquals("unit1", cache.get(provider1, TestEndpoint::new, TestEndpoint::new).getUnit());
+        Assertions.assertEquals("unit2", cache.get(provider2, TestEndpoint::new, TestEndpoint::new).getUnit());
+        Assertions.assertEquals("unit1", cache.get(provider1).getUnit());
+        Assertions.assertEquals("unit2", cache.get(provider2).getUnit());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testReleased() throws InterruptedException {
+        EndpointLabelCache<Provider> cache = new EndpointLabelCache<>();
+        Provider provider = new Provider("space1", "unit1", "lane1");
+        cache.get(provider, TestEndpoint::new, TestEndpoint::new);
+        cache.get(new Provider("space1", "unit2", "lane1"), TestEndpoint::new, TestEndpoint::new);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.size() > 1 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertNotNull(cache.get(provider));
+    }
+
+    private static class Provider {
+
+        private final Map<String, String> labels = new HashMap<>();
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        Provider(String liveSpaceId, String unit, String lane) {
+            labels.put(Constants.LABEL_LIVE_SPACE_ID, liveSpaceId);
+            labels.put(Constants.LABEL_UNIT, unit);
+            labels.put(Constants.LABEL_LANE, lane);
+        }
+
+        String getLabel(String key) {
+            reads.incrementAndGet();
+            return labels.get(key);
+        }
+    }
+
+    private static class TestEndpoint extends AbstractEndpoint {
+
+        private final Provider provider;
+
+        TestEndpoint(Provider provider) {
+            this.provider = provider;
+        }
+
+        TestEndpoint(Provider provider, EndpointLabels labels) {
+            super(labels);
+            this.provider = provider;
+        }
+
+        @Override
+        public String getHost() {
+            return "127.0.0.1";
+        }
+
+        @Override
+        public int getPort() {
+            return 8080;
+        }
+
+        @Override
+        public String getLabel(String key) {
+            return provider.getLabel(key);
+        }
+
+        @Override
+        public EndpointState getState() {
+            return EndpointState.HEALTHY;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.policy;
+
+import com.jd.live.agent.governance.policy.service.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class GovernancePolicyTest {
+
+    private static final String OWNER = "test";
+
+    @Test
+    void testStructuralSharing() {
+        GovernancePolicy policy = createPolicy();
+        Service a = policy.getService("a");
+        Service b = policy.getService("b");
+        ServicePolicy aPolicy = getServicePolicy(a);
+        ServicePolicy bPolicy = getServicePolicy(b);
+
+        GovernancePolicy update = policy.copy();
+        update.setServices(update.onUpdate(createService("b", 2), MergePolicy.ALL, OWNER));
+        update.cache();
+
+        // unchanged service keeps its instances
+        Assertions.assertSame(a, update.getService("a"));
+        Assertions.assertSame(aPolicy, getServicePolicy(update.getService("a")));
+        // changed service is copied, and the current policy is not modified
+        Service newB = update.getService("b");
+        Assertions.assertNotSame(b, newB);
+        Assertions.assertNotSame(bPolicy, getServicePolicy(newB));
+        Assertions.assertEquals(2, newB.getVersion());
+        Assertions.assertSame(b, policy.getService("b"));
+        Assertions.assertEquals(1, b.getVersion());
+        Assertions.assertSame(bPolicy, getServicePolicy(b));
+    }
+
+    @Test
+    void testDeleteKeepsCurrentPolicy() {
+        GovernancePolicy policy = createPolicy();
+        Service a = policy.getService("a");
+
+        GovernancePolicy update = policy.copy();
+        update.setServices(update.onDelete("b", MergePolicy.ALL, OWNER));
+        update.cache();
+
+        Assertions.assertSame(a, update.getService("a"));
+        Assertions.assertNull(update.getService("b"));
+        Assertions.assertNotNull(policy.getService("b"));
+    }
+
+    @Test
+    void testOwnRestoredService() {
+        // the services restored from the snapshot have no owner.
+        GovernancePolicy policy = new GovernancePolicy();
+        policy.setServices(Arrays.asList(createService("a", 1), createService("b", 1)));
+        policy.cache();
+        Service a = policy.getService("a");
+        Assertions.assertFalse(a.getOwners().hasOwner());
+
+        // the first sync of the same version adds the owner.
+        GovernancePolicy update = policy.copy();
+        update.setServices(update.onUpdate(createService("a", 1), MergePolicy.ALL, OWNER));
+        update.cache();
+        Service newA = update.getService("a");
+        Assertions.assertNotSame(a, newA);
+        Assertions.assertTrue(newA.getOwners().hasOwner(OWNER));
+        Assertions.assertFalse(a.getOwners().hasOwner());
+        Assertions.assertFalse(update.getService("b").getOwners().hasOwner());
+
+        // then the same version is not changed any more.
+        GovernancePolicy next = update.copy();
+        next.setServices(next.onUpdate(createService("a", 1), MergePolicy.ALL, OWNER));
+        next.cache();
+        Assertions.assertSame(newA, next.getService("a"));
+    }
+
+    private static GovernancePolicy createPolicy() {
+        GovernancePolicy policy = new GovernancePolicy();
+        policy.setServices(policy.onUpdate(Arrays.asList(createService("a", 1), createService("b", 1)), null, MergePolicy.ALL, OWNER));
+        policy.cache();
+        return policy;
+    }
+
+    private static Service createService(String name, long version) {
+        Service service = new Service(name);
+        service.setVersion(version);
+        service.addGroup(new ServiceGroup(PolicyId.DEFAULT_GROUP, true, new ServicePolicy()));
+        return service;
+    }
+
+    private static ServicePolicy getServicePolicy(Service service) {
+        return service.getGroup(PolicyId.DEFAULT_GROUP).getServicePolicy();
+    }
+}
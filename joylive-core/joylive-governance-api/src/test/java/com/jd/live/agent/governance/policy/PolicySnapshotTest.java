@@ -0,0 +1,227 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.policy;
+
+import com.jd.live.agent.core.instance.Application;
+import com.jd.live.agent.core.parser.ObjectParser;
+import com.jd.live.agent.core.util.template.Template;
+import com.jd.live.agent.core.util.time.TimeTask;
+import com.jd.live.agent.core.util.time.Timeout;
+import com.jd.live.agent.core.util.time.Timer;
+import com.jd.live.agent.governance.config.SyncConfig;
+import com.jd.live.agent.governance.policy.service.Service;
+import com.jd.live.agent.governance.service.sync.SyncKey.ServiceKey;
+import com.jd.live.agent.governance.service.sync.http.AbstractServiceHttpSyncer;
+import com.jd.live.agent.governance.subscription.policy.PolicyEvent;
+import com.jd.live.agent.governance.subscription.policy.PolicyWatcher;
+import com.jd.live.agent.governance.subscription.policy.listener.ServiceEvent;
+import com.jd.live.agent.implement.parser.jackson.JacksonSnapshotParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PolicySnapshotTest {
+
+    private static final long MAX_AGE = 60 * 60 * 1000L;
+
+    private final ObjectParser parser = new JacksonSnapshotParser();
+
+    @TempDir
+    File dir;
+
+    @Test
+    void testSaveAndLoad() {
+        File file = new File(dir, "policy.snapshot");
+        PolicySnapshot snapshot = new PolicySnapshot(file, parser, MAX_AGE);
+        Assertions.assertNull(snapshot.load());
+
+        Assertions.assertTrue(snapshot.save(createPolicy("a", 1, "b", 2)));
+        // the temporary file is renamed to the snapshot.
+        Assertions.assertEquals(Arrays.asList("policy.snapshot"), Arrays.asList(dir.list()));
+        GovernancePolicy policy = snapshot.load();
+        Assertions.assertNotNull(policy);
+        policy.cache();
+        Assertions.assertEquals(2, policy.getServices().size());
+        Assertions.assertEquals(1, policy.getService("a").getVersion());
+        Assertions.assertEquals(2, policy.getService("b").getVersion());
+
+        // the snapshot is replaced by the next one.
+        Assertions.assertTrue(snapshot.save(createPolicy("a", 3)));
+        policy = snapshot.load();
+        Assertions.assertNotNull(policy);
+        Assertions.assertEquals(1, policy.getServices().size());
+        Assertions.assertEquals(3, policy.getServices().get(0).getVersion());
+    }
+
+    @Test
+    void testCorruptedSnapshot() throws IOException {
+        File file = new File(dir, "policy.snapshot");
+        PolicySnapshot snapshot = new PolicySnapshot(file, parser, MAX_AGE);
+        Assertions.assertTrue(snapshot.save(createPolicy("a", 1)));
+        byte[] data = Files.readAllBytes(file.toPath());
+
+        // checksum mismatched
+        byte[] corrupted = data.clone();
+        corrupted[corrupted.length - 1] ^= 0x7F;
+        Files.write(file.toPath(), corrupted);
+        Assertions.assertNull(snapshot.load());
+
+        // truncated
+        Files.write(file.toPath(), Arrays.copyOf(data, data.length - 1));
+        Assertions.assertNull(snapshot.load());
+
+        // unknown format
+        Files.write(file.toPath(), new byte[]{1, 2, 3});
+        Assertions.assertNull(snapshot.load());
+    }
+
+    @Test
+    void testExpiredSnapshot() throws IOException {
+        File file = new File(dir, "policy.snapshot");
+        Assertions.assertTrue(new PolicySnapshot(file, parser, MAX_AGE).save(createPolicy("a", 1)));
+        byte[] data = Files.readAllBytes(file.toPath());
+        // the creation time follows the magic number and the version.
+        ByteBuffer.wrap(data).putLong(6, System.currentTimeMillis() - MAX_AGE - 1000);
+        Files.write(file.toPath(), data);
+
+        Assertions.assertNull(new PolicySnapshot(file, parser, MAX_AGE).load());
+        Assertions.assertNotNull(new PolicySnapshot(file, parser, 0).load());
+    }
+
+    @Test
+    void testServerUnavailable() throws IOException {
+        File file = new File(dir, "policy.snapshot");
+        Assertions.assertTrue(new PolicySnapshot(file, parser, MAX_AGE).save(createPolicy("a", 1)));
+        GovernancePolicy policy = new PolicySnapshot(file, parser, MAX_AGE).load();
+        Assertions.assertNotNull(policy);
+        policy.cache();
+
+        // the subscription of a service in the snapshot is completed at once.
+        PolicySubscription subscription = new PolicySubscription("a", null, PolicyWatcher.TYPE_SERVICE_SPACE, null);
+        Assertions.assertTrue(subscription.complete());
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<PolicyEvent> events = new ArrayList<>();
+        ManualTimer timer = new ManualTimer();
+        UnavailableSyncer syncer = new UnavailableSyncer("http://127.0.0.1:" + port + "/services/${service_name}", timer);
+        syncer.addListener(PolicyWatcher.TYPE_SERVICE_SPACE, events::add);
+        syncer.sync(subscription);
+
+        // the error neither fails the subscription nor removes the service of the snapshot.
+        Assertions.assertTrue(subscription.getFuture().isDone());
+        Assertions.assertFalse(subscription.getFuture().isCompletedExceptionally());
+        Assertions.assertTrue(events.isEmpty());
+        Assertions.assertEquals(1, policy.getService("a").getVersion());
+        // the service is synchronized again later.
+        Assertions.assertEquals(1, timer.tasks.size());
+    }
+
+    private static GovernancePolicy createPolicy(Object... args) {
+        List<Service> services = new ArrayList<>();
+        for (int i = 0; i < args.length; i += 2) {
+            Service service = new Service((String) args[i]);
+            service.setVersion((Integer) args[i + 1]);
+            services.add(service);
+        }
+        GovernancePolicy result = new GovernancePolicy();
+        result.setServices(services);
+        return result;
+    }
+
+    /**
+     * A service syncer whose server is unavailable.
+     */
+    private static class UnavailableSyncer extends AbstractServiceHttpSyncer<ServiceKey> {
+
+        private final SyncConfig config = new SyncConfig();
+
+        UnavailableSyncer(String url, Timer timer) {
+            this.name = "test";
+            this.timer = timer;
+            this.jsonParser = new JacksonSnapshotParser();
+            this.application = new Application();
+            this.template = new Template(url);
+            this.syncer = createSyncer();
+            config.setTimeout(1000);
+        }
+
+        void sync(PolicySubscription subscription) {
+            syncAndUpdate(subscription);
+        }
+
+        @Override
+        public boolean isStarted() {
+            return true;
+        }
+
+        @Override
+        protected SyncConfig getSyncConfig() {
+            return config;
+        }
+
+        @Override
+        protected ServiceKey createServiceKey(PolicySubscription subscriber) {
+            return new ServiceKey(subscriber);
+        }
+
+        @Override
+        protected void addTask(PolicySubscription task) {
+            subscribers.add(task);
+        }
+
+        @Override
+        protected void configure(ServiceEvent event) {
+        }
+    }
+
+    /**
+     * A timer which keeps the delayed tasks without running them.
+     */
+    private static class ManualTimer implements Timer {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public Timeout add(String name, long time, Runnable runnable) {
+            tasks.add(runnable);
+            return null;
+        }
+
+        @Override
+        public Timeout delay(String name, long delay, Runnable runnable) {
+            tasks.add(runnable);
+            return null;
+        }
+
+        @Override
+        public Timeout add(TimeTask task) {
+            tasks.add(task);
+            return null;
+        }
+    }
+}
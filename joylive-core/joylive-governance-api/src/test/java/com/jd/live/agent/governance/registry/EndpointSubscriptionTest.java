@@ -0,0 +1,269 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.registry;
+
+import com.jd.live.agent.core.Constants;
+import com.jd.live.agent.core.util.time.TimeTask;
+import com.jd.live.agent.core.util.time.Timeout;
+import com.jd.live.agent.core.util.time.Timer;
+import com.jd.live.agent.governance.config.RegistryConfig;
+import com.jd.live.agent.governance.instance.AbstractEndpoint;
+import com.jd.live.agent.governance.instance.Endpoint;
+import com.jd.live.agent.governance.instance.EndpointState;
+import com.jd.live.agent.governance.request.ServiceRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class EndpointSubscriptionTest {
+
+    private final ManualTimer timer = new ManualTimer();
+
+    private final List<EndpointEvent> events = new ArrayList<>();
+
+    @Test
+    void testCoalesce() {
+        EndpointSubscription subscription = createSubscription(100, 1000);
+        Assertions.assertFalse(subscription.hasEndpoints());
+        // the first update is applied at once.
+        subscription.update(endpoints("a", "b"));
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertTrue(subscription.hasEndpoints());
+        Assertions.assertTrue(timer.tasks.isEmpty());
+
+        // the burst is applied once after the quiet period.
+        subscription.update(endpoints("a"));
+        timer.advance(50);
+        subscription.update(endpoints("a", "c"));
+        timer.advance(90);
+        subscription.update(endpoints("a", "d"));
+        Assertions.assertEquals(1, events.size());
+        timer.advance(99);
+        Assertions.assertEquals(1, events.size());
+        timer.advance(1);
+        Assertions.assertEquals(2, events.size());
+        EndpointEvent event = events.get(1);
+        Assertions.assertEquals(2, event.getEndpoints().size());
+        Assertions.assertEquals(Collections.singletonList("d"), hosts(event.getAdds()));
+        Assertions.assertEquals(Collections.singletonList("b"), hosts(event.getRemoves()));
+        Assertions.assertTrue(event.getUpdates().isEmpty());
+        Assertions.assertTrue(timer.tasks.isEmpty());
+    }
+
+    @Test
+    void testMaxDelay() {
+        EndpointSubscription subscription = createSubscription(100, 1000);
+        subscription.update(endpoints("a"));
+        Assertions.assertEquals(1, events.size());
+
+        // the updates keep coming faster than the quiet period.
+        for (int i = 0; i < 19; i++) {
+            subscription.update(endpoints("a", "b" + i));
+            timer.advance(50);
+        }
+        Assertions.assertEquals(1, events.size());
+        subscription.update(endpoints("a", "c"));
+        timer.advance(50);
+        // flushed at the max delay.
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertEquals(1000, timer.now);
+        Assertions.assertEquals(Collections.singletonList("c"), hosts(events.get(1).getAdds()));
+    }
+
+    @Test
+    void testSuppressed() {
+        EndpointSubscription subscription = createSubscription(0, 0);
+        subscription.update(endpoints("a", "b"));
+        Assertions.assertEquals(1, events.size());
+
+        // the same endpoints are suppressed.
+        subscription.update(endpoints("a", "b"));
+        Assertions.assertEquals(1, events.size());
+
+        // the changed label, weight and state are not suppressed.
+        List<TestEndpoint> endpoints = endpoints("a", "b");
+        endpoints.get(0).labels.put("version", "2");
+        subscription.update(endpoints);
+        assertUpdate("a");
+
+        endpoints = endpoints("a", "b");
+        endpoints.get(0).labels.put("version", "2");
+        endpoints.get(1).labels.put(Constants.LABEL_WEIGHT, "50");
+        subscription.update(endpoints);
+        assertUpdate("b");
+
+        endpoints = endpoints("a", "b");
+        endpoints.get(0).labels.put("version", "2");
+        endpoints.get(1).labels.put(Constants.LABEL_WEIGHT, "50");
+        endpoints.get(1).state = EndpointState.DISABLE;
+        subscription.update(endpoints);
+        assertUpdate("b");
+        Assertions.assertTrue(timer.tasks.isEmpty());
+    }
+
+    private void assertUpdate(String host) {
+        Assertions.assertEquals(2, events.size());
+        EndpointEvent event = events.remove(1);
+        Assertions.assertTrue(event.getAdds().isEmpty());
+        Assertions.assertTrue(event.getRemoves().isEmpty());
+        Assertions.assertEquals(Collections.singletonList(host), hosts(event.getUpdates()));
+    }
+
+    private EndpointSubscription createSubscription(long delay, long maxDelay) {
+        RegistryConfig config = new RegistryConfig();
+        config.setSubscribeDelay(delay);
+        config.setSubscribeMaxDelay(maxDelay);
+        EndpointSubscription result = new EndpointSubscription("service", config, timer, () -> timer.now);
+        result.addConsumer(events::add);
+        return result;
+    }
+
+    private static List<TestEndpoint> endpoints(String... hosts) {
+        List<TestEndpoint> result = new ArrayList<>();
+        for (String host : hosts) {
+            result.add(new TestEndpoint(host));
+        }
+        return result;
+    }
+
+    private static List<String> hosts(List<? extends Endpoint> endpoints) {
+        List<String> result = new ArrayList<>();
+        endpoints.forEach(e -> result.add(e.getHost()));
+        return result;
+    }
+
+    private static class TestEndpoint extends AbstractEndpoint {
+
+        private final String host;
+
+        private final Map<String, String> labels = new HashMap<>();
+
+        private EndpointState state = EndpointState.HEALTHY;
+
+        TestEndpoint(String host) {
+            this.host = host;
+            labels.put(Constants.LABEL_UNIT, "unit1");
+        }
+
+        @Override
+        public String getHost() {
+            return host;
+        }
+
+        @Override
+        public int getPort() {
+            return 8080;
+        }
+
+        @Override
+        public String getLabel(String key) {
+            return labels.get(key);
+        }
+
+        @Override
+        public Map<String, String> getLabels() {
+            return labels;
+        }
+
+        @Override
+        public EndpointState getState() {
+            return state;
+        }
+
+        @Override
+        public Integer getWeight(ServiceRequest request) {
+            // the weight depends on the method of the request like dubbo.
+            String weight = getLabel(request.getMethod() + "." + Constants.LABEL_WEIGHT);
+            return weight == null ? getOriginWeight() : Integer.valueOf(weight);
+        }
+    }
+
+    /**
+     * A timer with a manual clock, the tasks are run when the clock is advanced to their time.
+     */
+    private static class ManualTimer implements Timer {
+
+        private final List<Task> tasks = new ArrayList<>();
+
+        private long now;
+
+        @Override
+        public Timeout add(String name, long time, Runnable runnable) {
+            Task task = new Task(time, runnable);
+            tasks.add(task);
+            return task;
+        }
+
+        @Override
+        public Timeout delay(String name, long delay, Runnable runnable) {
+            return add(name, now + delay, runnable);
+        }
+
+        @Override
+        public Timeout add(TimeTask task) {
+            return add(task.getName(), task.getTime(), task);
+        }
+
+        void advance(long millis) {
+            long target = now + millis;
+            Task task;
+            while ((task = next(target)) != null) {
+                tasks.remove(task);
+                now = task.time;
+                task.runnable.run();
+            }
+            now = target;
+        }
+
+        private Task next(long target) {
+            Task result = null;
+            for (Task task : tasks) {
+                if (task.time <= target && (result == null || task.time < result.time)) {
+                    result = task;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class Task implements Timeout {
+
+        private final long time;
+
+        private final Runnable runnable;
+
+        Task(long time, Runnable runnable) {
+            this.time = time;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean cancel() {
+            return false;
+        }
+    }
+}
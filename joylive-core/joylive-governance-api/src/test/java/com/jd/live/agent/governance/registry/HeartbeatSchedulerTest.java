@@ -0,0 +1,212 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.registry;
+
+import com.jd.live.agent.core.event.EventHandler;
+import com.jd.live.agent.core.event.Publisher;
+import com.jd.live.agent.core.util.time.TimeTask;
+import com.jd.live.agent.core.util.time.Timeout;
+import com.jd.live.agent.core.util.time.Timer;
+import com.jd.live.agent.governance.config.RegistryConfig;
+import com.jd.live.agent.governance.registry.RegistryEvent.EventType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class HeartbeatSchedulerTest {
+
+    @Test
+    void testSpreadHeartbeats() {
+        RegistryConfig config = new RegistryConfig();
+        config.setHeartbeatInterval(4000);
+        CountingRegistry registry = new CountingRegistry();
+        ManualTimer timer = new ManualTimer();
+        HeartbeatScheduler scheduler = new HeartbeatScheduler(registry, config, timer);
+        for (int i = 0; i < 4; i++) {
+            scheduler.add(createInstance("dubbo", "service-" + i));
+        }
+        Assertions.assertEquals(1, timer.tasks.size());
+        Assertions.assertEquals(4000, timer.tasks.peek().delay);
+        for (int i = 0; i < 8; i++) {
+            timer.runNext();
+            Assertions.assertEquals(1, timer.tasks.size());
+            Assertions.assertEquals(1000, timer.tasks.peek().delay);
+        }
+        // one call per heartbeat, every instance twice in two rounds.
+        Assertions.assertEquals(8, registry.events.size());
+        Map<String, Integer> counts = new HashMap<>();
+        registry.events.forEach(e -> {
+            Assertions.assertEquals(EventType.HEARTBEAT, e.getType());
+            counts.merge(e.getInstance().getService(), 1, Integer::sum);
+        });
+        Assertions.assertEquals(4, counts.size());
+        counts.values().forEach(count -> Assertions.assertEquals(2, count));
+    }
+
+    @Test
+    void testBatchHeartbeats() {
+        RegistryConfig config = new RegistryConfig();
+        config.setHeartbeatInterval(4000);
+        config.setHeartbeatBatchTypes(Collections.singleton("dubbo"));
+        CountingRegistry registry = new CountingRegistry();
+        ManualTimer timer = new ManualTimer();
+        HeartbeatScheduler scheduler = new HeartbeatScheduler(registry, config, timer);
+        for (int i = 0; i < 10; i++) {
+            scheduler.add(createInstance("dubbo", "dubbo-" + i));
+        }
+        for (int i = 0; i < 2; i++) {
+            scheduler.add(createInstance("nacos", "nacos-" + i));
+        }
+        // one task per registry
+        Assertions.assertEquals(2, timer.tasks.size());
+        timer.runNext();
+        timer.runNext();
+        Assertions.assertEquals(2, registry.events.size());
+        // only the declared registry is sent in batch, the others keep the per-instance events.
+        RegistryEvent batch = null;
+        RegistryEvent single = null;
+        for (RegistryEvent event : registry.events) {
+            if (event.getType() == EventType.BATCH_HEARTBEAT) {
+                batch = event;
+            } else {
+                single = event;
+            }
+        }
+        Assertions.assertNotNull(batch);
+        Assertions.assertEquals(10, batch.getInstances().size());
+        Assertions.assertNotNull(single);
+        Assertions.assertEquals(EventType.HEARTBEAT, single.getType());
+        Assertions.assertEquals("nacos", single.getInstance().getType());
+        Assertions.assertEquals(2, timer.tasks.size());
+    }
+
+    @Test
+    void testRemove() {
+        RegistryConfig config = new RegistryConfig();
+        CountingRegistry registry = new CountingRegistry();
+        ManualTimer timer = new ManualTimer();
+        HeartbeatScheduler scheduler = new HeartbeatScheduler(registry, config, timer);
+        ServiceInstance instance = createInstance(null, "service");
+        scheduler.add(instance);
+        scheduler.remove(instance);
+        timer.runNext();
+        Assertions.assertTrue(registry.events.isEmpty());
+        Assertions.assertTrue(timer.tasks.isEmpty());
+
+        // scheduled again when an instance is added.
+        scheduler.add(instance);
+        Assertions.assertEquals(1, timer.tasks.size());
+        timer.runNext();
+        Assertions.assertEquals(1, registry.events.size());
+    }
+
+    private static ServiceInstance createInstance(String type, String service) {
+        return ServiceInstance.builder().type(type).service(service).host("127.0.0.1").port(8080).build();
+    }
+
+    /**
+     * An in-process stand-in of the registry, which records the heartbeat calls.
+     */
+    private static class CountingRegistry implements Publisher<RegistryEvent> {
+
+        private final List<RegistryEvent> events = new ArrayList<>();
+
+        @Override
+        public String getTopic() {
+            return Publisher.REGISTRY;
+        }
+
+        @Override
+        public boolean addHandler(EventHandler<RegistryEvent> handler) {
+            return false;
+        }
+
+        @Override
+        public boolean removeHandler(EventHandler<RegistryEvent> handler) {
+            return false;
+        }
+
+        @Override
+        public boolean offer(RegistryEvent event) {
+            return events.add(event);
+        }
+
+        @Override
+        public boolean tryOffer(RegistryEvent event) {
+            return offer(event);
+        }
+    }
+
+    /**
+     * A timer whose tasks are run by the test.
+     */
+    private static class ManualTimer implements Timer {
+
+        private final Queue<Task> tasks = new LinkedList<>();
+
+        @Override
+        public Timeout add(String name, long time, Runnable runnable) {
+            return delay(name, time - System.currentTimeMillis(), runnable);
+        }
+
+        @Override
+        public Timeout delay(String name, long delay, Runnable runnable) {
+            Task task = new Task(delay, runnable);
+            tasks.add(task);
+            return task;
+        }
+
+        @Override
+        public Timeout add(TimeTask task) {
+            return delay(task.getName(), task.getTime() - System.currentTimeMillis(), task);
+        }
+
+        void runNext() {
+            Task task = tasks.poll();
+            if (task != null) {
+                task.runnable.run();
+            }
+        }
+    }
+
+    private static class Task implements Timeout {
+
+        private final long delay;
+
+        private final Runnable runnable;
+
+        Task(long delay, Runnable runnable) {
+            this.delay = delay;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean cancel() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.service.sync.file;
+
+import com.jd.live.agent.governance.config.SyncConfig;
+import com.jd.live.agent.governance.policy.service.Service;
+import com.jd.live.agent.governance.service.sync.SyncKey.FileKey;
+import com.jd.live.agent.governance.service.sync.Syncer;
+import com.jd.live.agent.governance.subscription.policy.PolicyEvent;
+import com.jd.live.agent.governance.subscription.policy.PolicyEvent.EventType;
+import com.jd.live.agent.governance.subscription.policy.PolicyWatcher;
+import com.jd.live.agent.implement.parser.jackson.JacksonJsonParser;
+import com.jd.live.agent.implement.parser.jackson.JacksonSnapshotParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class AbstractFileSyncerTest {
+
+    @Test
+    void testChangedItems() {
+        List<PolicyEvent> events = new ArrayList<>();
+        ServiceSyncer syncer = new ServiceSyncer();
+        syncer.addListener(PolicyWatcher.TYPE_SERVICE_SPACE, e -> events.add(e));
+
+        // all the items are published at the first time.
+        syncer.onSuccess(services("a", 1, "b", 1));
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals(EventType.UPDATE_ALL, events.get(0).getType());
+        Assertions.assertFalse(syncer.isChanged("a", syncer.digest(service("a", 1))));
+        Assertions.assertTrue(syncer.isChanged("a", syncer.digest(service("a", 2))));
+        Assertions.assertTrue(syncer.isChanged("c", syncer.digest(service("c", 1))));
+
+        // the same items are not published again.
+        events.clear();
+        syncer.onSuccess(services("a", 1, "b", 1));
+        Assertions.assertTrue(events.isEmpty());
+
+        // only the changed item is published.
+        syncer.onSuccess(services("a", 2, "b", 1));
+        assertEvent(events, EventType.UPDATE_ITEM, "a");
+
+        // the removed item is deleted.
+        syncer.onSuccess(services("a", 2));
+        assertEvent(events, EventType.DELETE_ITEM, "b");
+
+        // the added item is published.
+        syncer.onSuccess(services("c", 1, "a", 2));
+        Assertions.assertEquals(1, ((Service) events.get(0).getValue()).getVersion());
+        assertEvent(events, EventType.UPDATE_ITEM, "c");
+
+        // all the items are published again after the file is recovered.
+        events.clear();
+        syncer.onNotFound(null);
+        syncer.onSuccess(services("c", 1, "a", 2));
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertEquals(EventType.UPDATE_ALL, events.get(0).getType());
+        Assertions.assertNull(events.get(0).getValue());
+        Assertions.assertEquals(EventType.UPDATE_ALL, events.get(1).getType());
+    }
+
+    private static void assertEvent(List<PolicyEvent> events, EventType type, String name) {
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals(type, events.get(0).getType());
+        Assertions.assertEquals(name, events.get(0).getName());
+        events.clear();
+    }
+
+    private static List<Service> services(Object... args) {
+        List<Service> result = new ArrayList<>();
+        for (int i = 0; i < args.length; i += 2) {
+            result.add(service((String) args[i], (Integer) args[i + 1]));
+        }
+        return result;
+    }
+
+    private static Service service(String name, long version) {
+        Service service = new Service(name);
+        service.setVersion(version);
+        return service;
+    }
+
+    private static class ServiceSyncer extends AbstractFileSyncer<List<Service>> {
+
+        private final SyncConfig config = new SyncConfig();
+
+        ServiceSyncer() {
+            this.name = "test";
+            this.parser = new JacksonJsonParser();
+            this.snapshotParser = new JacksonSnapshotParser();
+        }
+
+        @Override
+        public String getType() {
+            return PolicyWatcher.TYPE_SERVICE_SPACE;
+        }
+
+        @Override
+        protected SyncConfig getSyncConfig() {
+            return config;
+        }
+
+        @Override
+        protected String getDefaultResource() {
+            return "microservice.json";
+        }
+
+        @Override
+        protected Syncer<FileKey, List<Service>> createSyncer() {
+            return null;
+        }
+
+        @Override
+        protected List<PolicyEvent> getEvents(List<Service> data) {
+            return getEvents(data, data, Service::getName);
+        }
+    }
+}
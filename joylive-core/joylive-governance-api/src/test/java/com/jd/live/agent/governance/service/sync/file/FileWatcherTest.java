@@ -0,0 +1,177 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.service.sync.file;
+
+import com.jd.live.agent.governance.config.SyncConfig;
+import com.jd.live.agent.governance.service.sync.file.FileWatchEvent.EventType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class FileWatcherTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void testContentChange() throws Exception {
+        File file = new File(dir, "microservice.json");
+        write(file, "[]", 10000);
+        List<FileWatchEvent> events = new ArrayList<>();
+        try (FileWatcher watcher = new ManualFileWatcher()) {
+            watcher.load(file, events::add);
+            Assertions.assertEquals(1, events.size());
+            Assertions.assertEquals(EventType.UPDATE, events.get(0).getType());
+
+            // attributes are not changed
+            watcher.load(file, events::add);
+            Assertions.assertEquals(1, events.size());
+
+            // touched with the same content
+            write(file, "[]", 5000);
+            watcher.load(file, events::add);
+            Assertions.assertEquals(1, events.size());
+
+            // replaced by another file with the same content, like the config map symbolic link swap
+            File other = new File(dir, "other.json");
+            write(other, "[]", 5000);
+            Files.move(other.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            watcher.load(file, events::add);
+            Assertions.assertEquals(1, events.size());
+
+            write(file, "[{}]", 3000);
+            watcher.load(file, events::add);
+            Assertions.assertEquals(2, events.size());
+            Assertions.assertEquals("[{}]", new String(events.get(1).getContent(), StandardCharsets.UTF_8));
+
+            // the delete event is only notified once
+            Assertions.assertTrue(file.delete());
+            watcher.load(file, events::add);
+            watcher.load(file, events::add);
+            Assertions.assertEquals(3, events.size());
+            Assertions.assertEquals(EventType.DELETE, events.get(2).getType());
+
+            write(file, "[{}]", 10000);
+            watcher.load(file, events::add);
+            Assertions.assertEquals(4, events.size());
+            Assertions.assertEquals(EventType.UPDATE, events.get(3).getType());
+        }
+    }
+
+    @Test
+    void testWatchService() throws Exception {
+        File file = new File(dir, "microservice.json");
+        write(file, "[]", 10000);
+        BlockingQueue<FileWatchEvent> events = new LinkedBlockingQueue<>();
+        try (FileWatcher watcher = new FileWatcher("test", createConfig(0), null, FileWatcher.newWatchService())) {
+            Assertions.assertNotNull(watcher.watchService);
+            watcher.subscribe(file, events::add);
+            Assertions.assertEquals(EventType.UPDATE, events.take().getType());
+            Assertions.assertTrue(watcher.watchKeys.containsKey(dir.toPath()));
+            awaitIdle(watcher);
+
+            // notified by the watch service long before the periodic check.
+            write(file, "[{}]", 0);
+            Assertions.assertTrue(awaitContent(events, "[{}]"));
+        }
+    }
+
+    @Test
+    void testSymbolicLink() throws Exception {
+        File target = new File(dir, "target");
+        File link = new File(dir, "link");
+        Assertions.assertTrue(target.mkdir() && link.mkdir());
+        File targetFile = new File(target, "microservice.json");
+        File file = new File(link, "microservice.json");
+        write(targetFile, "[]", 10000);
+        try {
+            Files.createSymbolicLink(file.toPath(), targetFile.toPath());
+        } catch (UnsupportedOperationException | IOException e) {
+            // the file system does not support symbolic links
+            return;
+        }
+        BlockingQueue<FileWatchEvent> events = new LinkedBlockingQueue<>();
+        try (FileWatcher watcher = new FileWatcher("test", createConfig(0), null, FileWatcher.newWatchService())) {
+            watcher.subscribe(file, events::add);
+            Assertions.assertEquals(EventType.UPDATE, events.take().getType());
+            // the directory of the resolved file is watched as well.
+            Assertions.assertTrue(watcher.watchKeys.containsKey(link.toPath()));
+            Assertions.assertTrue(watcher.watchKeys.containsKey(target.toPath().toRealPath()));
+            awaitIdle(watcher);
+
+            write(targetFile, "[{}]", 0);
+            Assertions.assertTrue(awaitContent(events, "[{}]"));
+        }
+    }
+
+    /**
+     * Waits for the update event with the content, the file may be read while it's being written.
+     */
+    private static boolean awaitContent(BlockingQueue<FileWatchEvent> events, String content) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        FileWatchEvent event;
+        while ((event = events.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS)) != null) {
+            if (event.getType() == EventType.UPDATE && content.equals(new String(event.getContent(), StandardCharsets.UTF_8))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits until the daemon of the watcher checked the files and is waiting for the next check.
+     */
+    private static void awaitIdle(FileWatcher watcher) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (watcher.counter.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+    }
+
+    private static SyncConfig createConfig(long delay) {
+        SyncConfig config = new SyncConfig();
+        config.setDelay(delay);
+        config.setInterval(3600000);
+        return config;
+    }
+
+    private static void write(File file, String content, long age) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertTrue(file.setLastModified(System.currentTimeMillis() - age));
+    }
+
+    /**
+     * A file watcher without the daemon checks, the files are loaded by the test.
+     */
+    private static class ManualFileWatcher extends FileWatcher {
+
+        ManualFileWatcher() {
+            super("test", createConfig(3600000), null, null);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.service.sync.http;
+
+import com.jd.live.agent.core.instance.Application;
+import com.jd.live.agent.core.parser.ObjectParser;
+import com.jd.live.agent.core.parser.TypeReference;
+import com.jd.live.agent.core.util.time.TimeTask;
+import com.jd.live.agent.core.util.time.Timeout;
+import com.jd.live.agent.core.util.time.Timer;
+import com.jd.live.agent.governance.config.SyncConfig;
+import com.jd.live.agent.governance.policy.PolicySubscription;
+import com.jd.live.agent.governance.policy.service.Service;
+import com.jd.live.agent.governance.service.sync.Subscription;
+import com.jd.live.agent.governance.service.sync.SyncKey.ServiceKey;
+import com.jd.live.agent.governance.service.sync.SyncResponse;
+import com.jd.live.agent.governance.service.sync.SyncStatus;
+import com.jd.live.agent.governance.subscription.policy.PolicyWatcher;
+import com.jd.live.agent.governance.subscription.policy.listener.ServiceEvent;
+import com.jd.live.agent.implement.parser.jackson.JacksonJsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class AbstractBatchServiceHttpSyncerTest {
+
+    private static final TypeReference<Map<String, List<Map<String, Object>>>> REQUEST =
+            new TypeReference<Map<String, List<Map<String, Object>>>>() {
+            };
+
+    private final ObjectParser parser = new JacksonJsonParser();
+
+    private final Queue<List<String>> requests = new ConcurrentLinkedQueue<>();
+
+    private final Queue<String> responses = new ConcurrentLinkedQueue<>();
+
+    private final ManualTimer timer = new ManualTimer();
+
+    private HttpServer server;
+
+    private BatchSyncer syncer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/batch", this::handle);
+        server.start();
+        SyncConfig config = new SyncConfig();
+        config.setUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        config.setBatchUrl("/batch");
+        config.setBatchSize(2);
+        syncer = new BatchSyncer(config, timer, parser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testBatch() {
+        syncer.add("a", "b", "c");
+        responses.add("{\"result\":{\"a\":{\"name\":\"a\",\"version\":2},\"b\":null}}");
+        responses.add("{\"result\":{}}");
+
+        // drains up to the batch size from the config.
+        Assertions.assertTrue(syncer.syncNext());
+        Assertions.assertEquals(1, requests.size());
+        Assertions.assertEquals(Arrays.asList("a", "b"), requests.poll());
+        Assertions.assertEquals(1, syncer.subscribers().size());
+        // the changed, deleted and missing services of the response.
+        Assertions.assertEquals(SyncStatus.SUCCESS, syncer.statuses.get("a"));
+        Assertions.assertEquals(SyncStatus.NOT_FOUND, syncer.statuses.get("b"));
+
+        Assertions.assertTrue(syncer.syncNext());
+        Assertions.assertEquals(Arrays.asList("c"), requests.poll());
+        Assertions.assertEquals(SyncStatus.NOT_MODIFIED, syncer.statuses.get("c"));
+        Assertions.assertFalse(syncer.syncNext());
+        Assertions.assertTrue(requests.isEmpty());
+
+        // each batch is scheduled again as a unit.
+        Assertions.assertEquals(2, timer.tasks.size());
+        timer.tasks.remove(0).run();
+        Assertions.assertEquals(2, syncer.subscribers().size());
+        responses.add("{\"result\":{}}");
+        Assertions.assertTrue(syncer.syncNext());
+        Assertions.assertEquals(Arrays.asList("a", "b"), requests.poll());
+    }
+
+    @Test
+    void testError() {
+        syncer.add("a", "b");
+
+        Assertions.assertTrue(syncer.syncNext());
+        Assertions.assertEquals(Arrays.asList("a", "b"), requests.poll());
+        Assertions.assertEquals(SyncStatus.ERROR, syncer.statuses.get("a"));
+        Assertions.assertEquals(SyncStatus.ERROR, syncer.statuses.get("b"));
+        // the failed batch is scheduled again as well.
+        Assertions.assertEquals(1, timer.tasks.size());
+        timer.tasks.remove(0).run();
+        Assertions.assertEquals(2, syncer.subscribers().size());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Map<String, List<Map<String, Object>>> request = parser.read(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8), REQUEST);
+        List<String> keys = new ArrayList<>();
+        for (Map<String, Object> service : request.get("services")) {
+            keys.add((String) service.get("key"));
+        }
+        requests.add(keys);
+        String response = responses.poll();
+        if (response == null || !"POST".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private static class BatchSyncer extends AbstractBatchServiceHttpSyncer<ServiceKey> {
+
+        private final SyncConfig config;
+
+        private final Map<String, SyncStatus> statuses = new ConcurrentHashMap<>();
+
+        BatchSyncer(SyncConfig config, Timer timer, ObjectParser parser) {
+            this.name = "test";
+            this.config = config;
+            this.timer = timer;
+            this.jsonParser = parser;
+            this.application = new Application();
+        }
+
+        void add(String... names) {
+            for (String name : names) {
+                subscribers.add(new PolicySubscription(name, null, PolicyWatcher.TYPE_SERVICE_SPACE, null));
+            }
+        }
+
+        Queue<PolicySubscription> subscribers() {
+            return subscribers;
+        }
+
+        @Override
+        protected SyncConfig getSyncConfig() {
+            return config;
+        }
+
+        @Override
+        protected ServiceKey createServiceKey(PolicySubscription subscriber) {
+            return new ServiceKey(subscriber);
+        }
+
+        @Override
+        protected void onResponse(Subscription<ServiceKey, Service> subscription, SyncResponse<Service> response) {
+            statuses.put(subscription.getKey().getName(), response.getStatus());
+        }
+
+        @Override
+        protected void addTask(PolicySubscription task) {
+            // the syncer is not started in the test.
+            subscribers.add(task);
+        }
+
+        @Override
+        protected void configure(ServiceEvent event) {
+        }
+    }
+
+    /**
+     * A timer which keeps the delayed tasks until they are run by the test.
+     */
+    private static class ManualTimer implements Timer {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public Timeout add(String name, long time, Runnable runnable) {
+            tasks.add(runnable);
+            return null;
+        }
+
+        @Override
+        public Timeout delay(String name, long delay, Runnable runnable) {
+            tasks.add(runnable);
+            return null;
+        }
+
+        @Override
+        public Timeout add(TimeTask task) {
+            tasks.add(task);
+            return null;
+        }
+    }
+}
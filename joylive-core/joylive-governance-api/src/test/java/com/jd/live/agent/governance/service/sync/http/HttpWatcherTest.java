@@ -0,0 +1,252 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.service.sync.http;
+
+import com.jd.live.agent.core.instance.Application;
+import com.jd.live.agent.core.parser.ObjectParser;
+import com.jd.live.agent.core.parser.TypeReference;
+import com.jd.live.agent.governance.config.SyncConfig;
+import com.jd.live.agent.governance.service.sync.http.HttpWatchEvent.EventType;
+import com.jd.live.agent.implement.parser.jackson.JacksonJsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+public class HttpWatcherTest {
+
+    private static final TypeReference<List<HttpWatchItem>> ITEMS = new TypeReference<List<HttpWatchItem>>() {
+    };
+
+    private static final TypeReference<Map<String, Object>> DOCUMENT = new TypeReference<Map<String, Object>>() {
+    };
+
+    private final ObjectParser parser = new JacksonJsonParser();
+
+    @Test
+    void testLongPolling() throws Exception {
+        BlockingQueue<List<HttpWatchItem>> requests = new LinkedBlockingQueue<>();
+        HttpServer server = createServer(exchange -> {
+            List<HttpWatchItem> items = read(exchange);
+            requests.add(items);
+            String version = items.get(0).getVersion();
+            if (version == null) {
+                // unknown version, return the resource at once.
+                reply(exchange, "{\"id\":\"a\",\"version\":\"v1\"}\n{\"name\":\"A1\"}\n");
+            } else if (version.equals("v1")) {
+                // hold the request, then return the changed resource.
+                sleep(200);
+                reply(exchange, "{\"id\":\"a\",\"version\":\"v2\"}\n{\"name\":\"A2\"}\n");
+            } else if (version.equals("v2")) {
+                sleep(200);
+                reply(exchange, "{\"id\":\"a\",\"version\":\"v3\",\"deleted\":true}\n");
+            } else {
+                sleep(200);
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            }
+        });
+        BlockingQueue<HttpWatchEvent> events = new LinkedBlockingQueue<>();
+        HttpWatcher watcher = new HttpWatcher("test", createConfig(server), new Application(), parser);
+        try {
+            watcher.subscribe(new Resource("a"), new Listener(events, DOCUMENT.getType()));
+
+            HttpWatchEvent event = events.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(event);
+            Assertions.assertEquals(EventType.UPDATE, event.getType());
+            // the document is bound to the type of the subscription.
+            Assertions.assertTrue(event.getData() instanceof Map);
+            Assertions.assertEquals("A1", ((Map<?, ?>) event.getData()).get("name"));
+            event = events.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(event);
+            Assertions.assertEquals("A2", ((Map<?, ?>) event.getData()).get("name"));
+            event = events.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(event);
+            Assertions.assertEquals(EventType.DELETE, event.getType());
+            // each request carries the version of the previous response.
+            Assertions.assertNull(requests.poll(5, TimeUnit.SECONDS).get(0).getVersion());
+            Assertions.assertEquals("v1", requests.poll(5, TimeUnit.SECONDS).get(0).getVersion());
+            Assertions.assertEquals("v2", requests.poll(5, TimeUnit.SECONDS).get(0).getVersion());
+        } finally {
+            watcher.close();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testString() throws Exception {
+        HttpServer server = createServer(exchange -> {
+            List<HttpWatchItem> items = read(exchange);
+            if (items.get(0).getVersion() == null) {
+                reply(exchange, "{\"id\":\"a\",\"version\":\"v1\"}\n{\"name\":\"A1\"}\n");
+            } else {
+                sleep(200);
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            }
+        });
+        BlockingQueue<HttpWatchEvent> events = new LinkedBlockingQueue<>();
+        HttpWatcher watcher = new HttpWatcher("test", createConfig(server), new Application(), parser);
+        try {
+            // the listener without a type receives the document as it is.
+            watcher.subscribe(new Resource("a"), events::add);
+
+            HttpWatchEvent event = events.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(event);
+            Assertions.assertEquals("{\"name\":\"A1\"}", event.getData());
+        } finally {
+            watcher.close();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testResubscribe() throws Exception {
+        BlockingQueue<List<HttpWatchItem>> requests = new LinkedBlockingQueue<>();
+        HttpServer server = createServer(exchange -> {
+            requests.add(read(exchange));
+            // hold the request until the watch timeout.
+            sleep(2000);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+        });
+        SyncConfig config = createConfig(server);
+        config.setWatchTimeout(2000);
+        BlockingQueue<HttpWatchEvent> events = new LinkedBlockingQueue<>();
+        Resource b = new Resource("b");
+        HttpWatcher watcher = new HttpWatcher("test", config, new Application(), parser) {
+            @Override
+            protected void configureWatch(HttpURLConnection conn) {
+                if (subscriptions.size() == 1) {
+                    // subscribes between the snapshot of the subscriptions and the connection.
+                    subscribe(b, events::add);
+                }
+                super.configureWatch(conn);
+            }
+        };
+        try {
+            watcher.subscribe(new Resource("a"), events::add);
+
+            // the request is restarted at once with both resources instead of waiting for the watch timeout.
+            List<HttpWatchItem> items = requests.poll(1, TimeUnit.SECONDS);
+            Assertions.assertNotNull(items);
+            Assertions.assertEquals(2, items.size());
+        } finally {
+            watcher.close();
+            server.stop(0);
+        }
+    }
+
+    private HttpServer createServer(HttpHandler handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/watch", handler);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return server;
+    }
+
+    private static SyncConfig createConfig(HttpServer server) {
+        SyncConfig config = new SyncConfig();
+        config.setUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        config.setWatchUrl("/watch");
+        config.setWatchTimeout(1000);
+        config.setInterval(100);
+        return config;
+    }
+
+    private List<HttpWatchItem> read(HttpExchange exchange) {
+        return parser.read(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8), ITEMS);
+    }
+
+    private static void reply(HttpExchange exchange, String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] bytes = out.toByteArray();
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    private static class Resource implements HttpResource {
+
+        private final String id;
+
+        Resource(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getUrl() {
+            return null;
+        }
+    }
+
+    private static class Listener implements HttpListener {
+
+        private final BlockingQueue<HttpWatchEvent> events;
+
+        private final Type type;
+
+        Listener(BlockingQueue<HttpWatchEvent> events, Type type) {
+            this.events = events;
+            this.type = type;
+        }
+
+        @Override
+        public void onUpdate(HttpWatchEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public Type getType() {
+            return type;
+        }
+    }
+}
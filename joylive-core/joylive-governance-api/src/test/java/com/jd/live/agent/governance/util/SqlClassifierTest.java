@@ -0,0 +1,51 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.governance.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SqlClassifierTest {
+
+    @Test
+    void testRead() {
+        Assertions.assertFalse(SqlClassifier.isWrite(null));
+        Assertions.assertFalse(SqlClassifier.isWrite("select * from t"));
+        Assertions.assertFalse(SqlClassifier.isWrite("SELECT last_update, created_at FROM t"));
+        Assertions.assertFalse(SqlClassifier.isWrite("select 'delete' from t where a = 'it''s'"));
+        Assertions.assertFalse(SqlClassifier.isWrite("select \"update\", `drop` from t"));
+        Assertions.assertFalse(SqlClassifier.isWrite("select 1 -- delete from t\n"));
+        Assertions.assertFalse(SqlClassifier.isWrite("/* drop table t */ select 1"));
+    }
+
+    @Test
+    void testWrite() {
+        Assertions.assertTrue(SqlClassifier.isWrite("insert into t values(1)"));
+        Assertions.assertTrue(SqlClassifier.isWrite("  Update t set a = 1"));
+        Assertions.assertTrue(SqlClassifier.isWrite("with x as (delete from t returning *) select * from x"));
+        Assertions.assertTrue(SqlClassifier.isWrite("select $1 from t; truncate t"));
+        Assertions.assertTrue(SqlClassifier.isWrite("/*!50000 DELETE FROM t */"));
+        Assertions.assertTrue(SqlClassifier.isWrite("SELECT 1--1; DELETE FROM t"));
+    }
+
+    @Test
+    void testQuotingDialects() {
+        // backslash escapes in MySQL
+        Assertions.assertTrue(SqlClassifier.isWrite("select 'it\\'s'; delete from t"));
+        // backslash is an ordinary character in standard strings
+        Assertions.assertTrue(SqlClassifier.isWrite("select 'C:\\'; update t set a = 1"));
+    }
+}
@@ -24,6 +24,7 @@ import com.jd.live.agent.core.parser.ObjectParser;
 import com.jd.live.agent.core.parser.TypeReference;
 
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Type;
@@ -63,6 +64,26 @@ public class Fastjson2JsonParser implements ObjectParser {
         }
     }
 
+    @Override
+    public <T> T read(InputStream stream, Class<T> clazz) {
+        return read(stream, (Type) clazz);
+    }
+
+    @Override
+    public <T> T read(InputStream stream, TypeReference<T> reference) {
+        return read(stream, reference.getType());
+    }
+
+    @Override
+    public <T> T read(InputStream stream, Type type) {
+        try {
+            // the utf-8 stream is parsed directly without an intermediate string.
+            return com.alibaba.fastjson2.JSON.parseObject(stream, type, JSONReader.Feature.FieldBased);
+        } catch (Exception e) {
+            throw new ParseException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void write(Writer writer, Object obj) {
         ByteArrayOutputStream stream = new ByteArrayOutputStream(1000);
@@ -18,15 +18,16 @@ package com.jd.live.agent.implement.parser.jackson;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.jd.live.agent.core.exception.ParseException;
 import com.jd.live.agent.core.parser.ConfigParser;
 import com.jd.live.agent.core.parser.ObjectParser;
 import com.jd.live.agent.core.parser.TypeReference;
 
-import java.io.IOException;
-import java.io.Reader;
-import java.io.Writer;
+import java.io.*;
 import java.lang.reflect.Type;
 import java.util.Map;
 
@@ -46,7 +47,8 @@ public abstract class AbstractJacksonParser implements ConfigParser, ObjectParse
      */
     public AbstractJacksonParser() {
         mapper = configure(new ObjectMapper(createFactory())).registerModules(
-                ObjectMapper.findModules(AbstractJacksonParser.class.getClassLoader()));
+                ObjectMapper.findModules(AbstractJacksonParser.class.getClassLoader())).registerModule(
+                new SimpleModule().addDeserializer(String.class, new DedupStringDeserializer()));
     }
 
     /**
@@ -70,6 +72,19 @@ public abstract class AbstractJacksonParser implements ConfigParser, ObjectParse
                 setAnnotationIntrospector(new JsonAnnotationIntrospector());
     }
 
+    /**
+     * Ignores the properties backed by transient fields as the fastjson2 parser does, because they hold the state
+     * derived from the serialized properties. It's used by the parsers which encode the policies.
+     *
+     * @param mapper the ObjectMapper to configure.
+     * @return the configured ObjectMapper.
+     */
+    @SuppressWarnings("deprecation")
+    protected ObjectMapper ignoreTransient(ObjectMapper mapper) {
+        return mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false).
+                configure(MapperFeature.PROPAGATE_TRANSIENT_MARKER, true);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Map<String, Object> parse(Reader reader) {
@@ -114,6 +129,37 @@ public abstract class AbstractJacksonParser implements ConfigParser, ObjectParse
         }
     }
 
+    @Override
+    public <T> T read(InputStream stream, Class<T> clazz) {
+        if (stream == null || clazz == null) {
+            return null;
+        }
+        try {
+            return mapper.readValue(stream, clazz);
+        } catch (IOException e) {
+            throw new ParseException("read error. caused by " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <T> T read(InputStream stream, TypeReference<T> reference) {
+        return reference == null ? null : read(stream, reference.getType());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T read(InputStream stream, Type type) {
+        if (stream == null || type == null) {
+            return null;
+        }
+        try {
+            // the stream is decoded by the parser, and bound to the type without an intermediate string.
+            return (T) mapper.readValue(stream, new SimpleTypeReference(type));
+        } catch (IOException e) {
+            throw new ParseException("read error. caused by " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public void write(Writer writer, Object obj) {
         if (writer != null && obj != null) {
@@ -124,4 +170,15 @@ public abstract class AbstractJacksonParser implements ConfigParser, ObjectParse
             }
         }
     }
+
+    @Override
+    public void write(OutputStream stream, Object obj) {
+        if (stream != null && obj != null) {
+            try {
+                mapper.writer().writeValue(stream, obj);
+            } catch (IOException e) {
+                throw new ParseException("write error. caused by " + e.getMessage(), e);
+            }
+        }
+    }
 }
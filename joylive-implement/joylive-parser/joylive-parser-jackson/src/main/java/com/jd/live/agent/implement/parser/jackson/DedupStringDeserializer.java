@@ -0,0 +1,53 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.implement.parser.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A string deserializer which shares the repeated short values, such as label values, within one document.
+ * <p>
+ * The field names and map keys are already canonicalized by the parser. The values are kept in a table of the
+ * current deserialization context, so the table is released together with the context.
+ */
+public class DedupStringDeserializer extends StringDeserializer {
+
+    private static final Object ATTRIBUTE_VALUES = new Object();
+
+    private static final int MAX_LENGTH = 64;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String value = super.deserialize(p, ctxt);
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        Map<String, String> values = (Map<String, String>) ctxt.getAttribute(ATTRIBUTE_VALUES);
+        if (values == null) {
+            values = new HashMap<>();
+            ctxt.setAttribute(ATTRIBUTE_VALUES, values);
+        }
+        String exist = values.putIfAbsent(value, value);
+        return exist == null ? value : exist;
+    }
+}
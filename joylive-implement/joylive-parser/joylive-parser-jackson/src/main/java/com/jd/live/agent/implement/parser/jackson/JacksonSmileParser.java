@@ -0,0 +1,84 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.implement.parser.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.jd.live.agent.core.exception.ParseException;
+import com.jd.live.agent.core.extension.annotation.Extension;
+import com.jd.live.agent.core.parser.ObjectParser;
+import com.jd.live.agent.core.parser.TypeReference;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * A parser of the Smile format, the binary form of JSON.
+ * <p>
+ * The repeated property names and short string values are written as back references to the string table,
+ * and the lengths and integers are written as variable length integers, so the large and repetitive policies
+ * are much smaller and faster to decode than JSON. Only the stream methods are supported, the character methods
+ * throw a {@link ParseException}. The properties backed by transient fields are ignored as the policies are encoded.
+ */
+@Extension(value = ObjectParser.SMILE, provider = "jackson")
+public class JacksonSmileParser extends AbstractJacksonParser {
+
+    @Override
+    protected JsonFactory createFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+
+    @Override
+    protected ObjectMapper configure(ObjectMapper mapper) {
+        return ignoreTransient(super.configure(mapper));
+    }
+
+    @Override
+    public Map<String, Object> parse(Reader reader) {
+        throw unsupported();
+    }
+
+    @Override
+    public <T> T read(Reader reader, Class<T> clazz) {
+        throw unsupported();
+    }
+
+    @Override
+    public <T> T read(Reader reader, TypeReference<T> reference) {
+        throw unsupported();
+    }
+
+    @Override
+    public <T> T read(Reader reader, Type type) {
+        throw unsupported();
+    }
+
+    @Override
+    public void write(Writer writer, Object obj) {
+        throw unsupported();
+    }
+
+    private static ParseException unsupported() {
+        return new ParseException("smile is a binary format, use the input or output stream instead of the reader or writer.");
+    }
+}
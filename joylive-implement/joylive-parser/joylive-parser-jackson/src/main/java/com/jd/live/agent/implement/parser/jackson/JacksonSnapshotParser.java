@@ -0,0 +1,32 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.implement.parser.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jd.live.agent.core.extension.annotation.Extension;
+import com.jd.live.agent.core.parser.ObjectParser;
+
+/**
+ * A JSON parser of the local policy snapshot, which ignores the properties backed by transient fields.
+ */
+@Extension(value = ObjectParser.SNAPSHOT, provider = "jackson")
+public class JacksonSnapshotParser extends AbstractJacksonParser {
+
+    @Override
+    protected ObjectMapper configure(ObjectMapper mapper) {
+        return ignoreTransient(super.configure(mapper));
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.jd.live.agent.implement.service.policy.file;
 
+import com.jd.live.agent.governance.subscription.policy.PolicyEvent;
 import com.jd.live.agent.governance.subscription.policy.PolicyWatcher;
 import com.jd.live.agent.governance.config.SyncConfig;
 import com.jd.live.agent.core.extension.annotation.ConditionalOnProperty;
@@ -31,7 +32,6 @@ import com.jd.live.agent.governance.service.sync.file.FileWatcher;
 import lombok.Getter;
 
 import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
 import java.util.List;
 
 /**
@@ -65,11 +65,16 @@ public class LaneSpaceFileSyncer extends AbstractFileSyncer<List<LaneSpace>> {
         return CONFIG_LANE_SPACE;
     }
 
+    @Override
+    protected List<PolicyEvent> getEvents(List<LaneSpace> data) {
+        return getEvents(data, data, LaneSpace::getId);
+    }
+
     @Override
     protected Syncer<FileKey, List<LaneSpace>> createSyncer() {
         fileWatcher = new FileWatcher(getName(), getSyncConfig(), publisher);
         return fileWatcher.createSyncer(file,
-                data -> parser.read(new InputStreamReader(new ByteArrayInputStream(data)), new TypeReference<List<LaneSpace>>() {
+                data -> getParser(file).read(new ByteArrayInputStream(data), new TypeReference<List<LaneSpace>>() {
                 }));
     }
 
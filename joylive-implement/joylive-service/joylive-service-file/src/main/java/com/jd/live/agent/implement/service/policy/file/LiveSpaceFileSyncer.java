@@ -15,6 +15,7 @@
  */
 package com.jd.live.agent.implement.service.policy.file;
 
+import com.jd.live.agent.governance.subscription.policy.PolicyEvent;
 import com.jd.live.agent.governance.subscription.policy.PolicyWatcher;
 import com.jd.live.agent.governance.config.SyncConfig;
 import com.jd.live.agent.core.extension.annotation.ConditionalOnProperty;
@@ -31,7 +32,6 @@ import com.jd.live.agent.governance.service.sync.file.FileWatcher;
 import lombok.Getter;
 
 import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
 import java.util.List;
 
 /**
@@ -65,11 +65,16 @@ public class LiveSpaceFileSyncer extends AbstractFileSyncer<List<LiveSpace>> {
         return CONFIG_LIVE_SPACE;
     }
 
+    @Override
+    protected List<PolicyEvent> getEvents(List<LiveSpace> data) {
+        return getEvents(data, data, LiveSpace::getId);
+    }
+
     @Override
     protected Syncer<FileKey, List<LiveSpace>> createSyncer() {
         fileWatcher = new FileWatcher(getName(), getSyncConfig(), publisher);
         return fileWatcher.createSyncer(file,
-                data -> parser.read(new InputStreamReader(new ByteArrayInputStream(data)), new TypeReference<List<LiveSpace>>() {
+                data -> getParser(file).read(new ByteArrayInputStream(data), new TypeReference<List<LiveSpace>>() {
                 }));
     }
 }
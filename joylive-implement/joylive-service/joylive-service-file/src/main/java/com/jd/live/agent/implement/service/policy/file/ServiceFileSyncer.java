@@ -34,7 +34,6 @@ import com.jd.live.agent.governance.service.sync.file.FileWatcher;
 import lombok.Getter;
 
 import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
 import java.util.List;
 
 /**
@@ -76,11 +75,28 @@ public class ServiceFileSyncer extends AbstractFileSyncer<List<Service>> {
                 .build();
     }
 
+    @Override
+    protected PolicyEvent createEvent(EventType type, String name, Object value) {
+        return ServiceEvent.creator()
+                .type(type)
+                .name(name)
+                .value(value)
+                .description("service " + name)
+                .watcher(getName())
+                .mergePolicy(MergePolicy.ALL)
+                .build();
+    }
+
+    @Override
+    protected List<PolicyEvent> getEvents(List<Service> data) {
+        return getEvents(data, data, Service::getName);
+    }
+
     @Override
     protected Syncer<FileKey, List<Service>> createSyncer() {
         fileWatcher = new FileWatcher(getName(), getSyncConfig(), publisher);
         return fileWatcher.createSyncer(file,
-                data -> parser.read(new InputStreamReader(new ByteArrayInputStream(data)), new TypeReference<List<Service>>() {
+                data -> getParser(file).read(new ByteArrayInputStream(data), new TypeReference<List<Service>>() {
                 }));
     }
 }
@@ -25,7 +25,7 @@ import com.jd.live.agent.governance.policy.PolicySubscription;
 import com.jd.live.agent.governance.subscription.policy.listener.ServiceEvent;
 import com.jd.live.agent.governance.policy.service.MergePolicy;
 import com.jd.live.agent.governance.service.sync.SyncKey.ServiceKey;
-import com.jd.live.agent.governance.service.sync.http.AbstractServiceHttpSyncer;
+import com.jd.live.agent.governance.service.sync.http.AbstractBatchServiceHttpSyncer;
 import com.jd.live.agent.implement.service.policy.microservice.config.MicroServiceSyncConfig;
 
 /**
@@ -35,7 +35,7 @@ import com.jd.live.agent.implement.service.policy.microservice.config.MicroServi
 @Extension("MicroServiceSyncer")
 @ConditionalOnProperty(name = SyncConfig.SYNC_MICROSERVICE_TYPE, value = "jmsf")
 @ConditionalOnProperty(name = GovernanceConfig.CONFIG_FLOW_CONTROL_ENABLED, matchIfMissing = true)
-public class ServiceHttpSyncer extends AbstractServiceHttpSyncer<ServiceKey> {
+public class ServiceHttpSyncer extends AbstractBatchServiceHttpSyncer<ServiceKey> {
 
     @Config(SyncConfig.SYNC_MICROSERVICE)
     private MicroServiceSyncConfig syncConfig = new MicroServiceSyncConfig();
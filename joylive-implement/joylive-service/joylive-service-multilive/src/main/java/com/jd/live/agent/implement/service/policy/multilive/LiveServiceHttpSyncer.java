@@ -32,10 +32,12 @@ import com.jd.live.agent.governance.service.sync.SyncKey.ServiceKey;
 import com.jd.live.agent.governance.service.sync.SyncResponse;
 import com.jd.live.agent.governance.service.sync.api.ApiResponse;
 import com.jd.live.agent.governance.service.sync.api.ApiResult;
-import com.jd.live.agent.governance.service.sync.http.AbstractServiceHttpSyncer;
+import com.jd.live.agent.governance.service.sync.http.AbstractBatchServiceHttpSyncer;
 import com.jd.live.agent.implement.service.policy.multilive.config.LiveSyncConfig;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 /**
  * LiveServiceSyncer is responsible for synchronizing live service policies from a multilive control plane.
@@ -45,7 +47,7 @@ import java.io.IOException;
 @ConditionalOnProperty(name = SyncConfig.SYNC_LIVE_SPACE_TYPE, value = "multilive")
 @ConditionalOnProperty(name = SyncConfig.SYNC_LIVE_SPACE_SERVICE, matchIfMissing = true)
 @ConditionalOnProperty(name = GovernanceConfig.CONFIG_LIVE_ENABLED, matchIfMissing = true)
-public class LiveServiceHttpSyncer extends AbstractServiceHttpSyncer<ServiceKey> {
+public class LiveServiceHttpSyncer extends AbstractBatchServiceHttpSyncer<ServiceKey> {
 
     @Config(SyncConfig.SYNC_LIVE_SPACE)
     private LiveSyncConfig syncConfig = new LiveSyncConfig();
@@ -73,8 +75,20 @@ public class LiveServiceHttpSyncer extends AbstractServiceHttpSyncer<ServiceKey>
     protected SyncResponse<Service> getResponse(SyncConfig config, String uri) throws IOException {
         HttpResponse<ApiResponse<ApiResult<Service>>> response = HttpUtils.get(uri,
                 conn -> configure(config, conn),
-                reader -> jsonParser.read(reader, new TypeReference<ApiResponse<ApiResult<Service>>>() {
-                }));
+                this::getParser,
+                new TypeReference<ApiResponse<ApiResult<Service>>>() {
+                });
+        return ApiResponse.from(response).asSyncResponse(ApiResult::asSyncResponse);
+    }
+
+    @Override
+    protected SyncResponse<Map<String, Service>> getResponse(SyncConfig config, String url, List<ServiceVersion> versions) throws IOException {
+        HttpResponse<ApiResponse<ApiResult<Map<String, Service>>>> response = HttpUtils.post(url,
+                conn -> configureBatch(config, conn),
+                toBody(versions),
+                this::getParser,
+                new TypeReference<ApiResponse<ApiResult<Map<String, Service>>>>() {
+                });
         return ApiResponse.from(response).asSyncResponse(ApiResult::asSyncResponse);
     }
 }
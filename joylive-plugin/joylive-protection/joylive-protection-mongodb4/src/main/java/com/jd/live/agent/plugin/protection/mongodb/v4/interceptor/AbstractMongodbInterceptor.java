@@ -0,0 +1,63 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.protection.mongodb.v4.interceptor;
+
+import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
+import com.jd.live.agent.bootstrap.bytekit.context.LockContext;
+import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
+import com.jd.live.agent.governance.interceptor.AbstractDbInterceptor;
+import com.jd.live.agent.governance.policy.PolicySupplier;
+import com.jd.live.agent.plugin.protection.mongodb.v4.request.MongodbRequest;
+
+/**
+ * AbstractMongodbInterceptor protects the outermost operation only.
+ * <p>
+ * A bulk write or a retryable command triggers nested interceptions on the same thread. The outermost interception
+ * holds the lock while it executes, so the nested interceptions reuse its decision instead of evaluating the policy again.
+ * </p>
+ */
+public abstract class AbstractMongodbInterceptor extends AbstractDbInterceptor {
+
+    private static final LockContext lock = new LockContext.DefaultLockContext();
+
+    public AbstractMongodbInterceptor(PolicySupplier policySupplier) {
+        super(policySupplier);
+    }
+
+    @Override
+    public void onEnter(ExecutableContext ctx) {
+        if (ctx.tryLock(lock)) {
+            protect((MethodContext) ctx, createRequest(ctx));
+            if (ctx.isSkip()) {
+                ctx.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void onExit(ExecutableContext ctx) {
+        ctx.unlock();
+    }
+
+    /**
+     * Creates the request of the operation.
+     *
+     * @param ctx ExecutableContext
+     * @return the request
+     */
+    protected abstract MongodbRequest createRequest(ExecutableContext ctx);
+
+}
@@ -16,8 +16,6 @@
 package com.jd.live.agent.plugin.protection.mongodb.v4.interceptor;
 
 import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
-import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
-import com.jd.live.agent.governance.interceptor.AbstractDbInterceptor;
 import com.jd.live.agent.governance.policy.PolicySupplier;
 import com.jd.live.agent.plugin.protection.mongodb.v4.request.MongodbRequest;
 import com.mongodb.ServerAddress;
@@ -25,26 +23,20 @@ import com.mongodb.connection.ConnectionDescription;
 import com.mongodb.internal.connection.Connection;
 
 /**
- * SendQueryInterceptor
+ * ExecuteCommandInterceptor
  */
-public class ExecuteCommandInterceptor extends AbstractDbInterceptor {
+public class ExecuteCommandInterceptor extends AbstractMongodbInterceptor {
 
     public ExecuteCommandInterceptor(PolicySupplier policySupplier) {
         super(policySupplier);
     }
 
-    /**
-     * Enhanced logic before method execution<br>
-     * <p>
-     *
-     * @param ctx ExecutableContext
-     */
     @Override
-    public void onEnter(ExecutableContext ctx) {
+    protected MongodbRequest createRequest(ExecutableContext ctx) {
         Connection connection = (Connection) ctx.getArguments()[5];
         ConnectionDescription description = connection.getDescription();
         ServerAddress serverAddress = description == null ? null : description.getServerAddress();
-        protect((MethodContext) ctx, new MongodbRequest(serverAddress, (String) ctx.getArguments()[0]));
+        return new MongodbRequest(serverAddress, (String) ctx.getArguments()[0]);
     }
 
 }
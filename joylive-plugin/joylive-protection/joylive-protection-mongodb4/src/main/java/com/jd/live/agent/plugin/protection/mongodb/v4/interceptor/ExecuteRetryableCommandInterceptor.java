@@ -16,35 +16,32 @@
 package com.jd.live.agent.plugin.protection.mongodb.v4.interceptor;
 
 import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
-import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
-import com.jd.live.agent.governance.interceptor.AbstractDbInterceptor;
 import com.jd.live.agent.governance.policy.PolicySupplier;
 import com.jd.live.agent.plugin.protection.mongodb.v4.request.MongodbRequest;
 import com.mongodb.ServerAddress;
-import com.mongodb.connection.ConnectionDescription;
-import com.mongodb.internal.connection.Connection;
+import com.mongodb.internal.binding.ConnectionSource;
+import com.mongodb.internal.binding.WriteBinding;
 
 /**
  * ExecuteRetryableCommandInterceptor
  */
-public class ExecuteRetryableCommandInterceptor extends AbstractDbInterceptor {
+public class ExecuteRetryableCommandInterceptor extends AbstractMongodbInterceptor {
 
     public ExecuteRetryableCommandInterceptor(PolicySupplier policySupplier) {
         super(policySupplier);
     }
 
-    /**
-     * Enhanced logic before method execution<br>
-     * <p>
-     *
-     * @param ctx ExecutableContext
-     */
     @Override
-    public void onEnter(ExecutableContext ctx) {
-        Connection connection = (Connection) ctx.getArguments()[4];
-        ConnectionDescription description = connection.getDescription();
-        ServerAddress serverAddress = description == null ? null : description.getServerAddress();
-        protect((MethodContext) ctx, new MongodbRequest(serverAddress, (String) ctx.getArguments()[0]));
+    protected MongodbRequest createRequest(ExecutableContext ctx) {
+        ConnectionSource source = ((WriteBinding) ctx.getArguments()[0]).getWriteConnectionSource();
+        ServerAddress serverAddress;
+        try {
+            serverAddress = source.getServerDescription().getAddress();
+        } finally {
+            // the source is reference counted, and is retained by the binding when it is acquired.
+            source.release();
+        }
+        return new MongodbRequest(serverAddress, (String) ctx.getArguments()[1]);
     }
 
 }
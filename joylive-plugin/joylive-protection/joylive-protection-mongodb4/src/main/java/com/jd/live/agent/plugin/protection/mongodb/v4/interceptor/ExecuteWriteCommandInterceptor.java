@@ -16,35 +16,27 @@
 package com.jd.live.agent.plugin.protection.mongodb.v4.interceptor;
 
 import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
-import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
-import com.jd.live.agent.governance.interceptor.AbstractDbInterceptor;
 import com.jd.live.agent.governance.policy.PolicySupplier;
 import com.jd.live.agent.plugin.protection.mongodb.v4.request.MongodbRequest;
 import com.mongodb.ServerAddress;
-import com.mongodb.internal.binding.WriteBinding;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.internal.connection.Connection;
 
 /**
  * ExecuteWriteCommandInterceptor
  */
-public class ExecuteWriteCommandInterceptor extends AbstractDbInterceptor {
+public class ExecuteWriteCommandInterceptor extends AbstractMongodbInterceptor {
 
     public ExecuteWriteCommandInterceptor(PolicySupplier policySupplier) {
         super(policySupplier);
     }
 
-    /**
-     * Enhanced logic before method execution<br>
-     * <p>
-     *
-     * @param ctx ExecutableContext
-     */
     @Override
-    public void onEnter(ExecutableContext ctx) {
-        ServerAddress serverAddress = ((WriteBinding) ctx.getArguments()[0])
-                .getWriteConnectionSource()
-                .getServerDescription()
-                .getAddress();
-        protect((MethodContext) ctx, new MongodbRequest(serverAddress, (String) ctx.getArguments()[1]));
+    protected MongodbRequest createRequest(ExecutableContext ctx) {
+        Connection connection = (Connection) ctx.getArguments()[4];
+        ConnectionDescription description = connection.getDescription();
+        ServerAddress serverAddress = description == null ? null : description.getServerAddress();
+        return new MongodbRequest(serverAddress, (String) ctx.getArguments()[0]);
     }
 
 }
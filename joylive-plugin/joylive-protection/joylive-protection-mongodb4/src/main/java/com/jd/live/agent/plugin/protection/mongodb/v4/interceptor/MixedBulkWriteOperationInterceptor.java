@@ -16,8 +16,6 @@
 package com.jd.live.agent.plugin.protection.mongodb.v4.interceptor;
 
 import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
-import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
-import com.jd.live.agent.governance.interceptor.AbstractDbInterceptor;
 import com.jd.live.agent.governance.policy.PolicySupplier;
 import com.jd.live.agent.plugin.protection.mongodb.v4.request.MongodbRequest;
 import com.mongodb.ServerAddress;
@@ -27,26 +25,20 @@ import com.mongodb.internal.operation.MixedBulkWriteOperation;
 /**
  * MixedBulkWriteOperationInterceptor
  */
-public class MixedBulkWriteOperationInterceptor extends AbstractDbInterceptor {
+public class MixedBulkWriteOperationInterceptor extends AbstractMongodbInterceptor {
 
     public MixedBulkWriteOperationInterceptor(PolicySupplier policySupplier) {
         super(policySupplier);
     }
 
-    /**
-     * Enhanced logic before method execution<br>
-     * <p>
-     *
-     * @param ctx ExecutableContext
-     */
     @Override
-    public void onEnter(ExecutableContext ctx) {
+    protected MongodbRequest createRequest(ExecutableContext ctx) {
         ServerAddress serverAddress = ((WriteBinding) ctx.getArguments()[0])
                 .getWriteConnectionSource()
                 .getServerDescription()
                 .getAddress();
         String database = ((MixedBulkWriteOperation) ctx.getTarget()).getNamespace().getDatabaseName();
-        protect((MethodContext) ctx, new MongodbRequest(serverAddress, database));
+        return new MongodbRequest(serverAddress, database);
     }
 
 }
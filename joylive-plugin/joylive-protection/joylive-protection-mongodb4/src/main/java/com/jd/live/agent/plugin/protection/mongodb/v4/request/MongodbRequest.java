@@ -44,6 +44,11 @@ public class MongodbRequest extends AbstractAttributes implements SQLRequest {
         return database;
     }
 
+    @Override
+    public Object getConnection() {
+        return serverAddress;
+    }
+
     @Override
     public String getSql() {
         return null;
@@ -0,0 +1,126 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.protection.mongodb.v4.interceptor;
+
+import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
+import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
+import com.jd.live.agent.governance.policy.AccessMode;
+import com.jd.live.agent.governance.policy.GovernancePolicy;
+import com.jd.live.agent.governance.policy.PolicySupplier;
+import com.jd.live.agent.governance.policy.db.DatabaseCluster;
+import com.jd.live.agent.governance.policy.db.DatabasePolicy;
+import com.jd.live.agent.plugin.protection.mongodb.v4.request.MongodbRequest;
+import com.mongodb.ServerAddress;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AbstractMongodbInterceptorTest {
+
+    private static final ServerAddress ADDRESS = new ServerAddress("127.0.0.1", 27017);
+
+    private volatile GovernancePolicy policy;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final AbstractMongodbInterceptor interceptor = new AbstractMongodbInterceptor(new PolicySupplier() {
+        @Override
+        public GovernancePolicy getPolicy() {
+            return policy;
+        }
+
+        @Override
+        public CompletableFuture<Void> subscribe(String namespace, String service) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }) {
+        @Override
+        protected MongodbRequest createRequest(ExecutableContext ctx) {
+            requests.incrementAndGet();
+            return new MongodbRequest(ADDRESS, "test");
+        }
+    };
+
+    @Test
+    void testNestedReuse() {
+        policy = createPolicy(AccessMode.READ_WRITE);
+        MethodContext outer = createContext();
+        interceptor.onEnter(outer);
+        Assertions.assertFalse(outer.isSkip());
+        Assertions.assertTrue(outer.isLocked());
+
+        // the nested operations reuse the decision of the outer one.
+        for (int i = 0; i < 3; i++) {
+            MethodContext inner = createContext();
+            interceptor.onEnter(inner);
+            Assertions.assertFalse(inner.isSkip());
+            Assertions.assertFalse(inner.isLocked());
+            interceptor.onExit(inner);
+            Assertions.assertTrue(outer.isLocked());
+        }
+        Assertions.assertEquals(1, requests.get());
+
+        interceptor.onExit(outer);
+        Assertions.assertFalse(outer.isLocked());
+
+        // the next operation is evaluated again.
+        MethodContext next = createContext();
+        interceptor.onEnter(next);
+        Assertions.assertEquals(2, requests.get());
+        interceptor.onExit(next);
+    }
+
+    @Test
+    void testDenied() {
+        policy = createPolicy(AccessMode.READ);
+        MethodContext outer = createContext();
+        interceptor.onEnter(outer);
+        Assertions.assertTrue(outer.isSkip());
+        Assertions.assertTrue(outer.getThrowable() instanceof SQLException);
+        // the lock is released at once, so the operations after it are evaluated on their own.
+        Assertions.assertFalse(outer.isLocked());
+
+        policy = createPolicy(AccessMode.READ_WRITE);
+        MethodContext next = createContext();
+        interceptor.onEnter(next);
+        Assertions.assertFalse(next.isSkip());
+        Assertions.assertTrue(next.isLocked());
+        interceptor.onExit(next);
+        Assertions.assertEquals(2, requests.get());
+    }
+
+    private MethodContext createContext() {
+        return new MethodContext(Object.class, this, null, new Object[0], "execute", false);
+    }
+
+    private GovernancePolicy createPolicy(AccessMode accessMode) {
+        DatabasePolicy dbPolicy = new DatabasePolicy();
+        dbPolicy.setAccessMode(accessMode);
+        DatabaseCluster cluster = new DatabaseCluster();
+        cluster.setName("mongodb");
+        cluster.setHost(ADDRESS.getHost());
+        cluster.setPort(ADDRESS.getPort());
+        cluster.setPolicy(dbPolicy);
+        GovernancePolicy result = new GovernancePolicy();
+        result.setDbClusters(Collections.singletonList(cluster));
+        result.cache();
+        return result;
+    }
+}
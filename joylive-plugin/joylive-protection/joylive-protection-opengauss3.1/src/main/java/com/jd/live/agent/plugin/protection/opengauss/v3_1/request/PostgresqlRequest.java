@@ -49,4 +49,10 @@ public class PostgresqlRequest extends AbstractAttributes implements SQLRequest
     public String getSql() {
         return query.toString();
     }
+
+    @Override
+    public Object getStatement() {
+        // the query is reused by the statement cache of the connection, and rendering it allocates a new string.
+        return query;
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.protection.redis.definition;
+
+import com.jd.live.agent.core.bytekit.matcher.MatcherBuilder;
+import com.jd.live.agent.core.extension.annotation.ConditionalOnClass;
+import com.jd.live.agent.core.extension.annotation.Extension;
+import com.jd.live.agent.core.inject.annotation.Inject;
+import com.jd.live.agent.core.inject.annotation.Injectable;
+import com.jd.live.agent.core.plugin.definition.InterceptorDefinition;
+import com.jd.live.agent.core.plugin.definition.InterceptorDefinitionAdapter;
+import com.jd.live.agent.core.plugin.definition.PluginDefinition;
+import com.jd.live.agent.core.plugin.definition.PluginDefinitionAdapter;
+import com.jd.live.agent.governance.policy.PolicySupplier;
+import com.jd.live.agent.plugin.protection.redis.condition.ConditionalOnRedisProtectEnabled;
+import com.jd.live.agent.plugin.protection.redis.interceptor.LettuceChannelActiveInterceptor;
+import com.jd.live.agent.plugin.protection.redis.interceptor.LettuceEndpointInterceptor;
+
+@Injectable
+@Extension(value = "LettuceEndpointDefinition", order = PluginDefinition.ORDER_PROTECT)
+@ConditionalOnRedisProtectEnabled
+@ConditionalOnClass(LettuceEndpointDefinition.TYPE_DEFAULT_ENDPOINT)
+public class LettuceEndpointDefinition extends PluginDefinitionAdapter {
+
+    protected static final String TYPE_DEFAULT_ENDPOINT = "io.lettuce.core.protocol.DefaultEndpoint";
+
+    private static final String METHOD_WRITE = "write";
+
+    private static final String METHOD_NOTIFY_CHANNEL_ACTIVE = "notifyChannelActive";
+
+    @Inject(PolicySupplier.COMPONENT_POLICY_SUPPLIER)
+    private PolicySupplier policySupplier;
+
+    public LettuceEndpointDefinition() {
+        this.matcher = () -> MatcherBuilder.named(TYPE_DEFAULT_ENDPOINT);
+        this.interceptors = new InterceptorDefinition[]{
+                new InterceptorDefinitionAdapter(
+                        MatcherBuilder.named(METHOD_WRITE).
+                                and(MatcherBuilder.arguments(1)),
+                        () -> new LettuceEndpointInterceptor(policySupplier)
+                ),
+                new InterceptorDefinitionAdapter(
+                        MatcherBuilder.named(METHOD_NOTIFY_CHANNEL_ACTIVE).
+                                and(MatcherBuilder.arguments(1)),
+                        () -> new LettuceChannelActiveInterceptor(policySupplier)
+                )
+        };
+    }
+}
@@ -17,32 +17,51 @@ package com.jd.live.agent.plugin.protection.redis.interceptor;
 
 import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
 import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
+import com.jd.live.agent.bootstrap.logger.Logger;
+import com.jd.live.agent.bootstrap.logger.LoggerFactory;
+import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessor;
+import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessorFactory;
 import com.jd.live.agent.governance.interceptor.AbstractDbInterceptor;
 import com.jd.live.agent.governance.policy.PolicySupplier;
 import com.jd.live.agent.plugin.protection.redis.request.JedisRequest;
 import redis.clients.jedis.CommandArguments;
 import redis.clients.jedis.Connection;
+import redis.clients.jedis.JedisSocketFactory;
 
 /**
  * JedisConnectionInterceptor
  */
 public class JedisConnectionInterceptor extends AbstractDbInterceptor {
 
+    private static final Logger logger = LoggerFactory.getLogger(JedisConnectionInterceptor.class);
+
+    private static final String FIELD_SOCKET_FACTORY = "socketFactory";
+
+    private static final UnsafeFieldAccessor accessor = UnsafeFieldAccessorFactory.getQuietly(Connection.class, FIELD_SOCKET_FACTORY);
+
     public JedisConnectionInterceptor(PolicySupplier policySupplier) {
         super(policySupplier);
+        if (accessor == null) {
+            logger.warn("[JedisConnectionInterceptor]Field {} is not found in {}, redis protection is disabled.",
+                    FIELD_SOCKET_FACTORY, Connection.class.getName());
+        }
     }
 
     /**
      * Enhanced logic before method execution<br>
      * <p>
+     * The access mode is cached by the socket factory of the connection, so the commands of pipelines and
+     * transactions only check the cached access mode.
      *
      * @param ctx ExecutableContext
+     * @see Connection#sendCommand(CommandArguments)
      */
     @Override
     public void onEnter(ExecutableContext ctx) {
-        // TODO Get cluster id
-        protect((MethodContext) ctx,
-                new JedisRequest((Connection) ctx.getTarget(), (CommandArguments) ctx.getArguments()[0]));
+        JedisSocketFactory socketFactory = accessor == null ? null : (JedisSocketFactory) accessor.get(ctx.getTarget());
+        if (socketFactory != null) {
+            protect((MethodContext) ctx, new JedisRequest(socketFactory, (CommandArguments) ctx.getArguments()[0]));
+        }
     }
 
 }
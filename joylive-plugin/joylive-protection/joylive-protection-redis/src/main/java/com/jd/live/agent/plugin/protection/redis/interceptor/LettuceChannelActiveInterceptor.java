@@ -0,0 +1,68 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.protection.redis.interceptor;
+
+import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
+import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessor;
+import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessorFactory;
+import com.jd.live.agent.governance.interceptor.AbstractDbInterceptor;
+import com.jd.live.agent.governance.policy.PolicySupplier;
+import com.jd.live.agent.plugin.protection.redis.request.LettuceRequest;
+import io.lettuce.core.protocol.DefaultEndpoint;
+import io.lettuce.core.protocol.RedisCommand;
+import io.netty.channel.Channel;
+
+import java.sql.SQLException;
+import java.util.Queue;
+
+/**
+ * LettuceChannelActiveInterceptor
+ */
+public class LettuceChannelActiveInterceptor extends AbstractDbInterceptor {
+
+    private static final String FIELD_DISCONNECTED_BUFFER = "disconnectedBuffer";
+
+    private static final UnsafeFieldAccessor accessor = UnsafeFieldAccessorFactory.getQuietly(DefaultEndpoint.class, FIELD_DISCONNECTED_BUFFER);
+
+    public LettuceChannelActiveInterceptor(PolicySupplier policySupplier) {
+        super(policySupplier);
+    }
+
+    /**
+     * Enhanced logic before method execution<br>
+     * <p>
+     * The commands buffered while the endpoint was disconnected are flushed once the channel becomes active. They are
+     * checked here as a batch, and are completed exceptionally instead of being flushed if the access is denied.
+     *
+     * @param ctx ExecutableContext
+     * @see DefaultEndpoint#notifyChannelActive(Channel)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onEnter(ExecutableContext ctx) {
+        Queue<RedisCommand<?, ?, ?>> buffer = accessor == null ? null : (Queue<RedisCommand<?, ?, ?>>) accessor.get(ctx.getTarget());
+        if (buffer != null && !buffer.isEmpty()) {
+            SQLException exception = checkAccess(new LettuceRequest((Channel) ctx.getArguments()[0], buffer));
+            if (exception != null) {
+                RedisCommand<?, ?, ?> command;
+                while ((command = buffer.poll()) != null) {
+                    command.completeExceptionally(exception);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.protection.redis.interceptor;
+
+import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
+import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
+import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessor;
+import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessorFactory;
+import com.jd.live.agent.governance.interceptor.AbstractDbInterceptor;
+import com.jd.live.agent.governance.policy.PolicySupplier;
+import com.jd.live.agent.plugin.protection.redis.request.LettuceRequest;
+import io.lettuce.core.protocol.DefaultEndpoint;
+import io.netty.channel.Channel;
+
+/**
+ * LettuceEndpointInterceptor
+ */
+public class LettuceEndpointInterceptor extends AbstractDbInterceptor {
+
+    private static final String FIELD_CHANNEL = "channel";
+
+    private static final UnsafeFieldAccessor accessor = UnsafeFieldAccessorFactory.getQuietly(DefaultEndpoint.class, FIELD_CHANNEL);
+
+    public LettuceEndpointInterceptor(PolicySupplier policySupplier) {
+        super(policySupplier);
+    }
+
+    /**
+     * Enhanced logic before method execution<br>
+     * <p>
+     * A pipelined batch of commands is checked once, and the access mode is cached weakly by the channel of the
+     * connection. Commands written before the connection is established are buffered by the endpoint, and are checked
+     * by {@link LettuceChannelActiveInterceptor} when the channel becomes active.
+     *
+     * @param ctx ExecutableContext
+     * @see DefaultEndpoint#write(io.lettuce.core.protocol.RedisCommand)
+     * @see DefaultEndpoint#write(java.util.Collection)
+     */
+    @Override
+    public void onEnter(ExecutableContext ctx) {
+        Channel channel = accessor == null ? null : (Channel) accessor.get(ctx.getTarget());
+        if (channel != null) {
+            protect((MethodContext) ctx, new LettuceRequest(channel, ctx.getArguments()[0]));
+        }
+    }
+
+}
@@ -18,26 +18,37 @@ package com.jd.live.agent.plugin.protection.redis.request;
 import com.jd.live.agent.bootstrap.util.AbstractAttributes;
 import com.jd.live.agent.governance.request.DbRequest;
 import redis.clients.jedis.CommandArguments;
-import redis.clients.jedis.Connection;
+import redis.clients.jedis.DefaultJedisSocketFactory;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisSocketFactory;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.commands.ProtocolCommand;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 
 public class JedisRequest extends AbstractAttributes implements DbRequest.CacheRequest {
 
-    private final Connection connection;
+    private final JedisSocketFactory socketFactory;
+    private final HostAndPort hostAndPort;
     private final CommandArguments args;
 
-    public JedisRequest(Connection connection, CommandArguments args) {
-        this.connection = connection;
+    public JedisRequest(JedisSocketFactory socketFactory, CommandArguments args) {
+        this.socketFactory = socketFactory;
+        this.hostAndPort = socketFactory instanceof DefaultJedisSocketFactory
+                ? ((DefaultJedisSocketFactory) socketFactory).getHostAndPort()
+                : null;
         this.args = args;
     }
 
     @Override
     public String getHost() {
-        return null;
+        return hostAndPort == null ? null : hostAndPort.getHost();
     }
 
     @Override
     public int getPort() {
-        return 0;
+        return hostAndPort == null ? 0 : hostAndPort.getPort();
     }
 
     @Override
@@ -45,8 +56,37 @@ public class JedisRequest extends AbstractAttributes implements DbRequest.CacheR
         return null;
     }
 
+    @Override
+    public Object getConnection() {
+        // the socket factory is shared by the connections of a pool
+        return socketFactory;
+    }
+
     @Override
     public boolean isWrite() {
-        return true;
+        ProtocolCommand command = args == null ? null : args.getCommand();
+        if (command == null) {
+            return true;
+        }
+        String name = command instanceof Enum
+                ? ((Enum<?>) command).name()
+                : new String(command.getRaw(), StandardCharsets.UTF_8);
+        return RedisClassifier.hasSubcommand(name)
+                ? RedisClassifier.isWrite(name, getSubcommand())
+                : RedisClassifier.isWrite(name);
+    }
+
+    /**
+     * Returns the first argument after the command.
+     *
+     * @return the subcommand, or null if the command has no argument
+     */
+    private String getSubcommand() {
+        Iterator<Rawable> iterator = args.iterator();
+        // skip the command
+        if (iterator.hasNext()) {
+            iterator.next();
+        }
+        return iterator.hasNext() ? new String(iterator.next().getRaw(), StandardCharsets.UTF_8) : null;
     }
 }
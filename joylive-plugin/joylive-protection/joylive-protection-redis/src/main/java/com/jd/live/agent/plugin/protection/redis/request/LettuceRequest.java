@@ -0,0 +1,109 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.protection.redis.request;
+
+import com.jd.live.agent.bootstrap.util.AbstractAttributes;
+import com.jd.live.agent.governance.request.DbRequest;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.RedisCommand;
+import io.netty.channel.Channel;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Collection;
+
+public class LettuceRequest extends AbstractAttributes implements DbRequest.CacheRequest {
+
+    private final Channel channel;
+    private final InetSocketAddress address;
+    private final Object commands;
+
+    /**
+     * Creates a request of the commands written to the channel.
+     *
+     * @param channel  the channel of the connection
+     * @param commands a {@link RedisCommand} or a collection of them
+     */
+    public LettuceRequest(Channel channel, Object commands) {
+        this.channel = channel;
+        this.commands = commands;
+        SocketAddress remoteAddress = channel.remoteAddress();
+        this.address = remoteAddress instanceof InetSocketAddress ? (InetSocketAddress) remoteAddress : null;
+    }
+
+    @Override
+    public String getHost() {
+        return address == null ? null : address.getHostString();
+    }
+
+    @Override
+    public int getPort() {
+        return address == null ? 0 : address.getPort();
+    }
+
+    @Override
+    public String getDatabase() {
+        return null;
+    }
+
+    @Override
+    public Object getConnection() {
+        return channel;
+    }
+
+    @Override
+    public boolean isWrite() {
+        if (commands instanceof RedisCommand) {
+            return isWrite((RedisCommand<?, ?, ?>) commands);
+        } else if (commands instanceof Collection) {
+            for (Object command : (Collection<?>) commands) {
+                if (!(command instanceof RedisCommand) || isWrite((RedisCommand<?, ?, ?>) command)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isWrite(RedisCommand<?, ?, ?> command) {
+        ProtocolKeyword type = command.getType();
+        if (type == null) {
+            return true;
+        }
+        String name = type.name();
+        return RedisClassifier.hasSubcommand(name)
+                ? RedisClassifier.isWrite(name, getSubcommand(command))
+                : RedisClassifier.isWrite(name);
+    }
+
+    /**
+     * Returns the first argument of the command, the keywords are formatted by their names.
+     *
+     * @param command the command
+     * @return the subcommand, or null if the command has no argument
+     */
+    private static String getSubcommand(RedisCommand<?, ?, ?> command) {
+        CommandArgs<?, ?> args = command.getArgs();
+        String value = args == null ? null : args.toCommandString();
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        int pos = value.indexOf(' ');
+        return pos < 0 ? value : value.substring(0, pos);
+    }
+}
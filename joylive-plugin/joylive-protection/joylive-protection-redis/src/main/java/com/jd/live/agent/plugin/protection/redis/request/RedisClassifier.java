@@ -0,0 +1,107 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.protection.redis.request;
+
+import java.util.*;
+
+/**
+ * Classifies Redis commands as read or write.
+ * <p>
+ * Only the commands known to leave the data untouched are reads, including the connection commands issued during the
+ * handshake. The administrative commands such as {@code CLIENT} and {@code CLUSTER} are classified by their
+ * subcommands. Any other command is a write operation, which errs on the side of protection.
+ * </p>
+ */
+public class RedisClassifier {
+
+    private static final Set<String> READ_COMMANDS = new HashSet<>(Arrays.asList(
+            // connection
+            "AUTH", "HELLO", "SELECT", "PING", "ECHO", "QUIT", "RESET", "READONLY", "READWRITE",
+            "INFO", "COMMAND", "TIME", "DBSIZE", "LASTSAVE", "ROLE",
+            // transaction, whose commands are checked one by one
+            "MULTI", "EXEC", "DISCARD", "WATCH", "UNWATCH",
+            // keys and strings
+            "EXISTS", "TYPE", "TTL", "PTTL", "EXPIRETIME", "PEXPIRETIME", "KEYS", "SCAN", "RANDOMKEY", "DUMP",
+            "OBJECT", "TOUCH", "GET", "MGET", "GETRANGE", "STRLEN", "SUBSTR", "LCS", "GETBIT", "BITCOUNT", "BITPOS",
+            // hashes
+            "HGET", "HMGET", "HGETALL", "HKEYS", "HVALS", "HLEN", "HEXISTS", "HSTRLEN", "HSCAN", "HRANDFIELD",
+            // lists
+            "LRANGE", "LINDEX", "LLEN", "LPOS",
+            // sets
+            "SMEMBERS", "SISMEMBER", "SMISMEMBER", "SCARD", "SRANDMEMBER", "SSCAN", "SINTER", "SINTERCARD",
+            "SUNION", "SDIFF",
+            // sorted sets
+            "ZRANGE", "ZRANGEBYSCORE", "ZRANGEBYLEX", "ZREVRANGE", "ZREVRANGEBYSCORE", "ZREVRANGEBYLEX", "ZRANK",
+            "ZREVRANK", "ZSCORE", "ZMSCORE", "ZCARD", "ZCOUNT", "ZLEXCOUNT", "ZSCAN", "ZRANDMEMBER", "ZINTER",
+            "ZINTERCARD", "ZUNION", "ZDIFF",
+            // others
+            "PFCOUNT", "GEOPOS", "GEODIST", "GEOHASH", "GEOSEARCH", "XRANGE", "XREVRANGE", "XLEN", "XREAD", "XINFO",
+            "XPENDING", "UNSUBSCRIBE", "PUNSUBSCRIBE", "PUBSUB"
+    ));
+
+    /**
+     * The read subcommands of the commands classified by their subcommands.
+     */
+    private static final Map<String, Set<String>> READ_SUBCOMMANDS = new HashMap<>();
+
+    static {
+        // the subcommands of the connection itself, such as the name set during the handshake
+        READ_SUBCOMMANDS.put("CLIENT", new HashSet<>(Arrays.asList(
+                "ID", "INFO", "LIST", "GETNAME", "SETNAME", "SETINFO", "GETREDIR", "TRACKING", "TRACKINGINFO",
+                "CACHING", "REPLY", "NO-EVICT", "NO-TOUCH")));
+        READ_SUBCOMMANDS.put("CLUSTER", new HashSet<>(Arrays.asList(
+                "INFO", "NODES", "SLOTS", "SHARDS", "MYID", "MYSHARDID", "KEYSLOT", "COUNTKEYSINSLOT",
+                "GETKEYSINSLOT", "LINKS", "REPLICAS", "SLAVES", "COUNT-FAILURE-REPORTS")));
+    }
+
+    /**
+     * Determines if the command writes data.
+     *
+     * @param command the name of the command in upper case
+     * @return true if the command is unknown or writes data
+     */
+    public static boolean isWrite(String command) {
+        return isWrite(command, null);
+    }
+
+    /**
+     * Determines if the command with the subcommand writes data.
+     *
+     * @param command    the name of the command in upper case
+     * @param subcommand the first argument of the command, or null if it has no argument
+     * @return true if the command or its subcommand is unknown or writes data
+     */
+    public static boolean isWrite(String command, String subcommand) {
+        if (command == null) {
+            return true;
+        }
+        Set<String> subcommands = READ_SUBCOMMANDS.get(command);
+        if (subcommands != null) {
+            return subcommand == null || !subcommands.contains(subcommand.toUpperCase());
+        }
+        return !READ_COMMANDS.contains(command);
+    }
+
+    /**
+     * Determines if the command is classified by its subcommand.
+     *
+     * @param command the name of the command in upper case
+     * @return true if the subcommand is required to classify the command
+     */
+    public static boolean hasSubcommand(String command) {
+        return command != null && READ_SUBCOMMANDS.containsKey(command);
+    }
+}
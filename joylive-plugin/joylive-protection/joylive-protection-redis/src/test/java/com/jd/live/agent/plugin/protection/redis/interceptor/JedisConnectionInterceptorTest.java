@@ -0,0 +1,201 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.protection.redis.interceptor;
+
+import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
+import com.jd.live.agent.governance.policy.AccessMode;
+import com.jd.live.agent.governance.policy.GovernancePolicy;
+import com.jd.live.agent.governance.policy.PolicySupplier;
+import com.jd.live.agent.governance.policy.db.DatabaseCluster;
+import com.jd.live.agent.governance.policy.db.DatabasePolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.Protocol;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JedisConnectionInterceptorTest {
+
+    private ServerSocket server;
+
+    private final AtomicInteger commands = new AtomicInteger();
+
+    private volatile GovernancePolicy policy;
+
+    private Connection connection;
+
+    private JedisConnectionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ServerSocket(0);
+        Thread thread = new Thread(this::serve, "redis-stand-in");
+        thread.setDaemon(true);
+        thread.start();
+        interceptor = new JedisConnectionInterceptor(new PolicySupplier() {
+            @Override
+            public GovernancePolicy getPolicy() {
+                return policy;
+            }
+
+            @Override
+            public CompletableFuture<Void> subscribe(String namespace, String service) {
+                return CompletableFuture.completedFuture(null);
+            }
+        });
+        connection = new Connection("127.0.0.1", server.getLocalPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connection.close();
+        server.close();
+    }
+
+    @Test
+    void testAllowed() throws Exception {
+        policy = createPolicy(AccessMode.READ_WRITE);
+        Assertions.assertNull(execute(Protocol.Command.SET, "key", "value"));
+        Assertions.assertNull(execute(Protocol.Command.GET, "key"));
+        Assertions.assertEquals(2, commands.get());
+    }
+
+    @Test
+    void testUngoverned() throws Exception {
+        policy = new GovernancePolicy();
+        policy.cache();
+        Assertions.assertNull(execute(Protocol.Command.SET, "key", "value"));
+        Assertions.assertEquals(1, commands.get());
+    }
+
+    @Test
+    void testBlocked() throws Exception {
+        policy = createPolicy(AccessMode.NONE);
+        Assertions.assertTrue(execute(Protocol.Command.SET, "key", "value") instanceof SQLException);
+        Assertions.assertTrue(execute(Protocol.Command.GET, "key") instanceof SQLException);
+        Assertions.assertEquals(0, commands.get());
+    }
+
+    @Test
+    void testReadOnly() throws Exception {
+        policy = createPolicy(AccessMode.READ);
+        Assertions.assertNull(execute(Protocol.Command.GET, "key"));
+        Assertions.assertTrue(execute(Protocol.Command.SET, "key", "value") instanceof SQLException);
+        Assertions.assertTrue(execute(Protocol.Command.DEL, "key") instanceof SQLException);
+        Assertions.assertEquals(1, commands.get());
+        // the cached access mode is evaluated again with the new policy
+        policy = createPolicy(AccessMode.READ_WRITE);
+        Assertions.assertNull(execute(Protocol.Command.SET, "key", "value"));
+        Assertions.assertEquals(2, commands.get());
+    }
+
+    @Test
+    void testSubcommands() throws Exception {
+        policy = createPolicy(AccessMode.READ);
+        Assertions.assertNull(execute(Protocol.Command.CLIENT, "LIST"));
+        Assertions.assertNull(execute(Protocol.Command.CLIENT, "setname", "test"));
+        Assertions.assertNull(execute(Protocol.Command.CLUSTER, "INFO"));
+        Assertions.assertTrue(execute(Protocol.Command.CLIENT, "KILL", "127.0.0.1:6379") instanceof SQLException);
+        Assertions.assertTrue(execute(Protocol.Command.CLIENT) instanceof SQLException);
+        Assertions.assertTrue(execute(Protocol.Command.CLUSTER, "RESET") instanceof SQLException);
+        Assertions.assertTrue(execute(Protocol.Command.SUBSCRIBE, "channel") instanceof SQLException);
+        // the client commands are not counted by the stand-in
+        Assertions.assertEquals(1, commands.get());
+    }
+
+    /**
+     * Runs the command through the interceptor the way the enhanced method does.
+     *
+     * @return the throwable set by the interceptor, or null if the command reached the server
+     */
+    private Throwable execute(Protocol.Command command, String... args) throws Exception {
+        CommandArguments arguments = new CommandArguments(command);
+        for (String arg : args) {
+            arguments.add(arg);
+        }
+        Method method = Connection.class.getMethod("sendCommand", CommandArguments.class);
+        MethodContext context = new MethodContext(Connection.class, connection, method,
+                new Object[]{arguments}, "sendCommand", false);
+        interceptor.onEnter(context);
+        if (context.isSkip()) {
+            return context.getThrowable();
+        }
+        connection.sendCommand(arguments);
+        Assertions.assertEquals("OK", connection.getStatusCodeReply());
+        return null;
+    }
+
+    private GovernancePolicy createPolicy(AccessMode accessMode) {
+        DatabasePolicy dbPolicy = new DatabasePolicy();
+        dbPolicy.setAccessMode(accessMode);
+        DatabaseCluster cluster = new DatabaseCluster();
+        cluster.setName("redis");
+        cluster.setHost("127.0.0.1");
+        cluster.setPort(server.getLocalPort());
+        cluster.setPolicy(dbPolicy);
+        GovernancePolicy result = new GovernancePolicy();
+        result.setDbClusters(Collections.singletonList(cluster));
+        result.cache();
+        return result;
+    }
+
+    /**
+     * A RESP stand-in that counts the data commands and answers every command with {@code +OK}.
+     */
+    private void serve() {
+        while (!server.isClosed()) {
+            try (Socket socket = server.accept()) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                OutputStream out = socket.getOutputStream();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("*")) {
+                        int count = Integer.parseInt(line.substring(1));
+                        String name = null;
+                        for (int i = 0; i < count; i++) {
+                            // length and value of a bulk string
+                            reader.readLine();
+                            String value = reader.readLine();
+                            name = i == 0 ? value : name;
+                        }
+                        if (!"CLIENT".equalsIgnoreCase(name) && !"HELLO".equalsIgnoreCase(name)) {
+                            // ignore the handshake of the connection
+                            commands.incrementAndGet();
+                        }
+                        out.write("+OK\r\n".getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                    }
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
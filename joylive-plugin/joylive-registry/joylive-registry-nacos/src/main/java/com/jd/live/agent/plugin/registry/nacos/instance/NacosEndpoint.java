@@ -24,6 +24,7 @@ import com.jd.live.agent.governance.instance.EndpointState;
 import com.jd.live.agent.governance.request.ServiceRequest;
 
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * A class that represents an endpoint in the Nacos registry.
@@ -35,6 +36,11 @@ public class NacosEndpoint extends AbstractAttributes implements Endpoint {
      */
     private final Instance instance;
 
+    /**
+     * The hash of the instance content, used to detect changed instances cheaply.
+     */
+    private final int hash;
+
     /**
      * Creates a new NacosEndpoint object with the specified instance.
      *
@@ -42,6 +48,7 @@ public class NacosEndpoint extends AbstractAttributes implements Endpoint {
      */
     public NacosEndpoint(Instance instance) {
         this.instance = instance;
+        this.hash = hash(instance);
     }
 
     @Override
@@ -60,6 +67,11 @@ public class NacosEndpoint extends AbstractAttributes implements Endpoint {
         return metadata == null ? null : metadata.get(key);
     }
 
+    @Override
+    public Map<String, String> getLabels() {
+        return instance.getMetadata();
+    }
+
     @Override
     public EndpointState getState() {
         if (!instance.isEnabled()) {
@@ -70,6 +82,51 @@ public class NacosEndpoint extends AbstractAttributes implements Endpoint {
 
     @Override
     public Integer getWeight(ServiceRequest request) {
+        return getOriginWeight();
+    }
+
+    @Override
+    public Integer getOriginWeight() {
         return Converts.getInteger(getLabel(Constants.LABEL_WEIGHT), (int) (instance.getWeight() * DEFAULT_WEIGHT));
     }
+
+    /**
+     * Checks if the specified instance has the same content as the instance of this endpoint.
+     *
+     * @param other the instance to compare
+     * @return true if the content is the same, false otherwise
+     */
+    public boolean matches(Instance other) {
+        if (other == instance) {
+            return true;
+        } else if (other == null || hash != hash(other)) {
+            return false;
+        }
+        return other.getPort() == instance.getPort()
+                && other.isHealthy() == instance.isHealthy()
+                && other.isEnabled() == instance.isEnabled()
+                && other.isEphemeral() == instance.isEphemeral()
+                && Double.compare(other.getWeight(), instance.getWeight()) == 0
+                && Objects.equals(other.getIp(), instance.getIp())
+                && Objects.equals(other.getClusterName(), instance.getClusterName())
+                && Objects.equals(other.getMetadata(), instance.getMetadata());
+    }
+
+    /**
+     * Computes the content hash of the instance without creating intermediate objects.
+     *
+     * @param instance the instance
+     * @return the content hash
+     */
+    private static int hash(Instance instance) {
+        int result = Objects.hashCode(instance.getIp());
+        result = 31 * result + instance.getPort();
+        result = 31 * result + Double.hashCode(instance.getWeight());
+        result = 31 * result + Boolean.hashCode(instance.isHealthy());
+        result = 31 * result + Boolean.hashCode(instance.isEnabled());
+        result = 31 * result + Boolean.hashCode(instance.isEphemeral());
+        result = 31 * result + Objects.hashCode(instance.getClusterName());
+        result = 31 * result + Objects.hashCode(instance.getMetadata());
+        return result;
+    }
 }
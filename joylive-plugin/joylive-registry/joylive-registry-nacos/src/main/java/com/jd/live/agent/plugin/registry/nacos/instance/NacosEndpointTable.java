@@ -0,0 +1,106 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.registry.nacos.instance;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A table of the endpoints of the Nacos services, keyed by the instance address.
+ * <p>
+ * Instances whose content is not changed keep their endpoint, so a push of a large instance list only creates
+ * endpoints for the new or changed instances. Instances are deduplicated by address before their content is
+ * compared, and the first instance of an address wins.
+ */
+public class NacosEndpointTable {
+
+    private final Map<String, ServiceEndpoints> services = new ConcurrentHashMap<>();
+
+    /**
+     * Applies the instances of the service and returns the new snapshot of the endpoints.
+     *
+     * @param service   the service name
+     * @param instances the current instances of the service
+     * @return the immutable snapshot of the endpoints, or null if nothing is changed
+     */
+    public List<NacosEndpoint> update(String service, List<Instance> instances) {
+        return services.computeIfAbsent(service, s -> new ServiceEndpoints()).update(instances);
+    }
+
+    /**
+     * Removes the endpoints of the service.
+     *
+     * @param service the service name
+     */
+    public void remove(String service) {
+        services.remove(service);
+    }
+
+    /**
+     * Returns the key of the instance.
+     *
+     * @param instance the instance
+     * @return the address of the instance
+     */
+    private static String getKey(Instance instance) {
+        return instance.getIp() + ":" + instance.getPort();
+    }
+
+    /**
+     * The endpoints of a service.
+     */
+    private static class ServiceEndpoints {
+
+        private Map<String, NacosEndpoint> endpoints = new HashMap<>();
+
+        private List<NacosEndpoint> snapshot;
+
+        public synchronized List<NacosEndpoint> update(List<Instance> instances) {
+            int size = instances == null ? 0 : instances.size();
+            Map<String, NacosEndpoint> olds = endpoints;
+            Map<String, NacosEndpoint> news = new HashMap<>(size * 4 / 3 + 1);
+            List<NacosEndpoint> result = new ArrayList<>(size);
+            boolean changed = snapshot == null;
+            if (instances != null) {
+                for (Instance instance : instances) {
+                    String key = getKey(instance);
+                    if (news.containsKey(key)) {
+                        // duplicated address
+                        continue;
+                    }
+                    NacosEndpoint endpoint = olds.get(key);
+                    if (endpoint == null || !endpoint.matches(instance)) {
+                        endpoint = new NacosEndpoint(instance);
+                        changed = true;
+                    }
+                    news.put(key, endpoint);
+                    result.add(endpoint);
+                }
+            }
+            if (!changed && news.size() != olds.size()) {
+                changed = true;
+            }
+            endpoints = news;
+            if (!changed) {
+                return null;
+            }
+            snapshot = Collections.unmodifiableList(result);
+            return snapshot;
+        }
+    }
+}
@@ -21,16 +21,22 @@ import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
 import com.jd.live.agent.core.plugin.definition.InterceptorAdaptor;
 import com.jd.live.agent.governance.registry.RegistrySupervisor;
 import com.jd.live.agent.plugin.registry.nacos.instance.NacosEndpoint;
+import com.jd.live.agent.plugin.registry.nacos.instance.NacosEndpointTable;
 
-import static com.jd.live.agent.core.util.CollectionUtils.toList;
+import java.util.List;
 
 /**
  * NacosInstanceChangeInterceptor
+ * <p>
+ * Only the endpoints of new or changed instances are created, and pushes without any change are not published
+ * unless the registry has not received the endpoints of the service yet.
  */
 public class NacosInstanceChangeInterceptor extends InterceptorAdaptor {
 
     private final RegistrySupervisor supervisor;
 
+    private final NacosEndpointTable table = new NacosEndpointTable();
+
     public NacosInstanceChangeInterceptor(RegistrySupervisor supervisor) {
         this.supervisor = supervisor;
     }
@@ -39,8 +45,18 @@ public class NacosInstanceChangeInterceptor extends InterceptorAdaptor {
     public void onSuccess(ExecutableContext ctx) {
         MethodContext mc = (MethodContext) ctx;
         InstancesChangeEvent event = mc.getArgument(0);
-        if (supervisor.isSubscribed(event.getServiceName())) {
-            supervisor.update(event.getServiceName(), toList(event.getHosts(), NacosEndpoint::new));
+        String service = event.getServiceName();
+        if (supervisor.isSubscribed(service)) {
+            if (!supervisor.hasEndpoints(service)) {
+                // the entry is stale, such as one left by a previous subscription, so the push is published in full.
+                table.remove(service);
+            }
+            List<NacosEndpoint> endpoints = table.update(service, event.getHosts());
+            if (endpoints != null) {
+                supervisor.update(service, endpoints);
+            }
+        } else {
+            table.remove(service);
         }
     }
 }
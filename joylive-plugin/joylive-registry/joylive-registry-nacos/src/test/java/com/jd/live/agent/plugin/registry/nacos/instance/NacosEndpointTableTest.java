@@ -0,0 +1,93 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.registry.nacos.instance;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class NacosEndpointTableTest {
+
+    private static final String SERVICE = "service-provider";
+
+    @Test
+    void testUnchanged() {
+        NacosEndpointTable table = new NacosEndpointTable();
+        List<NacosEndpoint> endpoints = table.update(SERVICE, Arrays.asList(
+                create("10.0.0.1", 8080, 1.0), create("10.0.0.2", 8080, 1.0)));
+        Assertions.assertEquals(2, endpoints.size());
+        // a push of equal instances in another order is not published again
+        Assertions.assertNull(table.update(SERVICE, Arrays.asList(
+                create("10.0.0.2", 8080, 1.0), create("10.0.0.1", 8080, 1.0))));
+    }
+
+    @Test
+    void testDuplicated() {
+        NacosEndpointTable table = new NacosEndpointTable();
+        List<NacosEndpoint> endpoints = table.update(SERVICE, Arrays.asList(
+                create("10.0.0.1", 8080, 1.0), create("10.0.0.1", 8080, 2.0), create("10.0.0.2", 8080, 1.0)));
+        Assertions.assertEquals(2, endpoints.size());
+        Assertions.assertEquals("10.0.0.1", endpoints.get(0).getHost());
+        Assertions.assertEquals("10.0.0.2", endpoints.get(1).getHost());
+        // duplicated addresses do not defeat the short-circuit
+        Assertions.assertNull(table.update(SERVICE, Arrays.asList(
+                create("10.0.0.1", 8080, 1.0), create("10.0.0.2", 8080, 1.0), create("10.0.0.2", 8080, 1.0))));
+    }
+
+    @Test
+    void testChanged() {
+        NacosEndpointTable table = new NacosEndpointTable();
+        List<NacosEndpoint> olds = table.update(SERVICE, Arrays.asList(
+                create("10.0.0.1", 8080, 1.0), create("10.0.0.2", 8080, 1.0)));
+        List<NacosEndpoint> news = table.update(SERVICE, Arrays.asList(
+                create("10.0.0.1", 8080, 1.0), create("10.0.0.2", 8080, 2.0)));
+        Assertions.assertNotNull(news);
+        Assertions.assertEquals(2, news.size());
+        // the unchanged instance keeps its endpoint
+        Assertions.assertSame(olds.get(0), news.get(0));
+        Assertions.assertNotSame(olds.get(1), news.get(1));
+
+        Instance instance = create("10.0.0.1", 8080, 1.0);
+        instance.setMetadata(Collections.singletonMap("unit", "unit1"));
+        news = table.update(SERVICE, Arrays.asList(instance, create("10.0.0.2", 8080, 2.0)));
+        Assertions.assertNotNull(news);
+        Assertions.assertEquals("unit1", news.get(0).getLabel("unit"));
+    }
+
+    @Test
+    void testRemoved() {
+        NacosEndpointTable table = new NacosEndpointTable();
+        table.update(SERVICE, Arrays.asList(create("10.0.0.1", 8080, 1.0), create("10.0.0.2", 8080, 1.0)));
+        List<NacosEndpoint> endpoints = table.update(SERVICE, Collections.singletonList(create("10.0.0.1", 8080, 1.0)));
+        Assertions.assertEquals(1, endpoints.size());
+        Assertions.assertTrue(table.update(SERVICE, null).isEmpty());
+        Assertions.assertNull(table.update(SERVICE, Collections.emptyList()));
+        table.remove(SERVICE);
+        Assertions.assertNotNull(table.update(SERVICE, Collections.emptyList()));
+    }
+
+    private static Instance create(String ip, int port, double weight) {
+        Instance instance = new Instance();
+        instance.setIp(ip);
+        instance.setPort(port);
+        instance.setWeight(weight);
+        return instance;
+    }
+}
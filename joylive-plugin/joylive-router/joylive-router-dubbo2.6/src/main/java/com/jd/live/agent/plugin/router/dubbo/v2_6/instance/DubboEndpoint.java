@@ -20,6 +20,8 @@ import com.alibaba.dubbo.rpc.Invoker;
 import com.jd.live.agent.core.Constants;
 import com.jd.live.agent.core.util.option.Converts;
 import com.jd.live.agent.governance.instance.AbstractEndpoint;
+import com.jd.live.agent.governance.instance.EndpointLabelCache;
+import com.jd.live.agent.governance.instance.EndpointLabels;
 import com.jd.live.agent.governance.instance.EndpointState;
 import com.jd.live.agent.governance.request.ServiceRequest;
 
@@ -38,6 +40,8 @@ import static com.alibaba.dubbo.common.Constants.REMOTE_TIMESTAMP_KEY;
  */
 public class DubboEndpoint<T> extends AbstractEndpoint {
 
+    private static final EndpointLabelCache<Invoker<?>> LABELS = new EndpointLabelCache<>();
+
     private final Invoker<T> invoker;
 
     private final URL url;
@@ -47,6 +51,12 @@ public class DubboEndpoint<T> extends AbstractEndpoint {
         this.url = invoker.getUrl();
     }
 
+    public DubboEndpoint(Invoker<T> invoker, EndpointLabels labels) {
+        super(labels);
+        this.invoker = invoker;
+        this.url = invoker.getUrl();
+    }
+
     public Invoker<T> getInvoker() {
         return invoker;
     }
@@ -91,11 +101,15 @@ public class DubboEndpoint<T> extends AbstractEndpoint {
 
     /**
      * Factory method to create a new {@code DubboEndpoint} instance for a given invoker.
+     * <p>
+     * The labels of the invoker are parsed once and shared by the cluster and load balance interceptors. They are
+     * cached weakly by the invoker, so the labels of destroyed invokers are released with them.
+     * </p>
      *
      * @param invoker The invoker for which the endpoint is to be created.
      * @return A new instance of {@code DubboEndpoint}.
      */
     public static DubboEndpoint<?> of(Invoker<?> invoker) {
-        return new DubboEndpoint<>(invoker);
+        return LABELS.get(invoker, i -> new DubboEndpoint<>(i), (i, labels) -> new DubboEndpoint<>(i, labels));
     }
 }
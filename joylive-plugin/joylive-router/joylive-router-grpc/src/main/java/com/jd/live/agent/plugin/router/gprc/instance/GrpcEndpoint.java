@@ -26,8 +26,13 @@ public class GrpcEndpoint extends AbstractEndpoint {
 
     public static final Map<String, Key<String>> KEYS = new ConcurrentHashMap<>();
 
+    private static final Object NULL_LABEL = new Object();
+
     private final Subchannel subchannel;
 
+    // the attributes of subchannel are immutable, so the labels can be cached.
+    private final Map<String, Object> labels = new ConcurrentHashMap<>(16);
+
     private InetSocketAddress socketAddress;
 
     public GrpcEndpoint(Subchannel subchannel) {
@@ -46,7 +51,29 @@ public class GrpcEndpoint extends AbstractEndpoint {
 
     @Override
     public String getLabel(String key) {
-        return key == null || key.isEmpty() ? null : subchannel.getAttributes().get(KEYS.computeIfAbsent(key, Key::create));
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        Object value = labels.get(key);
+        if (value == null) {
+            value = subchannel.getAttributes().get(KEYS.computeIfAbsent(key, Key::create));
+            value = value == null ? NULL_LABEL : value;
+            labels.putIfAbsent(key, value);
+        }
+        return value == NULL_LABEL ? null : (String) value;
+    }
+
+    /**
+     * Resolves the routing labels in advance, so that routing on the event loop only reads the cached values.
+     */
+    public void index() {
+        getLiveSpaceId();
+        getUnit();
+        getCell();
+        getLaneSpaceId();
+        getLane();
+        getGroup();
+        getLabel(LABEL_STATE);
     }
 
     @Override
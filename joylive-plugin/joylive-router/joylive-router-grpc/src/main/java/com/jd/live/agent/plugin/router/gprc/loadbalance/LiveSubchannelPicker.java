@@ -50,6 +50,10 @@ public class LiveSubchannelPicker extends SubchannelPicker {
     public LiveSubchannelPicker(PickResult pickResult, List<GrpcEndpoint> endpoints) {
         this.pickResult = pickResult;
         this.endpoints = endpoints;
+        if (endpoints != null) {
+            // the picker is created on resolver update, index the labels once instead of on every pick.
+            endpoints.forEach(GrpcEndpoint::index);
+        }
     }
 
     @Override
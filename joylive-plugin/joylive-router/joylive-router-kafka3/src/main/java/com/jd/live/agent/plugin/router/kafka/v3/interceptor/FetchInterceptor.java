@@ -23,6 +23,8 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.TopicPartition;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 import static com.jd.live.agent.core.util.CollectionUtils.filter;
 
@@ -32,14 +34,51 @@ public class FetchInterceptor extends AbstractMessageInterceptor {
         super(context);
     }
 
+    /**
+     * Filters the fetched records of a partition in place.
+     * <p>
+     * The consumer position is advanced by the fetcher according to the completed fetch, not the returned records,
+     * so the offsets of discarded records are still committed.
+     *
+     * @param ctx the executable context
+     */
     @SuppressWarnings("unchecked")
     @Override
     public void onEnter(ExecutableContext ctx) {
         Object[] arguments = ctx.getArguments();
         TopicPartition topicPartition = (TopicPartition) arguments[0];
-        if (isEnabled(topicPartition.topic())) {
-            List<ConsumerRecord<?, ?>> records = (List<ConsumerRecord<?, ?>>) arguments[1];
-            filter(records, message -> allow(new KafkaMessage(message)) == MessageAction.CONSUME);
+        List<ConsumerRecord<?, ?>> records = (List<ConsumerRecord<?, ?>>) arguments[1];
+        if (records != null && !records.isEmpty() && isEnabled(topicPartition.topic())) {
+            filter(records, new BatchFilter());
+        }
+    }
+
+    /**
+     * A record filter for one batch, which reuses the decision of the previous record
+     * when the routing headers are not changed.
+     */
+    private class BatchFilter implements Predicate<ConsumerRecord<?, ?>> {
+
+        private KafkaMessage last;
+
+        private boolean consumable;
+
+        @Override
+        public boolean test(ConsumerRecord<?, ?> record) {
+            KafkaMessage message = new KafkaMessage(record);
+            if (last == null || !isSameRoute(last, message)) {
+                consumable = allow(message) == MessageAction.CONSUME;
+                last = message;
+            }
+            return consumable;
+        }
+
+        private boolean isSameRoute(KafkaMessage m1, KafkaMessage m2) {
+            return Objects.equals(m1.getLiveSpaceId(), m2.getLiveSpaceId())
+                    && Objects.equals(m1.getRuleId(), m2.getRuleId())
+                    && Objects.equals(m1.getVariable(), m2.getVariable())
+                    && Objects.equals(m1.getLaneSpaceId(), m2.getLaneSpaceId())
+                    && Objects.equals(m1.getLane(), m2.getLane());
         }
     }
 }
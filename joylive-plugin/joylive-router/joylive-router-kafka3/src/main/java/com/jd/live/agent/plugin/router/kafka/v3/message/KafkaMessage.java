@@ -1,22 +1,164 @@
 package com.jd.live.agent.plugin.router.kafka.v3.message;
 
+import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessor;
+import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessorFactory;
+import com.jd.live.agent.core.Constants;
 import com.jd.live.agent.governance.request.AbstractMessage;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * A concrete implementation of {@link AbstractMessage} for Kafka messages.
+ * <p>
+ * The routing headers are read in a single pass over the record headers. Header keys that are not decoded yet
+ * are compared as raw bytes against the pre-encoded routing keys, so the keys of unrelated headers are never
+ * decoded to strings.
  *
  * @since 1.0.0
  */
 public class KafkaMessage extends AbstractMessage {
 
+    private static final String FIELD_KEY_BUFFER = "keyBuffer";
+
+    private static final UnsafeFieldAccessor keyBufferAccessor = UnsafeFieldAccessorFactory.getQuietly(RecordHeader.class, FIELD_KEY_BUFFER);
+
+    private static final int LIVE_SPACE_ID = 0;
+    private static final int RULE_ID = 1;
+    private static final int VARIABLE = 2;
+    private static final int LANE_SPACE_ID = 3;
+    private static final int LANE = 4;
+
+    private static final String[] KEYS = new String[]{
+            Constants.LABEL_LIVE_SPACE_ID,
+            Constants.LABEL_RULE_ID,
+            Constants.LABEL_VARIABLE,
+            Constants.LABEL_LANE_SPACE_ID,
+            Constants.LABEL_LANE
+    };
+
+    private static final byte[][] KEY_BYTES = new byte[KEYS.length][];
+
+    static {
+        for (int i = 0; i < KEYS.length; i++) {
+            KEY_BYTES[i] = KEYS[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
     public KafkaMessage(ConsumerRecord<?, ?> record) {
         super(record.topic(), key -> {
             Header header = record.headers().lastHeader(key);
-            return header == null ? null : Arrays.toString(header.value());
+            return header == null ? null : toString(header.value());
         });
+        parse(record);
+    }
+
+    @Override
+    public String getLiveSpaceId() {
+        return liveSpaceId;
+    }
+
+    @Override
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    @Override
+    public String getVariable() {
+        return variable;
+    }
+
+    @Override
+    public String getLaneSpaceId() {
+        return laneSpaceId;
+    }
+
+    @Override
+    public String getLane() {
+        return lane;
+    }
+
+    /**
+     * Reads the routing headers of the record in one pass. The last header wins as {@code lastHeader} does.
+     *
+     * @param record the consumer record
+     */
+    private void parse(ConsumerRecord<?, ?> record) {
+        for (Header header : record.headers()) {
+            switch (indexOf(header)) {
+                case LIVE_SPACE_ID:
+                    liveSpaceId = toString(header.value());
+                    break;
+                case RULE_ID:
+                    ruleId = toString(header.value());
+                    break;
+                case VARIABLE:
+                    variable = toString(header.value());
+                    break;
+                case LANE_SPACE_ID:
+                    laneSpaceId = toString(header.value());
+                    break;
+                case LANE:
+                    lane = toString(header.value());
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the routing key matching the header key.
+     *
+     * @param header the header
+     * @return the index of the routing key, or -1 if the header is not a routing header
+     */
+    private static int indexOf(Header header) {
+        ByteBuffer buffer = keyBufferAccessor == null || !(header instanceof RecordHeader)
+                ? null
+                : (ByteBuffer) keyBufferAccessor.get(header);
+        if (buffer != null) {
+            for (int i = 0; i < KEY_BYTES.length; i++) {
+                if (equals(buffer, KEY_BYTES[i])) {
+                    return i;
+                }
+            }
+        } else {
+            // the key is already decoded.
+            String key = header.key();
+            for (int i = 0; i < KEYS.length; i++) {
+                if (KEYS[i].equals(key)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares the remaining bytes of the buffer with the given bytes without changing the buffer position.
+     *
+     * @param buffer the buffer
+     * @param bytes  the bytes
+     * @return true if they are equal
+     */
+    private static boolean equals(ByteBuffer buffer, byte[] bytes) {
+        int length = bytes.length;
+        if (buffer.remaining() != length) {
+            return false;
+        }
+        int position = buffer.position();
+        for (int i = length - 1; i >= 0; i--) {
+            // the routing keys share the same prefix, so compare from the end.
+            if (buffer.get(position + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String toString(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
     }
 }
@@ -19,14 +19,34 @@ import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
 import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
 import com.jd.live.agent.governance.interceptor.AbstractMessageInterceptor;
 import com.jd.live.agent.governance.invoke.InvocationContext;
+import org.apache.rocketmq.client.consumer.PullCallback;
 import org.apache.rocketmq.client.consumer.PullResult;
 import org.apache.rocketmq.client.consumer.PullStatus;
+import org.apache.rocketmq.client.impl.CommunicationMode;
+import org.apache.rocketmq.client.impl.consumer.PullResultExt;
+import org.apache.rocketmq.common.MixAll;
 import org.apache.rocketmq.common.message.MessageQueue;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Intercepts the pull of a message queue, and returns an empty result without pulling
+ * when the topic is not ready to consume.
+ * <p>
+ * The empty result of a queue is shared while its offset stays the same. The pull is suspended
+ * as a broker long polling would, so that the consumer does not spin on the empty results.
+ */
 public class PullInterceptor extends AbstractMessageInterceptor {
 
+    private static final int ARGUMENT_OFFSET = 4;
+    private static final int ARGUMENT_BROKER_SUSPEND_MAX_TIME = 9;
+    private static final int ARGUMENT_COMMUNICATION_MODE = 11;
+    private static final int ARGUMENT_PULL_CALLBACK = 12;
+
+    private final Map<MessageQueue, PullResult> emptyResults = new ConcurrentHashMap<>();
+
     public PullInterceptor(InvocationContext context) {
         super(context);
     }
@@ -37,10 +57,56 @@ public class PullInterceptor extends AbstractMessageInterceptor {
         MessageQueue messageQueue = (MessageQueue) arguments[0];
         if (!isConsumeReady(messageQueue.getTopic())) {
             MethodContext mc = (MethodContext) ctx;
-            PullResult result = new PullResult(PullStatus.NO_NEW_MSG, (Long) arguments[4],
-                    0, 0, new ArrayList<>());
-            mc.setResult(result);
+            PullResult result = getEmptyResult(messageQueue, (Long) arguments[ARGUMENT_OFFSET]);
+            long suspendTime = Math.min(governanceConfig.getLiveConfig().getPullSuspendTime(),
+                    (Long) arguments[ARGUMENT_BROKER_SUSPEND_MAX_TIME]);
+            if (arguments[ARGUMENT_COMMUNICATION_MODE] == CommunicationMode.ASYNC) {
+                PullCallback callback = (PullCallback) arguments[ARGUMENT_PULL_CALLBACK];
+                if (suspendTime > 0) {
+                    context.getTimer().delay("Live-PullSuspend", suspendTime, () -> callback.onSuccess(result));
+                } else {
+                    callback.onSuccess(result);
+                }
+                mc.setResult(null);
+            } else {
+                suspend(suspendTime);
+                mc.setResult(result);
+            }
             mc.setSkip(true);
+        } else {
+            emptyResults.remove(messageQueue);
+        }
+    }
+
+    /**
+     * Returns the shared empty result of the queue at the given offset.
+     *
+     * @param messageQueue the message queue
+     * @param offset       the pull offset
+     * @return the empty result
+     */
+    private PullResult getEmptyResult(MessageQueue messageQueue, long offset) {
+        PullResult result = emptyResults.get(messageQueue);
+        if (result == null || result.getNextBeginOffset() != offset) {
+            // the client casts the result to PullResultExt.
+            result = new PullResultExt(PullStatus.NO_NEW_MSG, offset, 0, 0, Collections.emptyList(), MixAll.MASTER_ID, null);
+            emptyResults.put(messageQueue, result);
+        }
+        return result;
+    }
+
+    /**
+     * Suspends the current pulling thread.
+     *
+     * @param suspendTime the suspend time in milliseconds
+     */
+    private void suspend(long suspendTime) {
+        if (suspendTime > 0) {
+            try {
+                Thread.sleep(suspendTime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 }
@@ -55,6 +55,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Predicate;
 
 import static com.alipay.sofa.rpc.common.RpcConstants.INTERNAL_KEY_CLIENT_ROUTER_TIME_NANO;
 
@@ -94,6 +95,8 @@ public class SofaRpcCluster extends AbstractLiveCluster<SofaRpcOutboundRequest,
 
     private final SofaRpcOutboundThrower thrower;
 
+    private final Predicate<ProviderInfo> connectedPredicate = this::isConnected;
+
     /**
      * The identifier used for stickiness. This ID is used to route requests to
      * the same provider consistently.
@@ -152,7 +155,7 @@ public class SofaRpcCluster extends AbstractLiveCluster<SofaRpcOutboundRequest,
         }
         List<SofaRpcEndpoint> endpoints = new ArrayList<>(providers.size());
         for (ProviderInfo provider : providers) {
-            endpoints.add(new SofaRpcEndpoint(provider, this::isConnected));
+            endpoints.add(SofaRpcEndpoint.of(provider, connectedPredicate));
         }
         return CompletableFuture.completedFuture(endpoints);
     }
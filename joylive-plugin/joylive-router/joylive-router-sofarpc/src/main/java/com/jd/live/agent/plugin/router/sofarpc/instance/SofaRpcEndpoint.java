@@ -18,6 +18,8 @@ package com.jd.live.agent.plugin.router.sofarpc.instance;
 import com.alipay.sofa.rpc.client.ProviderInfo;
 import com.jd.live.agent.governance.instance.AbstractEndpoint;
 import com.jd.live.agent.governance.instance.Endpoint;
+import com.jd.live.agent.governance.instance.EndpointLabelCache;
+import com.jd.live.agent.governance.instance.EndpointLabels;
 import com.jd.live.agent.governance.instance.EndpointState;
 import com.jd.live.agent.governance.request.ServiceRequest;
 
@@ -36,6 +38,8 @@ import java.util.function.Predicate;
  */
 public class SofaRpcEndpoint extends AbstractEndpoint {
 
+    private static final EndpointLabelCache<ProviderInfo> LABELS = new EndpointLabelCache<>();
+
     private final ProviderInfo provider;
 
     private final Predicate<ProviderInfo> predicate;
@@ -49,6 +53,12 @@ public class SofaRpcEndpoint extends AbstractEndpoint {
         this.predicate = predicate;
     }
 
+    public SofaRpcEndpoint(ProviderInfo provider, Predicate<ProviderInfo> predicate, EndpointLabels labels) {
+        super(labels);
+        this.provider = provider;
+        this.predicate = predicate;
+    }
+
     public ProviderInfo getProvider() {
         return provider;
     }
@@ -68,6 +78,11 @@ public class SofaRpcEndpoint extends AbstractEndpoint {
         return provider.getWeight();
     }
 
+    @Override
+    public Integer getOriginWeight() {
+        return provider.getWeight();
+    }
+
     @Override
     public String getLabel(String key) {
         return provider.getAttr(key);
@@ -101,4 +116,18 @@ public class SofaRpcEndpoint extends AbstractEndpoint {
     public boolean predicate() {
         return predicate == null || predicate.test(provider);
     }
+
+    /**
+     * Creates an endpoint for the provider, reusing the labels of the provider.
+     * <p>
+     * The labels are cached weakly by the provider, so the labels of removed providers are released with them.
+     * </p>
+     *
+     * @param provider  the provider
+     * @param predicate the predicate to check the connectivity of the provider
+     * @return the endpoint
+     */
+    public static SofaRpcEndpoint of(ProviderInfo provider, Predicate<ProviderInfo> predicate) {
+        return LABELS.get(provider, p -> new SofaRpcEndpoint(p, predicate), (p, l) -> new SofaRpcEndpoint(p, predicate, l));
+    }
 }
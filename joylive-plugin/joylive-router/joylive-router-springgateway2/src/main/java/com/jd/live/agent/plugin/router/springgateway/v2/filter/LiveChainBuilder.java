@@ -24,7 +24,9 @@ import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
 import org.springframework.cloud.gateway.filter.*;
 import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
 import org.springframework.cloud.gateway.route.Route;
+import org.springframework.context.ApplicationContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.web.server.ServerWebExchange;
@@ -34,6 +36,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import static com.jd.live.agent.core.util.http.HttpUtils.newURI;
@@ -59,6 +63,11 @@ public class LiveChainBuilder {
     private static final Pattern SCHEME_PATTERN = Pattern.compile(SCHEME_REGEX);
     private static final int WRITE_RESPONSE_FILTER_ORDER = -1;
 
+    /**
+     * The chain builders keyed by their filtering web handlers, which are removed when their context is closed.
+     */
+    private static final Map<Object, LiveChainBuilder> BUILDERS = new ConcurrentHashMap<>();
+
     /**
      * The invocation context for this filter configuration.
      */
@@ -86,7 +95,10 @@ public class LiveChainBuilder {
 
     private ReactiveLoadBalancer.Factory<ServiceInstance> clientFactory;
 
-    private final Map<Route, LiveRouteFilter> routeFilters = new ConcurrentHashMap<>();
+    /**
+     * The version-stamped route filter table, which is swapped when the routes are refreshed.
+     */
+    private final AtomicReference<RouteFilterTable> table = new AtomicReference<>(new RouteFilterTable(ROUTE_VERSION.get(), null));
 
     /**
      * Constructs a new FilterConfig instance with the specified parameters.
@@ -103,6 +115,55 @@ public class LiveChainBuilder {
         this.cluster = new GatewayCluster(clientFactory, context.getPropagation());
     }
 
+    /**
+     * Returns the chain builder of the filtering web handler, creating it if it's absent.
+     *
+     * @param target  the filtering web handler
+     * @param creator the function to create the chain builder
+     * @return the chain builder
+     */
+    public static LiveChainBuilder getOrCreate(Object target, Function<Object, LiveChainBuilder> creator) {
+        return BUILDERS.computeIfAbsent(target, creator);
+    }
+
+    /**
+     * Compiles the filters of the routes for all chain builders, so that the requests do not have to.
+     * <p>
+     * It's called off the request path when the caching route locator has fetched the routes to be cached.
+     *
+     * @param routes the fetched routes
+     */
+    public static void refresh(List<Route> routes) {
+        if (routes != null && !routes.isEmpty()) {
+            for (LiveChainBuilder builder : BUILDERS.values()) {
+                builder.warmup(routes);
+            }
+        }
+    }
+
+    /**
+     * Removes the chain builders of the filtering web handlers of the closing context.
+     *
+     * @param context the closing application context
+     */
+    public static void close(ApplicationContext context) {
+        if (context != null && !BUILDERS.isEmpty()) {
+            context.getBeansOfType(FilteringWebHandler.class, false, false).values().forEach(BUILDERS::remove);
+        }
+    }
+
+    /**
+     * Compiles the filters of the routes into the route filter table of the current version.
+     *
+     * @param routes the routes
+     */
+    private void warmup(List<Route> routes) {
+        RouteFilterTable current = getTable();
+        for (Route route : routes) {
+            current.get(route);
+        }
+    }
+
     /**
      * Creates a new GatewayFilterChain instance based on the current filter configuration.
      *
@@ -111,27 +172,43 @@ public class LiveChainBuilder {
      */
     public GatewayFilterChain chain(ServerWebExchange exchange) {
         Route route = exchange.getRequiredAttribute(GATEWAY_ROUTE_ATTR);
-        long version = ROUTE_VERSION.get();
-        // get filter from cache
-        LiveRouteFilter routeFilter = routeFilters.computeIfAbsent(route, r -> createRouteFilter(r, version));
-        if (routeFilter.getVersion() != version) {
-            // route is changed. so remove from cache
-            routeFilters.remove(route);
-        }
+        LiveRouteFilter routeFilter = getTable().get(route);
 
         boolean loadbalancer = pareURI(exchange, route, routeFilter.getPathFilters());
 
         return new DefaultGatewayFilterChain(routeFilter.getFilters(), loadbalancer);
     }
 
+    /**
+     * Returns the route filter table of the current route version.
+     * <p>
+     * When the routes are refreshed, a new table is swapped in atomically. It keeps a reference to the
+     * filters of the previous table, so that unchanged routes reuse their filters instead of recomputing them.
+     *
+     * @return the route filter table of the current route version
+     */
+    private RouteFilterTable getTable() {
+        long version = ROUTE_VERSION.get();
+        RouteFilterTable current = table.get();
+        while (current.getVersion() < version) {
+            RouteFilterTable next = new RouteFilterTable(version, current.getFilters());
+            if (table.compareAndSet(current, next)) {
+                return next;
+            }
+            current = table.get();
+        }
+        return current;
+    }
+
     /**
      * Creates a new instance of LiveRouteFilter based on the given Route object and version.
      *
-     * @param route   the Route object to create the LiveRouteFilter from
-     * @param version the version of the LiveRouteFilter
+     * @param route     the Route object to create the LiveRouteFilter from
+     * @param version   the version of the LiveRouteFilter
+     * @param signature the signature of the route
      * @return a new instance of LiveRouteFilter
      */
-    private LiveRouteFilter createRouteFilter(Route route, long version) {
+    private LiveRouteFilter createRouteFilter(Route route, long version, RouteSignature signature) {
         List<GatewayFilter> routeFilters = route.getFilters();
         List<GatewayFilter> pathFilters = new ArrayList<>(4);
         List<GatewayFilter> filters = globalFilters;
@@ -176,7 +253,7 @@ public class LiveChainBuilder {
         }
         LiveGatewayFilter liveFilter = new LiveGatewayFilter(context, gatewayConfig, cluster, retryConfig, pos);
         filters.add(pos, new OrderedGatewayFilter(liveFilter, WRITE_RESPONSE_FILTER_ORDER - 1));
-        return new LiveRouteFilter(route, filters, pathFilters, version);
+        return new LiveRouteFilter(route, filters, pathFilters, version, signature);
     }
 
     /**
@@ -244,4 +321,54 @@ public class LiveChainBuilder {
         attributes.put(GATEWAY_REQUEST_URL_ATTR, uri);
         return SCHEMA_LB.equals(scheme) || SCHEMA_LB.equals(schemePrefix);
     }
+
+    /**
+     * A route filter table of a route version, which is keyed by the route id.
+     */
+    private class RouteFilterTable {
+
+        @Getter
+        private final long version;
+
+        @Getter
+        private final Map<String, LiveRouteFilter> filters = new ConcurrentHashMap<>();
+
+        private final Map<String, LiveRouteFilter> previous;
+
+        RouteFilterTable(long version, Map<String, LiveRouteFilter> previous) {
+            this.version = version;
+            this.previous = previous;
+        }
+
+        /**
+         * Returns the filter of the route.
+         * <p>
+         * The filter is reused if it was built for the same route instance. Otherwise, the filter of this or the
+         * previous version is reused if the route signature is not changed, and the route is compiled only if its
+         * definition is changed or it has no definition.
+         *
+         * @param route the route
+         * @return the filter of the route
+         */
+        public LiveRouteFilter get(Route route) {
+            String id = route.getId();
+            LiveRouteFilter result = filters.get(id);
+            if (result != null && result.getRoute() == route) {
+                return result;
+            }
+            return filters.compute(id, (k, v) -> {
+                if (v != null && v.getRoute() == route) {
+                    return v;
+                }
+                RouteSignature signature = RouteSignature.of(route);
+                LiveRouteFilter old = v != null ? v : (previous == null ? null : previous.get(k));
+                if (old != null && old.getRoute() == route) {
+                    return old;
+                } else if (old != null && signature != null && signature.equals(old.getSignature())) {
+                    return old.rebind(route, version);
+                }
+                return createRouteFilter(route, version, signature);
+            });
+        }
+    }
 }
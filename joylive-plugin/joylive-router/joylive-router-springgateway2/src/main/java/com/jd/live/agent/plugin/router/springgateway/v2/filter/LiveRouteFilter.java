@@ -53,6 +53,12 @@ public class LiveRouteFilter {
      */
     private final long version;
 
+    /**
+     * The signature of the route definition, which is used to reuse the filters across route refreshes.
+     * It's null if the route is not built from a definition.
+     */
+    private final RouteSignature signature;
+
     /**
      * Creates a new instance of LiveFilter.
      *
@@ -60,11 +66,24 @@ public class LiveRouteFilter {
      * @param filters     the list of gateway filters for this live filter
      * @param pathFilters the list of path filters for this live filter
      * @param version     the version of this live filter
+     * @param signature   the signature of the route definition
      */
-    public LiveRouteFilter(Route route, List<GatewayFilter> filters, List<GatewayFilter> pathFilters, long version) {
+    public LiveRouteFilter(Route route, List<GatewayFilter> filters, List<GatewayFilter> pathFilters, long version, RouteSignature signature) {
         this.route = route;
         this.filters = filters;
         this.pathFilters = pathFilters;
         this.version = version;
+        this.signature = signature;
+    }
+
+    /**
+     * Creates a live filter of the refreshed route instance, which shares the filters of this live filter.
+     *
+     * @param route   the refreshed route instance with the same signature
+     * @param version the current route version
+     * @return a new live filter sharing the filters
+     */
+    public LiveRouteFilter rebind(Route route, long version) {
+        return new LiveRouteFilter(route, filters, pathFilters, version, signature);
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.router.springgateway.v2.interceptor;
+
+import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
+import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
+import com.jd.live.agent.core.plugin.definition.InterceptorAdaptor;
+import com.jd.live.agent.plugin.router.springgateway.v2.filter.LiveChainBuilder;
+import org.springframework.cloud.gateway.route.Route;
+import reactor.core.publisher.Flux;
+
+/**
+ * GatewayRouteCacheInterceptor
+ * <p>
+ * Compiles the filters of the routes fetched by the caching route locator before they are cached, so that the
+ * requests on the refreshed routes find their filters ready.
+ *
+ * @since 1.6.0
+ */
+public class GatewayRouteCacheInterceptor extends InterceptorAdaptor {
+
+    @Override
+    public void onSuccess(ExecutableContext ctx) {
+        MethodContext mc = (MethodContext) ctx;
+        Flux<Route> routes = mc.getResult();
+        if (routes != null) {
+            mc.setResult(routes.collectList().doOnNext(LiveChainBuilder::refresh).flatMapIterable(list -> list));
+        }
+    }
+}
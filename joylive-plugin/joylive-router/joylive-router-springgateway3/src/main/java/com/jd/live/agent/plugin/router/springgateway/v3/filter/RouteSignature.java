@@ -0,0 +1,117 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.router.springgateway.v3.filter;
+
+import com.jd.live.agent.core.util.cache.WeakCache;
+import org.springframework.cloud.gateway.filter.FilterDefinition;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * The signature of a route definition.
+ * <p>
+ * Spring Cloud Gateway creates new route and filter instances on every refresh, so the compiled filters of a route
+ * are reused when the signature of the new route equals the previous one. The signature is made of the filter
+ * definitions of the route and the default filters, which are the names and arguments the filters are built from.
+ * The routes that are not built from a definition, such as the routes of the java DSL, have no signature and are
+ * compiled again on every refresh.
+ */
+public class RouteSignature {
+
+    /**
+     * The signatures of the routes built from a definition, which are held weakly by the route instances.
+     */
+    private static final WeakCache<Route, RouteSignature> SIGNATURES = new WeakCache<>();
+
+    private final String id;
+
+    private final URI uri;
+
+    private final int order;
+
+    private final Map<String, Object> metadata;
+
+    private final List<FilterDefinition> filters;
+
+    public RouteSignature(RouteDefinition definition, List<FilterDefinition> defaultFilters) {
+        this.id = definition.getId();
+        this.uri = definition.getUri();
+        this.order = definition.getOrder();
+        this.metadata = definition.getMetadata() == null ? null : new HashMap<>(definition.getMetadata());
+        List<FilterDefinition> routeFilters = definition.getFilters();
+        this.filters = new ArrayList<>((defaultFilters == null ? 0 : defaultFilters.size()) + routeFilters.size());
+        copy(defaultFilters);
+        copy(routeFilters);
+    }
+
+    /**
+     * Records the signature of the route built from the definition.
+     *
+     * @param route          the route
+     * @param definition     the route definition
+     * @param defaultFilters the default filters applied to every route
+     */
+    public static void define(Route route, RouteDefinition definition, List<FilterDefinition> defaultFilters) {
+        if (route != null && definition != null) {
+            SIGNATURES.put(route, new RouteSignature(definition, defaultFilters));
+        }
+    }
+
+    /**
+     * Returns the signature of the route.
+     *
+     * @param route the route
+     * @return the signature, or {@code null} if the route is not built from a definition
+     */
+    public static RouteSignature of(Route route) {
+        return SIGNATURES.get(route);
+    }
+
+    private void copy(List<FilterDefinition> definitions) {
+        if (definitions != null) {
+            for (FilterDefinition definition : definitions) {
+                FilterDefinition copy = new FilterDefinition();
+                copy.setName(definition.getName());
+                copy.setArgs(new LinkedHashMap<>(definition.getArgs()));
+                filters.add(copy);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RouteSignature)) {
+            return false;
+        }
+        RouteSignature that = (RouteSignature) o;
+        return order == that.order
+                && Objects.equals(id, that.id)
+                && Objects.equals(uri, that.uri)
+                && Objects.equals(metadata, that.metadata)
+                && filters.equals(that.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, uri, order, metadata, filters);
+    }
+}
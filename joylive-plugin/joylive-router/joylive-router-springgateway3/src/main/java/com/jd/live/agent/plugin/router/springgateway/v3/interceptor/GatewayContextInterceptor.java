@@ -0,0 +1,40 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.router.springgateway.v3.interceptor;
+
+import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
+import com.jd.live.agent.core.plugin.definition.InterceptorAdaptor;
+import com.jd.live.agent.plugin.router.springgateway.v3.filter.LiveChainBuilder;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * GatewayContextInterceptor
+ * <p>
+ * Removes the chain builders of the closing application context. The context closed event is created before the
+ * beans are destroyed, so the filtering web handlers can still be looked up.
+ *
+ * @since 1.6.0
+ */
+public class GatewayContextInterceptor extends InterceptorAdaptor {
+
+    @Override
+    public void onEnter(ExecutableContext ctx) {
+        Object source = ctx.getArgument(0);
+        if (source instanceof ApplicationContext) {
+            LiveChainBuilder.close((ApplicationContext) source);
+        }
+    }
+}
@@ -26,9 +26,6 @@ import com.jd.live.agent.plugin.router.springgateway.v4.filter.LiveChainBuilder;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.web.server.ServerWebExchange;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * GatewayClusterInterceptor
  *
@@ -40,8 +37,6 @@ public class GatewayClusterInterceptor extends InterceptorAdaptor {
 
     private final GatewayConfig config;
 
-    private final Map<Object, LiveChainBuilder> filterConfigs = new ConcurrentHashMap<>();
-
     public GatewayClusterInterceptor(InvocationContext context, GatewayConfig config) {
         this.context = context;
         this.config = config;
@@ -55,7 +50,7 @@ public class GatewayClusterInterceptor extends InterceptorAdaptor {
         Object target = ctx.getTarget();
         ServerWebExchange exchange = ctx.getArgument(0);
 
-        LiveChainBuilder builder = filterConfigs.computeIfAbsent(target, t -> new LiveChainBuilder(context, config, t));
+        LiveChainBuilder builder = LiveChainBuilder.getOrCreate(target, t -> new LiveChainBuilder(context, config, t));
         GatewayFilterChain chain = builder.chain(exchange);
 
         MethodContext mc = (MethodContext) ctx;
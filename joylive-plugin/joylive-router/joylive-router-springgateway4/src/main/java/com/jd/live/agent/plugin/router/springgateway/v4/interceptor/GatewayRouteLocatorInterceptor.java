@@ -0,0 +1,49 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.router.springgateway.v4.interceptor;
+
+import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
+import com.jd.live.agent.bootstrap.bytekit.context.MethodContext;
+import com.jd.live.agent.core.plugin.definition.InterceptorAdaptor;
+import com.jd.live.agent.plugin.router.springgateway.v4.filter.RouteSignature;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+
+import static com.jd.live.agent.core.util.type.ClassUtils.getValue;
+
+/**
+ * GatewayRouteLocatorInterceptor
+ * <p>
+ * Records the signature of the route converted from a route definition, so that its compiled filters can be reused
+ * by the refreshed route with the same definition.
+ *
+ * @since 1.6.0
+ */
+public class GatewayRouteLocatorInterceptor extends InterceptorAdaptor {
+
+    private static final String FIELD_GATEWAY_PROPERTIES = "gatewayProperties";
+
+    @Override
+    public void onSuccess(ExecutableContext ctx) {
+        Object route = ((MethodContext) ctx).getResult();
+        Object definition = ctx.getArgument(0);
+        if (route instanceof Route && definition instanceof RouteDefinition) {
+            GatewayProperties properties = getValue(ctx.getTarget(), FIELD_GATEWAY_PROPERTIES);
+            RouteSignature.define((Route) route, (RouteDefinition) definition, properties == null ? null : properties.getDefaultFilters());
+        }
+    }
+}
@@ -18,7 +18,6 @@ package com.jd.live.agent.plugin.transmission.grpc.request;
 import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessor;
 import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessorFactory;
 import com.jd.live.agent.core.util.KeyValue;
-import com.jd.live.agent.core.util.LookupIndex;
 import com.jd.live.agent.governance.request.HeaderFeature;
 import com.jd.live.agent.governance.request.HeaderParser;
 import io.grpc.Metadata;
@@ -30,13 +29,16 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
-import static com.jd.live.agent.core.util.CollectionUtils.lookup;
 import static com.jd.live.agent.core.util.CollectionUtils.singletonList;
 import static io.grpc.Metadata.ASCII_STRING_MARSHALLER;
 
 public class MetadataParser implements HeaderParser {
 
-    private static final Map<String, Key<String>> KEYS = new ConcurrentHashMap<>();
+    private static final int NOT_FOUND = -1;
+
+    private static final int MULTIPLE = -2;
+
+    private static final Map<String, MetaKey> KEYS = new ConcurrentHashMap<>();
 
     private final Metadata metadata;
 
@@ -51,12 +53,12 @@ public class MetadataParser implements HeaderParser {
 
     @Override
     public Iterable<String> getHeaders(String key) {
-        return metadata.getAll(getOrCreate(key));
+        return metadata.getAll(getOrCreate(key).getKey());
     }
 
     @Override
     public String getHeader(String key) {
-        return metadata.get(getOrCreate(key));
+        return metadata.get(getOrCreate(key).getKey());
     }
 
     @Override
@@ -84,7 +86,7 @@ public class MetadataParser implements HeaderParser {
 
     @Override
     public void addHeader(String key, String value) {
-        metadata.put(getOrCreate(key), value);
+        metadata.put(getOrCreate(key).getKey(), value);
     }
 
     @Override
@@ -96,11 +98,15 @@ public class MetadataParser implements HeaderParser {
         int length = 2 * FieldGetter.INSTANCE.getSize(metadata);
         Object[] namesAndValues = FieldGetter.INSTANCE.getNamesAndValues(metadata);
 
-        Key<String> metaKey = getOrCreate(key);
-        // update single
-        if (!updateSingle(metaKey, value, namesAndValues, length)) {
-            // update multi
-            updateMulti(metaKey, value);
+        MetaKey metaKey = getOrCreate(key);
+        int index = indexOf(metaKey, namesAndValues, length);
+        if (index >= 0) {
+            // most is only one
+            namesAndValues[index + 1] = toAscii(value);
+        } else if (index == NOT_FOUND) {
+            metadata.put(metaKey.getKey(), value);
+        } else {
+            updateMulti(metaKey.getKey(), value);
         }
     }
 
@@ -109,57 +115,65 @@ public class MetadataParser implements HeaderParser {
         if (headers == null || headers.isEmpty()) {
             return;
         }
+        // update the existing entries in place with one scan, the array may be reallocated by the following puts.
         int length = 2 * FieldGetter.INSTANCE.getSize(metadata);
         Object[] namesAndValues = FieldGetter.INSTANCE.getNamesAndValues(metadata);
 
+        List<KeyValue<Key<String>, String>> appends = null;
         List<KeyValue<Key<String>, String>> multiKeys = null;
-        Key<String> metaKey;
-        String key;
+        MetaKey metaKey;
         String value;
+        int index;
         for (Map.Entry<String, String> entry : headers.entrySet()) {
-            key = entry.getKey();
             value = entry.getValue();
-            metaKey = getOrCreate(key);
-            if (!updateSingle(metaKey, value, namesAndValues, length)) {
+            if (value == null) {
+                continue;
+            }
+            metaKey = getOrCreate(entry.getKey());
+            index = indexOf(metaKey, namesAndValues, length);
+            if (index >= 0) {
+                namesAndValues[index + 1] = toAscii(value);
+            } else if (index == NOT_FOUND) {
+                if (appends == null) {
+                    appends = new ArrayList<>(headers.size());
+                }
+                appends.add(new KeyValue<>(metaKey.getKey(), value));
+            } else {
                 if (multiKeys == null) {
                     multiKeys = new ArrayList<>();
                 }
-                multiKeys.add(new KeyValue<>(metaKey, value));
+                multiKeys.add(new KeyValue<>(metaKey.getKey(), value));
             }
         }
+        if (appends != null) {
+            appends.forEach(append -> metadata.put(append.getKey(), append.getValue()));
+        }
         if (multiKeys != null) {
             multiKeys.forEach(multiKey -> updateMulti(multiKey.getKey(), multiKey.getValue()));
         }
     }
 
     /**
-     * Updates the value associated with a given key in the array of names and values.
-     * If the key is not found, it adds the key and value to the metadata map.
-     * If the key is found once, it updates the value in the array.
-     * If the key is found multiple times, it returns false.
+     * Finds the position of the given key in the array of names and values by comparing the cached name bytes.
      *
-     * @param key       the key to update or add
-     * @param value     the value to associate with the key
+     * @param key       the key to find
      * @param keyValues the array of names and values to search through
      * @param length    the number of elements to consider in the array
-     * @return true if the update or addition was successful, false if the key was found multiple times
+     * @return the index of the name if the key is found once, {@link #NOT_FOUND} if the key is not found,
+     * or {@link #MULTIPLE} if the key is found multiple times
      */
-    private boolean updateSingle(Key<String> key, String value, Object[] keyValues, int length) {
-
-        byte[] bytes = FieldGetter.INSTANCE.getNameBytes(key);
-
-        LookupIndex index = lookup(keyValues, length, 2, o -> Arrays.equals((byte[]) o, bytes));
-        int size = index == null ? 0 : index.size();
-        if (size == 0) {
-            // add
-            metadata.put(key, value);
-            return true;
-        } else if (size == 1) {
-            // most is only one
-            keyValues[index.getIndex() + 1] = ASCII_STRING_MARSHALLER.toAsciiString(value).getBytes(StandardCharsets.US_ASCII);
-            return true;
+    private static int indexOf(MetaKey key, Object[] keyValues, int length) {
+        byte[] bytes = key.getName();
+        int result = NOT_FOUND;
+        for (int i = 0; i < length; i += 2) {
+            if (Arrays.equals((byte[]) keyValues[i], bytes)) {
+                if (result != NOT_FOUND) {
+                    return MULTIPLE;
+                }
+                result = i;
+            }
         }
-        return false;
+        return result;
     }
 
     /**
@@ -175,13 +189,47 @@ public class MetadataParser implements HeaderParser {
     }
 
     /**
-     * Retrieves the Metadata.Key for the given key, creating it if it does not already exist.
+     * Encodes the value as ASCII bytes, which is the serialized form in the metadata.
+     *
+     * @param value the value to encode
+     * @return the encoded value
+     */
+    private static byte[] toAscii(String value) {
+        return ASCII_STRING_MARSHALLER.toAsciiString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Retrieves the cached key for the given name, creating it if it does not already exist.
      *
      * @param key the key to retrieve or create
-     * @return the Metadata.Key for the given key
+     * @return the cached key for the given name
+     */
+    private static MetaKey getOrCreate(String key) {
+        return KEYS.computeIfAbsent(key, MetaKey::new);
+    }
+
+    /**
+     * A metadata key with its encoded name, which are created once and reused for every call.
      */
-    private static Metadata.Key<String> getOrCreate(String key) {
-        return KEYS.computeIfAbsent(key, k -> Metadata.Key.of(k, ASCII_STRING_MARSHALLER));
+    private static class MetaKey {
+
+        private final Key<String> key;
+
+        private final byte[] name;
+
+        MetaKey(String name) {
+            this.key = Key.of(name, ASCII_STRING_MARSHALLER);
+            // the name of the key is normalized to lower case.
+            this.name = key.name().getBytes(StandardCharsets.US_ASCII);
+        }
+
+        public Key<String> getKey() {
+            return key;
+        }
+
+        public byte[] getName() {
+            return name;
+        }
     }
 
     /**
@@ -199,11 +247,6 @@ public class MetadataParser implements HeaderParser {
          */
         private UnsafeFieldAccessor headersField;
 
-        /**
-         * The private field 'nameBytes' in the {@link Key} class.
-         */
-        private UnsafeFieldAccessor namesField;
-
         private UnsafeFieldAccessor sizeField;
 
         /**
@@ -215,7 +258,6 @@ public class MetadataParser implements HeaderParser {
                 Class<Metadata> type = Metadata.class;
                 headersField = UnsafeFieldAccessorFactory.getAccessor(type, "namesAndValues");
                 sizeField = UnsafeFieldAccessorFactory.getAccessor(type, "size");
-                namesField = UnsafeFieldAccessorFactory.getAccessor(Key.class, ("nameBytes"));
             } catch (Throwable ignored) {
                 // Ignore the exception if the field is not found or an error occurs
             }
@@ -249,23 +291,5 @@ public class MetadataParser implements HeaderParser {
                 return 0;
             }
         }
-
-        /**
-         * Retrieves the byte array representing the name from the given key.
-         * If the key is null or an exception occurs, it returns an empty byte array.
-         *
-         * @param key the key from which to retrieve the name bytes
-         * @return the byte array representing the name, or an empty byte array if an error occurs
-         */
-        public byte[] getNameBytes(Key<?> key) {
-            if (key == null || namesField == null) {
-                return new byte[0];
-            }
-            try {
-                return (byte[]) namesField.get(key);
-            } catch (Throwable e) {
-                return new byte[0];
-            }
-        }
     }
 }
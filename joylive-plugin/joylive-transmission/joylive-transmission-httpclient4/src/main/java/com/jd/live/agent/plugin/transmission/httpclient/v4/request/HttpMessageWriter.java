@@ -15,11 +15,14 @@
  */
 package com.jd.live.agent.plugin.transmission.httpclient.v4.request;
 
+import com.jd.live.agent.governance.request.HeaderFeature;
 import com.jd.live.agent.governance.request.HeaderWriter;
 import org.apache.http.Header;
 import org.apache.http.HttpMessage;
+import org.apache.http.message.BasicHeader;
 
 import java.util.List;
+import java.util.Map;
 
 import static com.jd.live.agent.core.util.CollectionUtils.toList;
 
@@ -42,6 +45,11 @@ public class HttpMessageWriter implements HeaderWriter {
         return header == null ? null : header.getValue();
     }
 
+    @Override
+    public HeaderFeature getFeature() {
+        return HeaderFeature.BATCHABLE;
+    }
+
     @Override
     public void addHeader(String key, String value) {
         message.addHeader(key, value);
@@ -51,4 +59,48 @@ public class HttpMessageWriter implements HeaderWriter {
     public void setHeader(String key, String value) {
         message.setHeader(key, value);
     }
+
+    @Override
+    public void setHeaders(Map<String, String> headers) {
+        if (headers == null || headers.isEmpty()) {
+            return;
+        }
+        // HttpMessage.setHeader scans all headers for each call, so rebuild the header array once instead.
+        Header[] olds = message.getAllHeaders();
+        Header[] news = new Header[olds.length + headers.size()];
+        int size = 0;
+        for (Header header : olds) {
+            if (!contains(headers, header.getName())) {
+                news[size++] = header;
+            }
+        }
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            news[size++] = new BasicHeader(entry.getKey(), entry.getValue());
+        }
+        if (size < news.length) {
+            Header[] result = new Header[size];
+            System.arraycopy(news, 0, result, 0, size);
+            news = result;
+        }
+        message.setHeaders(news);
+    }
+
+    /**
+     * Checks if the header name is contained in the map, ignoring case.
+     *
+     * @param headers the map of headers
+     * @param name    the header name
+     * @return {@code true} if the header name is contained in the map
+     */
+    private static boolean contains(Map<String, String> headers, String name) {
+        if (headers.containsKey(name)) {
+            return true;
+        }
+        for (String key : headers.keySet()) {
+            if (key.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
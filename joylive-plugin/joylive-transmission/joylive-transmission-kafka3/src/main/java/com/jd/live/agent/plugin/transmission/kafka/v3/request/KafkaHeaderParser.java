@@ -23,6 +23,7 @@ import org.apache.kafka.common.header.Headers;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
@@ -30,6 +31,8 @@ import static com.jd.live.agent.core.util.CollectionUtils.*;
 
 public class KafkaHeaderParser implements HeaderParser {
 
+    private static final byte[] EMPTY = new byte[0];
+
     private final Headers headers;
 
     public KafkaHeaderParser(Headers headers) {
@@ -62,17 +65,16 @@ public class KafkaHeaderParser implements HeaderParser {
 
     @Override
     public HeaderFeature getFeature() {
-        return HeaderFeature.DUPLICABLE;
+        return HeaderFeature.DUPLICABLE_BATCHABLE;
     }
 
     @Override
     public void addHeader(String key, String value) {
-        headers.add(key, value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8));
+        headers.add(key, getBytes(value));
     }
 
     @Override
     public void setHeader(String key, String value) {
-        // TODO optimize
         Iterator<Header> iterator = headers.iterator();
         while (iterator.hasNext()) {
             if (iterator.next().key().equals(key)) {
@@ -80,7 +82,28 @@ public class KafkaHeaderParser implements HeaderParser {
                 break;
             }
         }
-        headers.add(key, value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8));
+        headers.add(key, getBytes(value));
+    }
+
+    @Override
+    public void setHeaders(Map<String, String> map) {
+        if (map == null || map.isEmpty()) {
+            return;
+        }
+        // remove the old headers in one pass instead of one pass per header.
+        Iterator<Header> iterator = headers.iterator();
+        while (iterator.hasNext()) {
+            if (map.containsKey(iterator.next().key())) {
+                iterator.remove();
+            }
+        }
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            headers.add(entry.getKey(), getBytes(entry.getValue()));
+        }
+    }
+
+    private byte[] getBytes(String value) {
+        return value == null ? EMPTY : value.getBytes(StandardCharsets.UTF_8);
     }
 
     private String getValue(Header header) {
@@ -16,6 +16,7 @@
 package com.jd.live.agent.plugin.transmission.servlet.jakarta.request;
 
 import com.jd.live.agent.core.util.map.MultiMap;
+import com.jd.live.agent.governance.request.HeaderReader;
 
 /**
  * An interface for parsing HTTP headers from a given request object.
@@ -29,4 +30,14 @@ public interface HttpHeaderParser {
      * @return a MultiMap containing the parsed HTTP headers
      */
     MultiMap<String, String> parse(Object request);
+
+    /**
+     * Returns a lazy header reader over the given request object without copying its headers.
+     *
+     * @param request the request object to read
+     * @return a header reader, or null if the request is not supported
+     */
+    default HeaderReader getReader(Object request) {
+        return null;
+    }
 }
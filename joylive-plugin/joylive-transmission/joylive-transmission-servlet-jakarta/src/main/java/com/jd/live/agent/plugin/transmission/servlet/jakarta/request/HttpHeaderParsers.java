@@ -15,6 +15,7 @@
  */
 package com.jd.live.agent.plugin.transmission.servlet.jakarta.request;
 
+import com.jd.live.agent.governance.request.HeaderReader;
 import com.jd.live.agent.plugin.transmission.servlet.jakarta.request.tomcat.TomcatHeaderParserFactory;
 
 import java.util.ArrayList;
@@ -50,4 +51,15 @@ public class HttpHeaderParsers {
         return null;
     }
 
+    /**
+     * Creates a lazy header reader for the given request object.
+     *
+     * @param request the request object
+     * @return a header reader, or null if no suitable factory is found
+     */
+    public static HeaderReader getReader(Object request) {
+        HttpHeaderParser parser = request == null ? null : create(request.getClass());
+        return parser == null ? null : parser.getReader(request);
+    }
+
 }
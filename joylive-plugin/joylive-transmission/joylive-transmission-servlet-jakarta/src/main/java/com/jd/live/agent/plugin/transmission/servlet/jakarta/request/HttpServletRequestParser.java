@@ -52,7 +52,9 @@ public class HttpServletRequestParser implements HeaderReader {
     @Override
     public int read(BiConsumer<String, Iterable<String>> consumer, Predicate<String> predicate) {
         if (consumer != null) {
-            if (request instanceof HeaderProvider) {
+            if (request instanceof JakartaRequest) {
+                return ((JakartaRequest) request).getHeaderReader().read(consumer, predicate);
+            } else if (request instanceof HeaderProvider) {
                 return iterate(((HeaderProvider) request).getHeaders(), predicate, consumer::accept);
             } else {
                 return HeaderReader.super.read(consumer, predicate);
@@ -0,0 +1,153 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.transmission.servlet.jakarta.request.tomcat;
+
+import com.jd.live.agent.governance.context.bag.CargoRequire;
+import com.jd.live.agent.governance.request.HeaderReader;
+import org.apache.tomcat.util.buf.MessageBytes;
+import org.apache.tomcat.util.http.MimeHeaders;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import static com.jd.live.agent.core.util.CollectionUtils.toIterator;
+import static com.jd.live.agent.core.util.CollectionUtils.toList;
+
+/**
+ * A lazy {@link HeaderReader} view over Tomcat's {@link MimeHeaders}.
+ * <p>
+ * Headers are looked up on demand, name comparison is ASCII case-insensitive on the underlying
+ * {@link MessageBytes}, and only the values of the requested headers are converted to strings. When the predicate
+ * is a {@link CargoRequire}, its names and prefixes are compared against the raw header names first, so the names
+ * of the headers that are not propagated are never converted to strings.
+ */
+public class TomcatHeaderReader implements HeaderReader {
+
+    private final MimeHeaders headers;
+
+    public TomcatHeaderReader(MimeHeaders headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    public Iterator<String> getNames() {
+        return toIterator(headers.names());
+    }
+
+    @Override
+    public List<String> getHeaders(String key) {
+        return key == null ? null : toList(headers.values(key));
+    }
+
+    @Override
+    public String getHeader(String key) {
+        return key == null ? null : headers.getHeader(key);
+    }
+
+    @Override
+    public int read(BiConsumer<String, Iterable<String>> consumer, Predicate<String> predicate) {
+        int counter = 0;
+        if (consumer != null) {
+            CargoRequire require = predicate instanceof CargoRequire ? (CargoRequire) predicate : null;
+            String[] names = require == null ? null : require.getNames();
+            String[] prefixes = require == null ? null : require.getPrefixes();
+            int size = headers.size();
+            MessageBytes name;
+            String key;
+            for (int i = 0; i < size; i++) {
+                name = headers.getName(i);
+                if (require != null && !match(name, names, prefixes)) {
+                    continue;
+                }
+                // tomcat caches the string of the name.
+                key = name.toString();
+                if ((predicate == null || predicate.test(key)) && isFirst(name, i)) {
+                    counter++;
+                    consumer.accept(key, getValues(name, i, size));
+                }
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Checks if the raw header name may match the names or prefixes, ignoring the case of ASCII letters.
+     *
+     * @param name     the header name
+     * @param names    the exact names
+     * @param prefixes the name prefixes
+     * @return true if the header name may match
+     */
+    private static boolean match(MessageBytes name, String[] names, String[] prefixes) {
+        if (names != null) {
+            for (String v : names) {
+                if (name.equalsIgnoreCase(v)) {
+                    return true;
+                }
+            }
+        }
+        if (prefixes != null) {
+            for (String v : prefixes) {
+                if (name.startsWithIgnoreCase(v, 0)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the header at the given position is the first occurrence of its name.
+     *
+     * @param name  the header name
+     * @param index the position of the header
+     * @return true if no header with the same name appears before the given position
+     */
+    private boolean isFirst(MessageBytes name, int index) {
+        if (index > 0) {
+            String value = name.toString();
+            for (int i = 0; i < index; i++) {
+                if (headers.getName(i).equalsIgnoreCase(value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the values of the given header name starting from the given position.
+     *
+     * @param name  the header name
+     * @param index the position of the first occurrence
+     * @param size  the number of headers
+     * @return the header values
+     */
+    private List<String> getValues(MessageBytes name, int index, int size) {
+        List<String> result = new ArrayList<>(1);
+        result.add(headers.getValue(index).toString());
+        String value = name.toString();
+        for (int i = index + 1; i < size; i++) {
+            if (headers.getName(i).equalsIgnoreCase(value)) {
+                result.add(headers.getValue(i).toString());
+            }
+        }
+        return result;
+    }
+}
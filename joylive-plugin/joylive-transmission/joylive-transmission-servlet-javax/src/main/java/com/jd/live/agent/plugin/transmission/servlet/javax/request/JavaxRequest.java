@@ -19,6 +19,8 @@ import com.jd.live.agent.core.util.CollectionUtils;
 import com.jd.live.agent.core.util.http.HttpUtils;
 import com.jd.live.agent.core.util.map.MultiMap;
 import com.jd.live.agent.governance.request.HeaderProvider;
+import com.jd.live.agent.governance.request.HeaderReader;
+import com.jd.live.agent.governance.request.HeaderReader.MultiValueMapReader;
 
 import javax.servlet.*;
 import javax.servlet.http.*;
@@ -100,20 +102,18 @@ public class JavaxRequest implements HttpServletRequest, HeaderProvider {
 
     @Override
     public String getHeader(String name) {
-        MultiMap<String, String> headers = getHeaders();
-        return headers == null ? null : headers.getFirst(name);
+        // avoid copying all headers for a single lookup.
+        return headers == null ? request.getHeader(name) : headers.getFirst(name);
     }
 
     @Override
     public Enumeration<String> getHeaders(String name) {
-        MultiMap<String, String> headers = getHeaders();
-        return CollectionUtils.toEnumeration(headers == null ? null : headers.get(name));
+        return headers == null ? request.getHeaders(name) : CollectionUtils.toEnumeration(headers.get(name));
     }
 
     @Override
     public Enumeration<String> getHeaderNames() {
-        MultiMap<String, String> headers = getHeaders();
-        return CollectionUtils.toEnumeration(headers == null ? null : headers.keySet());
+        return headers == null ? request.getHeaderNames() : CollectionUtils.toEnumeration(headers.keySet());
     }
 
     @Override
@@ -454,6 +454,22 @@ public class JavaxRequest implements HttpServletRequest, HeaderProvider {
         return headers;
     }
 
+    /**
+     * Returns a header reader over this request.
+     * <p>
+     * If the headers have not been parsed yet, a lazy view over the underlying container request is returned,
+     * so that only the requested headers are looked up and converted.
+     *
+     * @return a header reader
+     */
+    public HeaderReader getHeaderReader() {
+        if (headers != null) {
+            return new MultiValueMapReader(headers);
+        }
+        HeaderReader reader = HttpHeaderParsers.getReader(request);
+        return reader != null ? reader : new HttpServletRequestParser(request);
+    }
+
     /**
      * Replaces the HttpServletRequest object at the specified index in the arguments array with a JavaxRequest wrapper,
      * if it is not already a JavaxRequest instance.
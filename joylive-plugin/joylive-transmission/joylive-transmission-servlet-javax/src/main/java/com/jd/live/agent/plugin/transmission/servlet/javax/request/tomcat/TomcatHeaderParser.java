@@ -20,6 +20,7 @@ import com.jd.live.agent.bootstrap.util.type.UnsafeFieldAccessorFactory;
 import com.jd.live.agent.core.util.http.HttpUtils;
 import com.jd.live.agent.core.util.map.MultiLinkedMap;
 import com.jd.live.agent.core.util.map.MultiMap;
+import com.jd.live.agent.governance.request.HeaderReader;
 import com.jd.live.agent.plugin.transmission.servlet.javax.request.HttpHeaderParser;
 import org.apache.catalina.connector.Request;
 import org.apache.catalina.connector.RequestFacade;
@@ -36,15 +37,9 @@ public class TomcatHeaderParser implements HttpHeaderParser {
 
     @Override
     public MultiMap<String, String> parse(Object request) {
-        Request req = null;
-        if (request instanceof RequestFacade) {
-            req = accessor == null ? null : (Request) accessor.get(request);
-        } else if (request instanceof Request) {
-            req = (Request) request;
-        }
-        if (req != null) {
+        MimeHeaders mimeHeaders = getMimeHeaders(request);
+        if (mimeHeaders != null) {
             MultiMap<String, String> result = MultiLinkedMap.caseInsensitive(null);
-            MimeHeaders mimeHeaders = req.getCoyoteRequest().getMimeHeaders();
             int count = mimeHeaders.size();
             for (int i = 0; i < count; i++) {
                 result.add(mimeHeaders.getName(i).toStringType(), mimeHeaders.getValue(i).toStringType());
@@ -55,4 +50,26 @@ public class TomcatHeaderParser implements HttpHeaderParser {
             return HttpUtils.parseHeader(hsr.getHeaderNames(), hsr::getHeaders);
         }
     }
+
+    @Override
+    public HeaderReader getReader(Object request) {
+        MimeHeaders mimeHeaders = getMimeHeaders(request);
+        return mimeHeaders == null ? null : new TomcatHeaderReader(mimeHeaders);
+    }
+
+    /**
+     * Returns the underlying mime headers of the given Tomcat request.
+     *
+     * @param request the request object
+     * @return the mime headers, or null if the underlying request is not accessible
+     */
+    private static MimeHeaders getMimeHeaders(Object request) {
+        Request req = null;
+        if (request instanceof RequestFacade) {
+            req = accessor == null ? null : (Request) accessor.get(request);
+        } else if (request instanceof Request) {
+            req = (Request) request;
+        }
+        return req == null ? null : req.getCoyoteRequest().getMimeHeaders();
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.transmission.thread.definition;
+
+import com.jd.live.agent.core.bytekit.matcher.MatcherBuilder;
+import com.jd.live.agent.core.extension.annotation.ConditionalOnProperty;
+import com.jd.live.agent.core.extension.annotation.Extension;
+import com.jd.live.agent.core.inject.annotation.Inject;
+import com.jd.live.agent.core.inject.annotation.Injectable;
+import com.jd.live.agent.core.plugin.definition.InterceptorDefinition;
+import com.jd.live.agent.core.plugin.definition.InterceptorDefinitionAdapter;
+import com.jd.live.agent.core.plugin.definition.PluginDefinition;
+import com.jd.live.agent.core.plugin.definition.PluginDefinitionAdapter;
+import com.jd.live.agent.core.thread.Camera;
+import com.jd.live.agent.governance.annotation.ConditionalOnTransmissionEnabled;
+import com.jd.live.agent.governance.config.GovernanceConfig;
+import com.jd.live.agent.plugin.transmission.thread.interceptor.VirtualThreadInterceptor;
+
+import java.util.List;
+
+/**
+ * VirtualThreadDefinition
+ * <p>
+ * All virtual threads of JDK 21+ are created by {@code ThreadBuilders.newVirtualThread}, including
+ * {@code Thread.ofVirtual()}, {@code Thread.startVirtualThread} and {@code Executors.newVirtualThreadPerTaskExecutor}.
+ * The task is captured there, so the context is propagated even if it is not inheritable.
+ */
+@Injectable
+@Extension(value = "VirtualThreadDefinition", order = PluginDefinition.ORDER_TRANSMISSION)
+@ConditionalOnTransmissionEnabled
+@ConditionalOnProperty(value = GovernanceConfig.CONFIG_TRANSMISSION_THREADPOOL_ENABLED)
+public class VirtualThreadDefinition extends PluginDefinitionAdapter {
+
+    private static final String TYPE_THREAD_BUILDERS = "java.lang.ThreadBuilders";
+
+    private static final String METHOD_NEW_VIRTUAL_THREAD = "newVirtualThread";
+
+    private static final String[] ARGUMENTS_NEW_VIRTUAL_THREAD = new String[]{
+            "java.util.concurrent.Executor",
+            "java.lang.String",
+            "int",
+            "java.lang.Runnable"
+    };
+
+    @Inject
+    private List<Camera> handlers;
+
+    public VirtualThreadDefinition() {
+        this.matcher = () -> MatcherBuilder.named(TYPE_THREAD_BUILDERS);
+        this.interceptors = new InterceptorDefinition[]{
+                new InterceptorDefinitionAdapter(
+                        MatcherBuilder.named(METHOD_NEW_VIRTUAL_THREAD)
+                                .and(MatcherBuilder.isStatic())
+                                .and(MatcherBuilder.arguments(ARGUMENTS_NEW_VIRTUAL_THREAD)),
+                        () -> new VirtualThreadInterceptor(handlers))};
+    }
+}
@@ -29,8 +29,10 @@ import com.jd.live.agent.plugin.transmission.thread.adapter.RunnableAndCallableA
 
 import java.lang.reflect.Field;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * ExecutorInterceptor
@@ -45,43 +47,80 @@ public class ExecutorInterceptor extends InterceptorAdaptor {
 
     private final Camera[] cameras;
 
+    /**
+     * The shared snapshots without photos, which clear the context of the worker thread.
+     */
+    private final Snapshot[] emptySnapshots;
+
     private final ThreadConfig threadConfig;
 
-    private final Map<Class<?>, Boolean> excludes = new ConcurrentHashMap<>(128);
+    /**
+     * The exclusion of executor types, which is computed once and stored on the class.
+     */
+    private final ClassValue<Boolean> executorExcludes = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isExcludeExecutorType(type);
+        }
+    };
+
+    /**
+     * The exclusion of thread factory types, which is computed once and stored on the class.
+     */
+    private final ClassValue<Boolean> threadFactoryExcludes = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isExcludedThreadFactoryType(type);
+        }
+    };
+
+    /**
+     * The exclusion of task types, which is computed once and stored on the class.
+     */
+    private final ClassValue<Boolean> taskExcludes = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isExcludeTaskType(type);
+        }
+    };
 
     public ExecutorInterceptor(List<Camera> cameras, ThreadConfig threadConfig) {
         this.cameras = cameras == null ? new Camera[0] : cameras.toArray(new Camera[0]);
+        this.emptySnapshots = new Snapshot[this.cameras.length];
+        for (int i = 0; i < this.cameras.length; i++) {
+            this.emptySnapshots[i] = new Snapshot(this.cameras[i], null);
+        }
         this.threadConfig = threadConfig;
         this.callableField = getCallableField();
     }
 
     @Override
     public void onEnter(ExecutableContext ctx) {
-        Object target = ctx.getTarget();
-        String name = target.getClass().getSimpleName();
         Object[] arguments = ctx.getArguments();
-        if (arguments == null
-                || arguments.length == 0
-                || cameras.length == 0
-                || isExcludedExecutor(target)
+        if (arguments == null || arguments.length == 0 || arguments[0] == null || cameras.length == 0) {
+            return;
+        }
+        // the task is still wrapped when there is nothing to propagate,
+        // so that the pooled worker does not run it with the context left by a previous task.
+        Snapshot[] snapshots = Snapshot.of(cameras);
+        if (snapshots == null) {
+            snapshots = emptySnapshots;
+        }
+        Object target = ctx.getTarget();
+        if (isExcludedExecutor(target)
                 || target instanceof ThreadPoolExecutor
                 && isExcludedThreadFactory(((ThreadPoolExecutor) target).getThreadFactory())) {
             return;
         }
         Object argument = arguments[0];
         Object unwrapped = unwrap(argument);
-        if (argument == null) {
-            return;
-        } else if (unwrapped instanceof AbstractThreadAdapter) {
+        if (unwrapped instanceof AbstractThreadAdapter) {
             return;
         } else if (isExcludedTask(unwrapped)) {
             return;
         }
 
-        Snapshot[] snapshots = new Snapshot[cameras.length];
-        for (int i = 0; i < cameras.length; i++) {
-            snapshots[i] = new Snapshot(cameras[i], cameras[i].snapshot());
-        }
+        String name = target.getClass().getSimpleName();
         if (argument instanceof Runnable && argument instanceof Callable) {
             arguments[0] = new RunnableAndCallableAdapter<>(name, (Runnable) argument, (Callable<?>) argument, snapshots);
         } else if (argument instanceof Runnable) {
@@ -93,13 +132,13 @@ public class ExecutorInterceptor extends InterceptorAdaptor {
 
     /**
      * Checks if the given thread factory is excluded by its class type.
-     * The result is cached in the {@code excludes} map to avoid repeated computations.
+     * The result is computed once per class and cached on the class.
      *
      * @param factory The thread factory object to check.
      * @return {@code true} if the thread factory is excluded, {@code false} otherwise.
      */
     private boolean isExcludedThreadFactory(ThreadFactory factory) {
-        return factory != null && excludes.computeIfAbsent(factory.getClass(), this::isExcludedThreadFactoryType);
+        return factory != null && threadFactoryExcludes.get(factory.getClass());
     }
 
     /**
@@ -121,13 +160,13 @@ public class ExecutorInterceptor extends InterceptorAdaptor {
 
     /**
      * Checks if the given task is excluded by its class type.
-     * The result is cached in the {@code excludes} map to avoid repeated computations.
+     * The result is computed once per class and cached on the class.
      *
      * @param task The task object to check.
      * @return {@code true} if the task is excluded, {@code false} otherwise.
      */
     private boolean isExcludedTask(Object task) {
-        return task != null && excludes.computeIfAbsent(task.getClass(), this::isExcludeTaskType);
+        return task != null && taskExcludes.get(task.getClass());
     }
 
     /**
@@ -148,13 +187,13 @@ public class ExecutorInterceptor extends InterceptorAdaptor {
 
     /**
      * Checks if the given executor is excluded by its class type.
-     * The result is cached in the {@code excludes} map to avoid repeated computations.
+     * The result is computed once per class and cached on the class.
      *
      * @param executor The executor object to check.
      * @return {@code true} if the executor is excluded, {@code false} otherwise.
      */
     private boolean isExcludedExecutor(Object executor) {
-        return executor != null && excludes.computeIfAbsent(executor.getClass(), this::isExcludeExecutorType);
+        return executor != null && executorExcludes.get(executor.getClass());
     }
 
     /**
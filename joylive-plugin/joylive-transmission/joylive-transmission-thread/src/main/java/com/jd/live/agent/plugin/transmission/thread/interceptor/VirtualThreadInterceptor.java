@@ -0,0 +1,59 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.plugin.transmission.thread.interceptor;
+
+import com.jd.live.agent.bootstrap.bytekit.context.ExecutableContext;
+import com.jd.live.agent.core.plugin.definition.InterceptorAdaptor;
+import com.jd.live.agent.core.thread.Camera;
+import com.jd.live.agent.core.thread.Snapshot;
+import com.jd.live.agent.plugin.transmission.thread.adapter.AbstractThreadAdapter;
+import com.jd.live.agent.plugin.transmission.thread.adapter.RunnableAdapter;
+
+import java.util.List;
+
+/**
+ * VirtualThreadInterceptor
+ * <p>
+ * Captures the context when a virtual thread is created, and restores it when the task of the virtual thread runs.
+ */
+public class VirtualThreadInterceptor extends InterceptorAdaptor {
+
+    private static final String NAME_VIRTUAL_THREAD = "VirtualThread";
+
+    private static final int INDEX_TASK = 3;
+
+    private final Camera[] cameras;
+
+    public VirtualThreadInterceptor(List<Camera> cameras) {
+        this.cameras = cameras == null ? new Camera[0] : cameras.toArray(new Camera[0]);
+    }
+
+    @Override
+    public void onEnter(ExecutableContext ctx) {
+        Object[] arguments = ctx.getArguments();
+        if (cameras.length == 0 || arguments == null || arguments.length <= INDEX_TASK) {
+            return;
+        }
+        Object task = arguments[INDEX_TASK];
+        if (!(task instanceof Runnable) || task instanceof AbstractThreadAdapter) {
+            return;
+        }
+        Snapshot[] snapshots = Snapshot.of(cameras);
+        if (snapshots != null) {
+            arguments[INDEX_TASK] = new RunnableAdapter<>(NAME_VIRTUAL_THREAD, (Runnable) task, snapshots);
+        }
+    }
+}
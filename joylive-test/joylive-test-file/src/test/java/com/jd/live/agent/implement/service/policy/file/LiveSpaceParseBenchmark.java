@@ -0,0 +1,144 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.implement.service.policy.file;
+
+import com.jd.live.agent.core.parser.ObjectParser;
+import com.jd.live.agent.core.parser.TypeReference;
+import com.jd.live.agent.governance.policy.live.LiveSpace;
+import com.jd.live.agent.implement.parser.jackson.JacksonJsonParser;
+import com.jd.live.agent.implement.parser.jackson.JacksonSmileParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares parsing a 10MB synthetic live space from an intermediate string and directly from the stream,
+ * and decoding it from JSON and from the binary Smile form.
+ * <p>
+ * Run it with {@code mvn test -Dbenchmark=true -Dtest=LiveSpaceParseBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class LiveSpaceParseBenchmark {
+
+    private static final int SIZE = 10 * 1024 * 1024;
+
+    private static final int ITERATIONS = 10;
+
+    private static final TypeReference<List<LiveSpace>> TYPE = new TypeReference<List<LiveSpace>>() {
+    };
+
+    @Test
+    void testParse() {
+        byte[] data = createLiveSpaces(SIZE).getBytes(StandardCharsets.UTF_8);
+        ObjectParser parser = new JacksonJsonParser();
+
+        List<LiveSpace> fromString = run("string", () -> parser.read(new StringReader(new String(data, StandardCharsets.UTF_8)), TYPE));
+        List<LiveSpace> fromStream = run("stream", () -> parser.read(new ByteArrayInputStream(data), TYPE));
+
+        Assertions.assertEquals(1, fromStream.size());
+        Assertions.assertEquals(fromString.get(0).getSpec().getUnits().size(), fromStream.get(0).getSpec().getUnits().size());
+        Assertions.assertEquals(fromString.get(0).getSpec().getUnitRules().size(), fromStream.get(0).getSpec().getUnitRules().size());
+        // the repeated label values are shared.
+        Assertions.assertSame(fromStream.get(0).getSpec().getUnits().get(0).getLabels().get("region"),
+                fromStream.get(0).getSpec().getUnits().get(1).getLabels().get("region"));
+    }
+
+    @Test
+    void testSmile() {
+        byte[] json = createLiveSpaces(SIZE).getBytes(StandardCharsets.UTF_8);
+        ObjectParser jsonParser = new JacksonJsonParser();
+        ObjectParser smileParser = new JacksonSmileParser();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(json.length);
+        smileParser.write(bos, jsonParser.read(new ByteArrayInputStream(json), TYPE));
+        byte[] smile = bos.toByteArray();
+        System.out.printf("json: %.2f MB, smile: %.2f MB%n", json.length / 1024.0 / 1024, smile.length / 1024.0 / 1024);
+
+        List<LiveSpace> fromJson = run("json", () -> jsonParser.read(new ByteArrayInputStream(json), TYPE));
+        List<LiveSpace> fromSmile = run("smile", () -> smileParser.read(new ByteArrayInputStream(smile), TYPE));
+
+        Assertions.assertTrue(smile.length < json.length);
+        Assertions.assertEquals(fromJson.get(0).getSpec().getUnitRules().size(), fromSmile.get(0).getSpec().getUnitRules().size());
+    }
+
+    private static <T> T run(String name, Supplier<T> supplier) {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        T result = null;
+        // warm up
+        for (int i = 0; i < ITERATIONS; i++) {
+            result = supplier.get();
+        }
+        long bytes = bean.getThreadAllocatedBytes(threadId);
+        long time = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            result = supplier.get();
+        }
+        time = System.nanoTime() - time;
+        bytes = bean.getThreadAllocatedBytes(threadId) - bytes;
+        System.out.printf("%s: %.2f ms/op, %.2f MB/op%n", name, time / 1e6 / ITERATIONS, bytes / 1024.0 / 1024 / ITERATIONS);
+        return result;
+    }
+
+    private static String createLiveSpaces(int size) {
+        StringBuilder builder = new StringBuilder(size + 1024);
+        builder.append("[{\"apiVersion\":\"apaas.cos.com/v2alpha1\",\"kind\":\"MultiLiveSpace\",")
+                .append("\"metadata\":{\"name\":\"mls-benchmark\",\"namespace\":\"apaas-livespace\"},")
+                .append("\"spec\":{\"id\":\"benchmark\",\"code\":\"benchmark\",\"name\":\"BenchmarkLiveSpace\",\"version\":1,")
+                .append("\"tenantId\":\"tenant1\",\"units\":[");
+        int units = 20;
+        for (int i = 0; i < units; i++) {
+            builder.append(i > 0 ? "," : "").append("{\"code\":\"unit").append(i).append("\",\"name\":\"unit").append(i)
+                    .append("\",\"type\":\"UNIT\",\"accessMode\":\"READ_WRITE\",\"labels\":{\"region\":\"cn-north-").append(i % 2)
+                    .append("\"},\"cells\":[");
+            for (int j = 0; j < 3; j++) {
+                builder.append(j > 0 ? "," : "").append("{\"code\":\"cell").append(i).append('-').append(j)
+                        .append("\",\"name\":\"cell").append(i).append('-').append(j)
+                        .append("\",\"accessMode\":\"READ_WRITE\",\"labels\":{\"zone\":\"cn-north-").append(i % 2)
+                        .append((char) ('a' + j)).append("\"}}");
+            }
+            builder.append("]}");
+        }
+        builder.append("],\"variables\":[{\"name\":\"pin\",\"type\":\"unit\",\"sources\":[{\"name\":\"getPinByQuery\",")
+                .append("\"scope\":\"QUERY\",\"key\":\"pin\"}]}],\"unitRules\":[");
+        int rule = 0;
+        int user = 0;
+        while (builder.length() < size) {
+            builder.append(rule > 0 ? "," : "").append("{\"id\":").append(rule).append(",\"name\":\"rule").append(rule)
+                    .append("\",\"type\":\"CROSS_REGION_LIVE\",\"variable\":\"pin\",\"variableSource\":\"getPinByQuery\",")
+                    .append("\"actionNoVariable\":\"CENTER\",\"function\":\"BKDRHash\",\"modulo\":10000,\"units\":[");
+            for (int i = 0; i < units; i++) {
+                builder.append(i > 0 ? "," : "").append("{\"code\":\"unit").append(i).append("\",\"allows\":[");
+                for (int k = 0; k < 50; k++) {
+                    builder.append(k > 0 ? "," : "").append("\"user").append(user++).append('"');
+                }
+                builder.append("],\"ranges\":[{\"from\":").append(i * 500).append(",\"to\":").append(i * 500 + 500)
+                        .append("}],\"cells\":[{\"code\":\"cell").append(i).append("-0\",\"weight\":100}]}");
+            }
+            builder.append("]}");
+            rule++;
+        }
+        builder.append("]}}]");
+        return builder.toString();
+    }
+}
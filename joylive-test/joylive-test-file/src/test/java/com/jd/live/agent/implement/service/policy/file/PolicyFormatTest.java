@@ -0,0 +1,108 @@
+/*
+ * Copyright © ${year} ${owner} (${email})
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jd.live.agent.implement.service.policy.file;
+
+import com.jd.live.agent.core.exception.ParseException;
+import com.jd.live.agent.core.parser.ConfigParser;
+import com.jd.live.agent.core.parser.ObjectParser;
+import com.jd.live.agent.core.parser.TypeReference;
+import com.jd.live.agent.governance.policy.lane.LaneSpace;
+import com.jd.live.agent.governance.policy.live.LiveSpace;
+import com.jd.live.agent.governance.policy.service.Service;
+import com.jd.live.agent.implement.parser.jackson.JacksonJsonParser;
+import com.jd.live.agent.implement.parser.jackson.JacksonSmileParser;
+import com.jd.live.agent.implement.parser.jackson.JacksonSnapshotParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Checks that the policies survive the round trip through the binary Smile form.
+ * The sample policies are the ones shipped in the agent package.
+ */
+public class PolicyFormatTest {
+
+    private static final String CONFIG_DIR = "../../joylive-package/src/main/assembly/config";
+
+    private final ObjectParser jsonParser = new JacksonJsonParser();
+
+    private final ObjectParser snapshotParser = new JacksonSnapshotParser();
+
+    private final ObjectParser smileParser = new JacksonSmileParser();
+
+    @Test
+    void testService() {
+        testRoundTrip("microservice.json", new TypeReference<List<Service>>() {
+        });
+    }
+
+    @Test
+    void testLiveSpace() {
+        testRoundTrip("livespaces.json", new TypeReference<List<LiveSpace>>() {
+        });
+    }
+
+    @Test
+    void testLaneSpace() {
+        testRoundTrip("lanes.json", new TypeReference<List<LaneSpace>>() {
+        });
+    }
+
+    @Test
+    void testCharacterStream() {
+        Assertions.assertThrows(ParseException.class, () -> smileParser.read(new StringReader("{}"), Object.class));
+        Assertions.assertThrows(ParseException.class, () -> smileParser.write(new StringWriter(), "value"));
+        Assertions.assertThrows(ParseException.class, () -> ((ConfigParser) smileParser).parse(new StringReader("{}")));
+    }
+
+    private <T> void testRoundTrip(String name, TypeReference<List<T>> type) {
+        List<T> policies = read(name, type);
+        Assertions.assertNotNull(policies);
+        Assertions.assertFalse(policies.isEmpty());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        smileParser.write(bos, policies);
+        byte[] binary = bos.toByteArray();
+        List<T> decoded = smileParser.read(new ByteArrayInputStream(binary), type);
+
+        // compare with the json round trip, the defaults of the getters are written out as values.
+        String json = toJson(policies);
+        String expected = toJson(snapshotParser.read(new StringReader(json), type));
+        Assertions.assertEquals(expected, toJson(decoded));
+        Assertions.assertTrue(binary.length < json.length());
+    }
+
+    private String toJson(Object value) {
+        StringWriter writer = new StringWriter();
+        snapshotParser.write(writer, value);
+        return writer.toString();
+    }
+
+    private <T> List<T> read(String name, TypeReference<List<T>> type) {
+        Path path = Paths.get(System.getProperty("basedir", "."), CONFIG_DIR, name);
+        Assertions.assertTrue(Files.exists(path), path.toString());
+        try (InputStream stream = Files.newInputStream(path)) {
+            return jsonParser.read(stream, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}